@@ -44,6 +44,18 @@ public @interface CacheNamespace {
   
   boolean blocking() default false;
 
+  /**
+   * Milliseconds after which an entry is reloaded in the background, while still being returned.
+   * @since 3.5.0
+   */
+  long refreshAfter() default 0;
+
+  /**
+   * Milliseconds after which an entry expires. Defaults to twice the {@link #refreshAfter()}.
+   * @since 3.5.0
+   */
+  long expireAfter() default 0;
+
   /**
    * Property values for a implementation object.
    * @since 3.4.2
@@ -63,4 +63,33 @@ public @interface Options {
   String keyColumn() default "";
   
   String resultSets() default "";
+
+  /**
+   * The comma separated tables read or written by the statement, used to evict only the affected 2nd level cache entries.
+   *
+   * @since 3.5.0
+   */
+  String tables() default "";
+
+  /**
+   * The parameter property holding the key of the rows read or written by the statement.
+   *
+   * @since 3.5.0
+   */
+  String tableKeyProperty() default "";
+
+  /**
+   * The milliseconds the results stay in the 2nd level cache, 0 leaves it to the cache flush interval and eviction.
+   *
+   * @since 3.5.0
+   */
+  long cacheExpireAfter() default 0;
+
+  /**
+   * Whether identical queries run at the same time by different sessions share one execution, when the
+   * coalesceQueries setting is enabled.
+   *
+   * @since 3.5.0
+   */
+  boolean coalesce() default false;
 }
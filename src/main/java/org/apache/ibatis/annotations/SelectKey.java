@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.apache.ibatis.executor.keygen.KeyAllocation;
 import org.apache.ibatis.mapping.StatementType;
 
 /**
@@ -41,4 +42,16 @@ public @interface SelectKey {
   Class<?> resultType();
 
   StatementType statementType() default StatementType.PREPARED;
+
+  /**
+   * @since 3.5.0
+   */
+  KeyAllocation allocation() default KeyAllocation.SINGLE;
+
+  /**
+   * The number of keys a HILO allocation gives for each high value.
+   *
+   * @since 3.5.0
+   */
+  int allocationSize() default 1;
 }
@@ -210,8 +210,11 @@ public class MapperAnnotationBuilder {
     if (cacheDomain != null) {
       Integer size = cacheDomain.size() == 0 ? null : cacheDomain.size();
       Long flushInterval = cacheDomain.flushInterval() == 0 ? null : cacheDomain.flushInterval();
+      Long refreshAfter = cacheDomain.refreshAfter() == 0 ? null : cacheDomain.refreshAfter();
+      Long expireAfter = cacheDomain.expireAfter() == 0 ? null : cacheDomain.expireAfter();
       Properties props = convertToProperties(cacheDomain.properties());
-      assistant.useNewCache(cacheDomain.implementation(), cacheDomain.eviction(), flushInterval, size, cacheDomain.readWrite(), cacheDomain.blocking(), props);
+      assistant.useNewCache(cacheDomain.implementation(), cacheDomain.eviction(), flushInterval, size, cacheDomain.readWrite(), cacheDomain.blocking(),
+          refreshAfter, expireAfter, props);
     }
   }
 
@@ -414,7 +417,11 @@ public class MapperAnnotationBuilder {
           null,
           languageDriver,
           // ResultSets
-          options != null ? nullOrEmpty(options.resultSets()) : null);
+          options != null ? nullOrEmpty(options.resultSets()) : null,
+          options != null ? nullOrEmpty(options.tables()) : null,
+          options != null ? nullOrEmpty(options.tableKeyProperty()) : null,
+          options != null && options.cacheExpireAfter() > 0 ? options.cacheExpireAfter() : null,
+          options != null && options.coalesce());
     }
   }
   
@@ -698,7 +705,8 @@ public class MapperAnnotationBuilder {
     id = assistant.applyCurrentNamespace(id, false);
 
     MappedStatement keyStatement = configuration.getMappedStatement(id, false);
-    SelectKeyGenerator answer = new SelectKeyGenerator(keyStatement, executeBefore);
+    SelectKeyGenerator answer = new SelectKeyGenerator(keyStatement, executeBefore, selectKeyAnnotation.allocation(),
+        selectKeyAnnotation.allocationSize());
     configuration.addKeyGenerator(id, answer);
     return answer;
   }
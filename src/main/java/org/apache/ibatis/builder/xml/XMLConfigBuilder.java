@@ -17,6 +17,8 @@ package org.apache.ibatis.builder.xml;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import javax.sql.DataSource;
 
@@ -26,9 +28,12 @@ import org.apache.ibatis.binding.MapperRegistry;
 import org.apache.ibatis.builder.BaseBuilder;
 import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.builder.annotation.MapperAnnotationBuilder;
+import org.apache.ibatis.bulk.BulkLoader;
+import org.apache.ibatis.cache.invalidation.InvalidationTransport;
 import org.apache.ibatis.datasource.DataSourceFactory;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.loader.ProxyFactory;
+import org.apache.ibatis.executor.statement.ExplainHook;
 import org.apache.ibatis.io.ClassLoaderWrapper;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.io.VFS;
@@ -44,6 +49,7 @@ import org.apache.ibatis.reflection.Reflector;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
+import org.apache.ibatis.scripting.xmltags.ForEachPadding;
 import org.apache.ibatis.session.*;
 import org.apache.ibatis.transaction.TransactionFactory;
 import org.apache.ibatis.type.JdbcType;
@@ -444,6 +450,10 @@ public class XMLConfigBuilder extends BaseBuilder {
      * 指定 Mybatis 创建具有延迟加载能力的对象所用到的代理工具。
      */
     configuration.setProxyFactory((ProxyFactory) createInstance(props.getProperty("proxyFactory")));
+    /**
+     * 批量导入的实现
+     */
+    configuration.setBulkLoader((BulkLoader) createInstance(props.getProperty("bulkLoader")));
     /**
      * 延迟加载
      */
@@ -515,6 +525,22 @@ public class XMLConfigBuilder extends BaseBuilder {
      * 允许使用方法签名中的名称作为语句参数名称。 为了使用该特性，你的项目必须采用 Java 8 编译，并且加上 -parameters 选项
      */
     configuration.setUseActualParamName(booleanValueOf(props.getProperty("useActualParamName"), true));
+    /**
+     * 指定了 arrayType 的 foreach 是否绑定为 JDBC 数组
+     */
+    configuration.setUseForeachArrays(booleanValueOf(props.getProperty("useForeachArrays"), true));
+    /**
+     * foreach 展开集合时的补齐方式，只适用于 IN 列表
+     */
+    configuration.setForeachPadding(ForEachPadding.valueOf(props.getProperty("foreachPadding", "NONE")));
+    /**
+     * 是否合并并发执行的相同查询
+     */
+    configuration.setCoalesceQueries(booleanValueOf(props.getProperty("coalesceQueries"), false));
+    /**
+     * resultType为map时是否使用紧凑的行Map
+     */
+    configuration.setCompactMapResults(booleanValueOf(props.getProperty("compactMapResults"), false));
     /**
      * 当返回行的所有列都是空时，MyBatis默认返回 null。 当开启这个设置时，MyBatis会返回一个空实例。
      */
@@ -529,6 +555,14 @@ public class XMLConfigBuilder extends BaseBuilder {
      * 日志实现
      */
     configuration.setLogImpl(logImpl);
+    /**
+     * 语句日志采样率，每 N 条语句记录一条
+     */
+    configuration.setStatementLogSampleRate(integerValueOf(props.getProperty("statementLogSampleRate"), 1));
+    /**
+     * 异步格式化语句日志
+     */
+    configuration.setStatementLogAsync(booleanValueOf(props.getProperty("statementLogAsync"), false));
     /**
      * Configuration factory class.
      * Used to create Configuration for loading deserialized unread properties.
@@ -539,6 +573,38 @@ public class XMLConfigBuilder extends BaseBuilder {
      * @see <a href='https://code.google.com/p/mybatis/issues/detail?id=300'>Issue 300 (google code)</a>
      */
     configuration.setConfigurationFactory(resolveClass(props.getProperty("configurationFactory")));
+    /**
+     * 慢语句阈值（毫秒），未配置时不记录慢语句
+     */
+    configuration.setSlowStatementThreshold(longValueOf(props.getProperty("slowStatementThreshold"), null));
+    /**
+     * 按语句或命名空间配置的慢语句阈值，格式为 id=毫秒，多个以逗号分隔
+     */
+    configuration.setSlowStatementThresholds(slowStatementThresholdsOf(props.getProperty("slowStatementThresholds")));
+    /**
+     * 保留的慢语句条数
+     */
+    configuration.setSlowStatementCapacity(integerValueOf(props.getProperty("slowStatementCapacity"), 100));
+    /**
+     * 获取慢语句执行计划的钩子
+     */
+    configuration.setSlowStatementExplainHook((ExplainHook) createInstance(props.getProperty("slowStatementExplainHook")));
+    /**
+     * 自适应 fetchSize 的内存预算（字节），未配置时不启用
+     */
+    configuration.setAdaptiveFetchSizeBudget(longValueOf(props.getProperty("adaptiveFetchSizeBudget"), null));
+    /**
+     * 游标后台预取的行数
+     */
+    configuration.setCursorPrefetchSize(integerValueOf(props.getProperty("cursorPrefetchSize"), null));
+    /**
+     * BATCH 执行器自动执行批处理的语句条数
+     */
+    configuration.setBatchFlushSize(integerValueOf(props.getProperty("batchFlushSize"), null));
+    /**
+     * 在集群节点间传播二级缓存失效的通道
+     */
+    configuration.setCacheInvalidationTransport((InvalidationTransport) createInstance(props.getProperty("cacheInvalidationTransport")));
   }
 
   /**
@@ -578,6 +644,31 @@ public class XMLConfigBuilder extends BaseBuilder {
     }
   }
 
+  /**
+   * 解析慢语句阈值配置,格式为 语句id或命名空间=毫秒,多项以逗号分隔
+   * @param value
+   * @return
+   */
+  private Map<String, Long> slowStatementThresholdsOf(String value) {
+    if (value == null) {
+      return null;
+    }
+    Map<String, Long> thresholds = new HashMap<>();
+    for (String entry : value.split(",")) {
+      int separator = entry.lastIndexOf('=');
+      if (separator <= 0) {
+        throw new BuilderException("Invalid slowStatementThresholds entry '" + entry.trim()
+            + "'. Expected a statement id or namespace followed by =milliseconds.");
+      }
+      try {
+        thresholds.put(entry.substring(0, separator).trim(), Long.valueOf(entry.substring(separator + 1).trim()));
+      } catch (NumberFormatException e) {
+        throw new BuilderException("Invalid slowStatementThresholds entry '" + entry.trim() + "'. Cause: " + e, e);
+      }
+    }
+    return thresholds;
+  }
+
   /**
    * 数据库标识,mybatis会加载特定dataBaseId的SQL，加dataBaseId的优先于不带dataBaseId，同样的标签
    * @param context
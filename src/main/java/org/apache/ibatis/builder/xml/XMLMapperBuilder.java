@@ -275,8 +275,11 @@ public class XMLMapperBuilder extends BaseBuilder {
        * 防止多线程缓存穿透访问数据库
        */
       boolean blocking = context.getBooleanAttribute("blocking", false);
+      // 条目超过 refreshAfter 毫秒后在后台刷新，超过 expireAfter 毫秒后过期
+      Long refreshAfter = context.getLongAttribute("refreshAfter");
+      Long expireAfter = context.getLongAttribute("expireAfter");
       Properties props = context.getChildrenAsProperties();
-      builderAssistant.useNewCache(typeClass, evictionClass, flushInterval, size, readWrite, blocking, props);
+      builderAssistant.useNewCache(typeClass, evictionClass, flushInterval, size, readWrite, blocking, refreshAfter, expireAfter, props);
     }
   }
 
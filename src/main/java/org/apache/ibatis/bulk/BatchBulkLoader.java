@@ -0,0 +1,67 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.bulk;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Loads the rows with JDBC batches of the insert statement, executed every {@code batchSize} rows.
+ * Works with any database.
+ *
+ * @since 3.5.0
+ */
+public class BatchBulkLoader implements BulkLoader {
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private final int batchSize;
+
+  public BatchBulkLoader() {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  public BatchBulkLoader(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The batch size must be positive but was " + batchSize);
+    }
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public long load(BulkLoad load) throws SQLException {
+    long rowCount = 0;
+    int batchedRowCount = 0;
+    try (PreparedStatement ps = load.prepareStatement()) {
+      Iterator<?> rows = load.getRows();
+      while (rows.hasNext()) {
+        load.bind(ps, rows.next());
+        ps.addBatch();
+        rowCount++;
+        if (++batchedRowCount == batchSize) {
+          ps.executeBatch();
+          batchedRowCount = 0;
+        }
+      }
+      if (batchedRowCount > 0) {
+        ps.executeBatch();
+      }
+    }
+    return rowCount;
+  }
+
+}
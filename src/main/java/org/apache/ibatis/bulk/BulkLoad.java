@@ -0,0 +1,258 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.TypeException;
+
+/**
+ * A bulk load in progress: an insert statement with static SQL, the connection to load with and the rows to load.
+ * <p>
+ * Rows are parameter objects of the statement. They are bound or converted to values by the parameter handler of the
+ * statement, so the configured type handlers apply just as for {@code SqlSession.insert}.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+public class BulkLoad {
+
+  private static final Pattern INSERT_PATTERN = Pattern.compile(
+      "^\\s*insert\\s+into\\s+([^\\s(]+)\\s*\\(([^)]*)\\)\\s*values\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+  private final Executor executor;
+  private final MappedStatement mappedStatement;
+  private final Connection connection;
+  private final Integer transactionTimeout;
+  private final Iterator<?> rows;
+  private final Configuration configuration;
+  private final BoundSql boundSql;
+  private final String table;
+  private final List<String> columns;
+  private final RowParameterHandler rowParameterHandler = new RowParameterHandler();
+  private ParameterHandler parameterHandler;
+  private PreparedStatement valueCapture;
+  private Object[] capturedValues;
+
+  public BulkLoad(Executor executor, MappedStatement mappedStatement, Connection connection, Integer transactionTimeout,
+      Iterator<?> rows) {
+    this.executor = executor;
+    this.mappedStatement = mappedStatement;
+    this.connection = connection;
+    this.transactionTimeout = transactionTimeout;
+    this.rows = rows;
+    this.configuration = mappedStatement.getConfiguration();
+    this.boundSql = mappedStatement.getBoundSql(null);
+    Matcher matcher = INSERT_PATTERN.matcher(boundSql.getSql());
+    if (matcher.find()) {
+      List<String> names = new ArrayList<>();
+      for (String name : matcher.group(2).split(",")) {
+        names.add(name.trim());
+      }
+      this.table = matcher.group(1);
+      this.columns = Collections.unmodifiableList(names);
+    } else {
+      this.table = null;
+      this.columns = null;
+    }
+  }
+
+  public MappedStatement getMappedStatement() {
+    return mappedStatement;
+  }
+
+  public Connection getConnection() {
+    return connection;
+  }
+
+  public String getSql() {
+    return boundSql.getSql();
+  }
+
+  /**
+   * @return the table of an <code>INSERT INTO table (columns) VALUES (...)</code> statement, {@code null} for other
+   *         statements
+   */
+  public String getTable() {
+    return table;
+  }
+
+  /**
+   * @return the columns of an <code>INSERT INTO table (columns) VALUES (...)</code> statement, {@code null} for other
+   *         statements
+   */
+  public List<String> getColumns() {
+    return columns;
+  }
+
+  /**
+   * @return the rows to load, each one can only be read once
+   */
+  public Iterator<?> getRows() {
+    return rows;
+  }
+
+  /**
+   * Prepares the insert statement, with the timeouts and plugins of a regular statement. The caller closes it.
+   */
+  public PreparedStatement prepareStatement() throws SQLException {
+    StatementHandler handler = configuration.newStatementHandler(executor, mappedStatement, null, RowBounds.DEFAULT, null, boundSql);
+    return (PreparedStatement) handler.prepare(connection, transactionTimeout);
+  }
+
+  /**
+   * Sets the parameters of the insert statement from a row.
+   */
+  public void bind(PreparedStatement ps, Object row) throws SQLException {
+    if (parameterHandler == null) {
+      // plugins wrap the handler once per load, not once per row
+      parameterHandler = configuration.pluginParameterHandler(rowParameterHandler);
+    }
+    rowParameterHandler.row = row;
+    parameterHandler.setParameters(ps);
+  }
+
+  /**
+   * Converts a row to the values its type handlers would set on the insert statement, in parameter order.
+   */
+  public Object[] toValues(Object row) throws SQLException {
+    if (valueCapture == null) {
+      valueCapture = newValueCapture();
+    }
+    capturedValues = new Object[boundSql.getParameterMappings().size()];
+    bind(valueCapture, row);
+    return capturedValues;
+  }
+
+  /**
+   * Writes the remaining rows as CSV: one line per row, a null value as an empty field and an empty string as
+   * <code>""</code>.
+   *
+   * @return the number of rows written
+   */
+  public long writeCsv(Writer writer) throws IOException, SQLException {
+    long rowCount = 0;
+    StringBuilder line = new StringBuilder();
+    while (rows.hasNext()) {
+      Object[] values = toValues(rows.next());
+      line.setLength(0);
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          line.append(',');
+        }
+        appendCsv(line, values[i]);
+      }
+      line.append('\n');
+      writer.append(line);
+      rowCount++;
+    }
+    writer.flush();
+    return rowCount;
+  }
+
+  private PreparedStatement newValueCapture() {
+    return (PreparedStatement) Proxy.newProxyInstance(BulkLoad.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+        (proxy, method, args) -> {
+          String name = method.getName();
+          if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+            capturedValues[(Integer) args[0] - 1] = "setNull".equals(name) ? null : args[1];
+            return null;
+          } else if ("toString".equals(name)) {
+            return "BulkLoad value capture of " + mappedStatement.getId();
+          } else if ("hashCode".equals(name)) {
+            return System.identityHashCode(proxy);
+          } else if ("equals".equals(name)) {
+            return proxy == args[0];
+          }
+          throw new UnsupportedOperationException("A type handler called PreparedStatement." + name
+              + ", which is not available when converting rows to values.");
+        });
+  }
+
+  /**
+   * The parameter handler of the load, its parameter object is the row being bound.
+   */
+  private class RowParameterHandler implements ParameterHandler {
+
+    private Object row;
+
+    @Override
+    public Object getParameterObject() {
+      return row;
+    }
+
+    @Override
+    public void setParameters(PreparedStatement ps) throws SQLException {
+      mappedStatement.getLang().createParameterHandler(mappedStatement, row, boundSql).setParameters(ps);
+    }
+
+  }
+
+  private static void appendCsv(StringBuilder line, Object value) {
+    if (value == null) {
+      return;
+    }
+    String text;
+    if (value instanceof BigDecimal) {
+      text = ((BigDecimal) value).toPlainString();
+    } else if (value instanceof byte[]) {
+      text = toHex((byte[]) value);
+    } else if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob) {
+      throw new TypeException("Cannot write a " + value.getClass().getName() + " value as CSV.");
+    } else {
+      text = value.toString();
+    }
+    if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+        || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+      line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    } else {
+      line.append(text);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    char[] digits = "0123456789abcdef".toCharArray();
+    StringBuilder hex = new StringBuilder(2 + bytes.length * 2).append("\\x");
+    for (byte b : bytes) {
+      hex.append(digits[(b >> 4) & 0xf]).append(digits[b & 0xf]);
+    }
+    return hex.toString();
+  }
+
+}
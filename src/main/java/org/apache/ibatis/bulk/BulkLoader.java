@@ -0,0 +1,50 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.bulk;
+
+import java.sql.SQLException;
+
+/**
+ * SPI for loading many rows with a single insert statement, typically through a vendor bulk load protocol.
+ * <p>
+ * The {@link BulkLoad} gives the connection, the table and columns of the statement and the rows to load. It can write
+ * the rows as CSV through the configured type handlers, for example for PostgreSQL:
+ * </p>
+ * <pre>
+ * public long load(BulkLoad load) throws SQLException {
+ *   PGConnection connection = load.getConnection().unwrap(PGConnection.class);
+ *   String copy = "COPY " + load.getTable() + " (" + String.join(",", load.getColumns()) + ") FROM STDIN WITH CSV";
+ *   try (Writer writer = new OutputStreamWriter(new PGCopyOutputStream(connection, copy), StandardCharsets.UTF_8)) {
+ *     return load.writeCsv(writer);
+ *   } catch (IOException e) {
+ *     throw new SQLException(e);
+ *   }
+ * }
+ * </pre>
+ * The loader is set with the <code>bulkLoader</code> setting, {@link BatchBulkLoader} is the default.
+ *
+ * @since 3.5.0
+ */
+public interface BulkLoader {
+
+  /**
+   * Loads all the rows of the bulk load.
+   *
+   * @return the number of rows loaded
+   */
+  long load(BulkLoad load) throws SQLException;
+
+}
@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.cache;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -52,6 +54,38 @@ public interface Cache {
    */
   void putObject(Object key, Object value);
 
+  /**
+   * Optional. Puts an entry that must not be returned once the given time has elapsed.
+   * Caches that do not support per entry expiry keep it until it is evicted or cleared.
+   *
+   * @param key Can be any object but usually it is a {@link CacheKey}
+   * @param value The result of a select.
+   * @param timeToLive milliseconds the entry stays valid, not positive means no expiry
+   * @since 3.5.0
+   */
+  default void putObject(Object key, Object value, long timeToLive) {
+    putObject(key, value);
+  }
+
+  /**
+   * Optional. Puts several entries at once, as when a transaction commits.
+   * Caches that copy their entries on every write override it to copy them once for all the entries.
+   *
+   * @param entries The results of selects by key
+   * @param timesToLive milliseconds each entry stays valid by key, entries without one do not expire
+   * @since 3.5.0
+   */
+  default void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+      Long timeToLive = timesToLive.get(entry.getKey());
+      if (timeToLive == null) {
+        putObject(entry.getKey(), entry.getValue());
+      } else {
+        putObject(entry.getKey(), entry.getValue(), timeToLive);
+      }
+    }
+  }
+
   /**
    * @param key The key
    * @return The object stored in the cache.
@@ -74,6 +108,19 @@ public interface Cache {
    */
   Object removeObject(Object key);
 
+  /**
+   * Optional. Evicts entries invalidated by a commit, unlike {@link #removeObject(Object)} that a blocking cache only
+   * uses to release its locks.
+   *
+   * @param keys The keys of the entries to evict
+   * @since 3.5.0
+   */
+  default void removeObjects(Collection<Object> keys) {
+    for (Object key : keys) {
+      removeObject(key);
+    }
+  }
+
   /**
    * Clears this cache instance
    */  
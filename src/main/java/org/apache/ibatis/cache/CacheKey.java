@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.cache;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -57,6 +59,11 @@ public class CacheKey implements Cloneable, Serializable {
   }
 
   public void update(Object object) {
+    hash(object);
+    updateList.add(object);
+  }
+
+  private void hash(Object object) {
     int baseHashCode = object == null ? 1 : ArrayUtil.hashCode(object); 
 
     count++;
@@ -64,8 +71,20 @@ public class CacheKey implements Cloneable, Serializable {
     baseHashCode *= count;
 
     hashcode = multiplier * hashcode + baseHashCode;
+  }
 
-    updateList.add(object);
+  /**
+   * Hash codes of enums and of some other objects differ between JVMs, so the hash of a key read from another JVM
+   * is computed again from its objects.
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    hashcode = DEFAULT_HASHCODE;
+    checksum = 0;
+    count = 0;
+    for (Object object : updateList) {
+      hash(object);
+    }
   }
 
   public void updateAll(Object[] objects) {
@@ -0,0 +1,85 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.Locale;
+
+/**
+ * The tables a statement reads or writes, optionally narrowed to the rows with a given key.
+ *
+ * @since 3.5.0
+ */
+public final class TableDependencies {
+
+  /**
+   * Dependencies of a statement that does not declare its tables, which may depend on or affect anything.
+   */
+  public static final TableDependencies UNDECLARED = new TableDependencies(null, null);
+
+  private final String[] tables;
+  private final String key;
+
+  private TableDependencies(String[] tables, String key) {
+    this.tables = tables;
+    this.key = key;
+  }
+
+  /**
+   * @param tables the table names, <code>null</code> when undeclared
+   * @param key the key of the rows, <code>null</code> for whole tables
+   */
+  public static TableDependencies of(String[] tables, Object key) {
+    if (tables == null || tables.length == 0) {
+      return UNDECLARED;
+    }
+    String[] names = new String[tables.length];
+    for (int i = 0; i < tables.length; i++) {
+      names[i] = tables[i].trim().toUpperCase(Locale.ENGLISH);
+    }
+    // compared as strings, so that an Integer and a Long id match
+    return new TableDependencies(names, key == null ? null : String.valueOf(key));
+  }
+
+  public boolean isDeclared() {
+    return tables != null;
+  }
+
+  String[] getTables() {
+    return tables;
+  }
+
+  String getKey() {
+    return key;
+  }
+
+  /**
+   * Returns whether writing these dependencies may change the result of a query with the other dependencies.
+   */
+  public boolean affects(TableDependencies read) {
+    if (!isDeclared() || !read.isDeclared()) {
+      return true;
+    }
+    for (String table : tables) {
+      for (String readTable : read.tables) {
+        if (table.equals(readTable) && (key == null || read.key == null || key.equals(read.key))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,162 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse index from tables and keys to the entries of a 2nd level cache that depend on them.
+ * <p>
+ * Entries of statements that do not declare their tables are not indexed, they only make the next write clear the
+ * whole cache.
+ * <p>
+ * Entries evicted by the cache itself are not reported to the index, so it is bounded: once full, it refuses new
+ * entries and the caller is expected to clear the cache and the index.
+ *
+ * @since 3.5.0
+ */
+public class TableDependencyIndex {
+
+  public static final int DEFAULT_MAX_SIZE = 65536;
+
+  private final int maxSize;
+  private final Map<Object, TableDependencies> dependenciesByKey = new HashMap<>();
+  // table -> row key (null for whole table queries) -> cache keys
+  private final Map<String, Map<String, Set<Object>>> keysByTable = new HashMap<>();
+  private boolean undeclaredEntries;
+
+  public TableDependencyIndex() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public TableDependencyIndex(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Records the dependencies of a cached entry.
+   *
+   * @return <code>false</code> when the index is full
+   */
+  public synchronized boolean register(Object cacheKey, TableDependencies dependencies) {
+    unregister(cacheKey);
+    if (!dependencies.isDeclared()) {
+      undeclaredEntries = true;
+      return true;
+    }
+    if (dependenciesByKey.size() >= maxSize) {
+      return false;
+    }
+    dependenciesByKey.put(cacheKey, dependencies);
+    for (String table : dependencies.getTables()) {
+      keysByTable.computeIfAbsent(table, k -> new HashMap<>())
+          .computeIfAbsent(dependencies.getKey(), k -> new HashSet<>())
+          .add(cacheKey);
+    }
+    return true;
+  }
+
+  /**
+   * Removes and returns the keys of the entries affected by a write.
+   *
+   * @return <code>null</code> when the whole cache must be cleared
+   */
+  public synchronized Collection<Object> invalidate(TableDependencies write) {
+    if (!write.isDeclared() || undeclaredEntries) {
+      clear();
+      return null;
+    }
+    Set<Object> affected = new HashSet<>();
+    for (String table : write.getTables()) {
+      Map<String, Set<Object>> keysByRow = keysByTable.get(table);
+      if (keysByRow == null) {
+        continue;
+      }
+      if (write.getKey() == null) {
+        for (Set<Object> keys : keysByRow.values()) {
+          affected.addAll(keys);
+        }
+      } else {
+        addAll(affected, keysByRow.get(write.getKey()));
+        addAll(affected, keysByRow.get(null));
+      }
+    }
+    for (Object cacheKey : affected) {
+      unregister(cacheKey);
+    }
+    return affected;
+  }
+
+  /**
+   * Returns whether a cached entry is affected by any of the writes. Unknown entries are considered affected.
+   */
+  public synchronized boolean isAffected(Object cacheKey, Collection<TableDependencies> writes) {
+    TableDependencies read = dependenciesByKey.get(cacheKey);
+    if (read == null) {
+      return true;
+    }
+    for (TableDependencies write : writes) {
+      if (write.affects(read)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public synchronized int getSize() {
+    return dependenciesByKey.size();
+  }
+
+  public synchronized void clear() {
+    dependenciesByKey.clear();
+    keysByTable.clear();
+    undeclaredEntries = false;
+  }
+
+  private void unregister(Object cacheKey) {
+    TableDependencies dependencies = dependenciesByKey.remove(cacheKey);
+    if (dependencies == null) {
+      return;
+    }
+    for (String table : dependencies.getTables()) {
+      Map<String, Set<Object>> keysByRow = keysByTable.get(table);
+      if (keysByRow == null) {
+        continue;
+      }
+      Set<Object> keys = keysByRow.get(dependencies.getKey());
+      if (keys != null) {
+        keys.remove(cacheKey);
+        if (keys.isEmpty()) {
+          keysByRow.remove(dependencies.getKey());
+          if (keysByRow.isEmpty()) {
+            keysByTable.remove(table);
+          }
+        }
+      }
+    }
+  }
+
+  private static void addAll(Set<Object> target, Set<Object> keys) {
+    if (keys != null) {
+      target.addAll(keys);
+    }
+  }
+
+}
@@ -39,6 +39,28 @@ public class TransactionalCacheManager {
     getTransactionalCache(cache).putObject(key, value);
   }
 
+  /**
+   * @since 3.5.0
+   */
+  public void putObject(Cache cache, CacheKey key, Object value, TableDependencyIndex index, TableDependencies dependencies) {
+    getTransactionalCache(cache).putObject(key, value, index, dependencies);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void putObject(Cache cache, CacheKey key, Object value, TableDependencyIndex index, TableDependencies dependencies,
+      long timeToLive) {
+    getTransactionalCache(cache).putObject(key, value, index, dependencies, timeToLive);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void invalidate(Cache cache, TableDependencyIndex index, TableDependencies dependencies) {
+    getTransactionalCache(cache).invalidate(index, dependencies);
+  }
+
   public void commit() {
     for (TransactionalCache txCache : transactionalCaches.values()) {
       txCache.commit();
@@ -15,11 +15,12 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
@@ -32,18 +33,23 @@ import org.apache.ibatis.cache.CacheException;
  * It sets a lock over a cache key when the element is not found in cache.
  * This way, other threads will wait until this element is filled instead of hitting the database.
  * 
+ * A lock only lives while its element is being loaded, so the locks do not pile up with the keys, and a lock whose
+ * thread died without releasing it is taken over by the next waiting thread.
+ * 
  * @author Eduardo Macarron
  *
  */
 public class BlockingCache implements Cache {
 
+  private static final long LIVENESS_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
   private long timeout;
   private final Cache delegate;
-  private final ConcurrentHashMap<Object, ReentrantLock> locks;
+  private final ConcurrentHashMap<Object, Load> loads;
 
   public BlockingCache(Cache delegate) {
     this.delegate = delegate;
-    this.locks = new ConcurrentHashMap<>();
+    this.loads = new ConcurrentHashMap<>();
   }
 
   @Override
@@ -65,10 +71,36 @@ public class BlockingCache implements Cache {
     }
   }
 
+  @Override
+  public void putObject(Object key, Object value, long timeToLive) {
+    try {
+      delegate.putObject(key, value, timeToLive);
+    } finally {
+      releaseLock(key);
+    }
+  }
+
+  @Override
+  public void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    try {
+      delegate.putObjects(entries, timesToLive);
+    } finally {
+      for (Object key : entries.keySet()) {
+        releaseLock(key);
+      }
+    }
+  }
+
   @Override
   public Object getObject(Object key) {
     acquireLock(key);
-    Object value = delegate.getObject(key);
+    Object value;
+    try {
+      value = delegate.getObject(key);
+    } catch (RuntimeException e) {
+      releaseLock(key);
+      throw e;
+    }
     if (value != null) {
       releaseLock(key);
     }        
@@ -82,6 +114,11 @@ public class BlockingCache implements Cache {
     return null;
   }
 
+  @Override
+  public void removeObjects(Collection<Object> keys) {
+    delegate.removeObjects(keys);
+  }
+
   @Override
   public void clear() {
     delegate.clear();
@@ -91,33 +128,57 @@ public class BlockingCache implements Cache {
   public ReadWriteLock getReadWriteLock() {
     return null;
   }
-  
-  private ReentrantLock getLockForKey(Object key) {
-    ReentrantLock lock = new ReentrantLock();
-    ReentrantLock previous = locks.putIfAbsent(key, lock);
-    return previous == null ? lock : previous;
+
+  /**
+   * @since 3.5.0
+   * @return The number of elements being loaded
+   */
+  public int getLoadingSize() {
+    return loads.size();
   }
-  
+
   private void acquireLock(Object key) {
-    Lock lock = getLockForKey(key);
-    if (timeout > 0) {
-      try {
-        boolean acquired = lock.tryLock(timeout, TimeUnit.MILLISECONDS);
-        if (!acquired) {
+    Thread current = Thread.currentThread();
+    Load newLoad = new Load(current);
+    long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+    while (true) {
+      Load load = loads.putIfAbsent(key, newLoad);
+      if (load == null || load.owner == current) {
+        return;
+      }
+      if (!load.owner.isAlive()) {
+        // the loading thread is gone without releasing its lock
+        if (loads.remove(key, load)) {
+          load.latch.countDown();
+        }
+        continue;
+      }
+      awaitLoad(key, load, deadline);
+    }
+  }
+
+  private void awaitLoad(Object key, Load load, long deadline) {
+    try {
+      long wait = LIVENESS_CHECK_NANOS;
+      if (timeout > 0) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
           throw new CacheException("Couldn't get a lock in " + timeout + " for the key " +  key + " at the cache " + delegate.getId());  
         }
-      } catch (InterruptedException e) {
-        throw new CacheException("Got interrupted while trying to acquire lock for key " + key, e);
+        wait = Math.min(wait, remaining);
       }
-    } else {
-      lock.lock();
+      // wake up now and then to check that the loading thread is still alive
+      load.latch.await(wait, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CacheException("Got interrupted while trying to acquire lock for key " + key, e);
     }
   }
-  
+
   private void releaseLock(Object key) {
-    ReentrantLock lock = locks.get(key);
-    if (lock.isHeldByCurrentThread()) {
-      lock.unlock();
+    Load load = loads.get(key);
+    if (load != null && load.owner == Thread.currentThread() && loads.remove(key, load)) {
+      load.latch.countDown();
     }
   }
 
@@ -128,4 +189,15 @@ public class BlockingCache implements Cache {
   public void setTimeout(long timeout) {
     this.timeout = timeout;
   }  
-}
\ No newline at end of file
+
+  private static class Load {
+
+    private final Thread owner;
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    Load(Thread owner) {
+      this.owner = owner;
+    }
+
+  }
+}
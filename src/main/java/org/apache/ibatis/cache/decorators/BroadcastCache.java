@@ -0,0 +1,127 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.invalidation.Invalidation;
+import org.apache.ibatis.cache.invalidation.InvalidationTransport;
+
+/**
+ * Publishes the invalidations of a cache to the other nodes of a cluster, and applies theirs.
+ * <p>
+ * Clears and the evictions of a commit are published. {@link #removeObject(Object)} is only local, since it is
+ * called to release the entries missed by a rolled back session.
+ *
+ * @since 3.5.0
+ */
+public class BroadcastCache implements Cache {
+
+  private final Cache delegate;
+  private final InvalidationTransport transport;
+
+  public BroadcastCache(Cache delegate, InvalidationTransport transport) {
+    this.delegate = delegate;
+    this.transport = transport;
+    transport.subscribe(this::apply);
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public void putObject(Object key, Object object) {
+    delegate.putObject(key, object);
+  }
+
+  @Override
+  public void putObject(Object key, Object object, long timeToLive) {
+    delegate.putObject(key, object, timeToLive);
+  }
+
+  @Override
+  public void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    delegate.putObjects(entries, timesToLive);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    return delegate.getObject(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    return delegate.removeObject(key);
+  }
+
+  /**
+   * Removes entries invalidated by a commit, here and on the other nodes.
+   */
+  @Override
+  public void removeObjects(Collection<Object> keys) {
+    for (Object key : keys) {
+      delegate.removeObject(key);
+    }
+    if (!keys.isEmpty()) {
+      transport.publish(Invalidation.remove(getId(), keys));
+    }
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+    transport.publish(Invalidation.clear(getId()));
+  }
+
+  @Override
+  public ReadWriteLock getReadWriteLock() {
+    return null;
+  }
+
+  private void apply(Invalidation invalidation) {
+    if (!getId().equals(invalidation.getCacheId())) {
+      return;
+    }
+    if (invalidation.isClear()) {
+      delegate.clear();
+    } else {
+      for (Object key : invalidation.getKeys()) {
+        delegate.removeObject(key);
+      }
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return delegate.equals(obj);
+  }
+
+}
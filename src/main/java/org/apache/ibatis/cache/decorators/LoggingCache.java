@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import org.apache.ibatis.cache.Cache;
@@ -51,6 +52,16 @@ public class LoggingCache implements Cache {
     delegate.putObject(key, object);
   }
 
+  @Override
+  public void putObject(Object key, Object object, long timeToLive) {
+    delegate.putObject(key, object, timeToLive);
+  }
+
+  @Override
+  public void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    delegate.putObjects(entries, timesToLive);
+  }
+
   @Override
   public Object getObject(Object key) {
     requests++;
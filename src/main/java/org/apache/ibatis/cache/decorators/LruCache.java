@@ -68,6 +68,12 @@ public class LruCache implements Cache {
     cycleKeyList(key);
   }
 
+  @Override
+  public void putObject(Object key, Object value, long timeToLive) {
+    delegate.putObject(key, value, timeToLive);
+    cycleKeyList(key);
+  }
+
   @Override
   public Object getObject(Object key) {
     keyMap.get(key); //touch
@@ -0,0 +1,288 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Expires entries one by one, and refreshes them in the background before they do.
+ * <p>
+ * An entry older than the refresh delay is still returned, while a single background task reloads it with the loader
+ * given when it was put (see {@link Refreshable}). An entry older than the expiry delay is not returned anymore.
+ * Entries put without a loader only expire. The loaders are kept aside until their entries expire, so a cache that
+ * refreshes should also expire.
+ *
+ * @since 3.5.0
+ */
+public class RefreshAheadCache implements Cache {
+
+  private static final Log log = LogFactory.getLog(RefreshAheadCache.class);
+
+  private static final int PURGE_INTERVAL = 256;
+
+  private final Cache delegate;
+  private long refreshAfter;
+  private long expireAfter;
+  private final Map<Object, Loader> loaders = new ConcurrentHashMap<>();
+  private final Map<Object, Boolean> refreshing = new ConcurrentHashMap<>();
+  // changed by every eviction, so that a refresh started before does not put back an evicted entry
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicInteger putsSincePurge = new AtomicInteger();
+
+  public RefreshAheadCache(Cache delegate) {
+    this.delegate = delegate;
+  }
+
+  public void setRefreshAfter(long refreshAfter) {
+    this.refreshAfter = refreshAfter;
+  }
+
+  public void setExpireAfter(long expireAfter) {
+    this.expireAfter = expireAfter;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public void putObject(Object key, Object object) {
+    putObject(key, object, 0);
+  }
+
+  @Override
+  public void putObject(Object key, Object object, long timeToLive) {
+    if (object instanceof Refreshable) {
+      Refreshable refreshable = (Refreshable) object;
+      store(key, refreshable.value, refreshable.loader, timeToLive);
+    } else {
+      store(key, object, null, timeToLive);
+    }
+  }
+
+  @Override
+  public void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    long now = System.currentTimeMillis();
+    Map<Object, Object> wrapped = new LinkedHashMap<>();
+    Map<Object, Refreshable> refreshables = new HashMap<>();
+    for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+      Object object = entry.getValue();
+      Object value = object;
+      if (object instanceof Refreshable) {
+        refreshables.put(entry.getKey(), (Refreshable) object);
+        value = ((Refreshable) object).value;
+      }
+      wrapped.put(entry.getKey(), value == null ? null : new Entry(value, now));
+    }
+    delegate.putObjects(wrapped, timesToLive);
+    for (Map.Entry<Object, Object> entry : wrapped.entrySet()) {
+      Refreshable refreshable = refreshables.get(entry.getKey());
+      Long timeToLive = timesToLive.get(entry.getKey());
+      rememberLoader(entry.getKey(), entry.getValue(), refreshable == null ? null : refreshable.loader, now,
+          timeToLive == null ? 0 : timeToLive);
+    }
+    countPuts(entries.size(), now);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Object object = delegate.getObject(key);
+    if (!(object instanceof Entry)) {
+      return object;
+    }
+    Entry entry = (Entry) object;
+    long age = System.currentTimeMillis() - entry.loadedAt;
+    if (expireAfter > 0 && age >= expireAfter) {
+      return null;
+    }
+    if (refreshAfter > 0 && age >= refreshAfter) {
+      refresh(key);
+    }
+    return entry.value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    generation.incrementAndGet();
+    loaders.remove(key);
+    Object object = delegate.removeObject(key);
+    return object instanceof Entry ? ((Entry) object).value : object;
+  }
+
+  @Override
+  public void clear() {
+    generation.incrementAndGet();
+    loaders.clear();
+    delegate.clear();
+  }
+
+  @Override
+  public ReadWriteLock getReadWriteLock() {
+    return null;
+  }
+
+  private void store(Object key, Object value, Callable<?> loader, long timeToLive) {
+    long now = System.currentTimeMillis();
+    delegate.putObject(key, value == null ? null : new Entry(value, now), timeToLive);
+    rememberLoader(key, value, loader, now, timeToLive);
+    countPuts(1, now);
+  }
+
+  private void rememberLoader(Object key, Object value, Callable<?> loader, long now, long timeToLive) {
+    if (loader == null || value == null) {
+      loaders.remove(key);
+    } else {
+      loaders.put(key, new Loader(loader, now, timeToLive));
+    }
+  }
+
+  private void countPuts(int puts, long now) {
+    if (putsSincePurge.addAndGet(puts) >= PURGE_INTERVAL) {
+      putsSincePurge.set(0);
+      purgeExpiredLoaders(now);
+    }
+  }
+
+  private void refresh(Object key) {
+    Loader loader = loaders.get(key);
+    if (loader == null || refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+      return;
+    }
+    long startGeneration = generation.get();
+    try {
+      RefreshExecutorHolder.EXECUTOR.execute(() -> {
+        try {
+          Object value = loader.callable.call();
+          if (generation.get() == startGeneration) {
+            store(key, value, loader.callable, loader.timeToLive);
+          }
+        } catch (Exception e) {
+          log.warn("Could not refresh an entry of the cache " + getId() + ".  Cause: " + e);
+        } finally {
+          refreshing.remove(key);
+        }
+      });
+    } catch (RuntimeException e) {
+      refreshing.remove(key);
+      throw e;
+    }
+  }
+
+  // the entries evicted by the delegate are not reported, forget their loaders once they would have expired
+  private void purgeExpiredLoaders(long now) {
+    if (expireAfter <= 0) {
+      return;
+    }
+    Iterator<Loader> iterator = loaders.values().iterator();
+    while (iterator.hasNext()) {
+      if (now - iterator.next().loadedAt >= expireAfter) {
+        iterator.remove();
+      }
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return delegate.equals(obj);
+  }
+
+  /**
+   * A value to put along with the loader that reloads it.
+   */
+  public static final class Refreshable {
+
+    private final Object value;
+    private final Callable<?> loader;
+
+    public Refreshable(Object value, Callable<?> loader) {
+      this.value = value;
+      this.loader = loader;
+    }
+
+  }
+
+  static class Entry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object value;
+    private final long loadedAt;
+
+    Entry(Object value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+
+    /**
+     * @return the cached value, which is what a weighted cache has to weigh
+     */
+    Object getValue() {
+      return value;
+    }
+
+  }
+
+  private static class Loader {
+
+    private final Callable<?> callable;
+    private final long loadedAt;
+    private final long timeToLive;
+
+    Loader(Callable<?> callable, long loadedAt, long timeToLive) {
+      this.callable = callable;
+      this.loadedAt = loadedAt;
+      this.timeToLive = timeToLive;
+    }
+
+  }
+
+  private static class RefreshExecutorHolder {
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "mybatis-cache-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+  }
+
+}
@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import org.apache.ibatis.cache.Cache;
@@ -55,6 +56,18 @@ public class ScheduledCache implements Cache {
     delegate.putObject(key, object);
   }
 
+  @Override
+  public void putObject(Object key, Object object, long timeToLive) {
+    clearWhenStale();
+    delegate.putObject(key, object, timeToLive);
+  }
+
+  @Override
+  public void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    clearWhenStale();
+    delegate.putObjects(entries, timesToLive);
+  }
+
   @Override
   public Object getObject(Object key) {
     return clearWhenStale() ? null : delegate.getObject(key);
@@ -23,6 +23,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import org.apache.ibatis.cache.Cache;
@@ -59,6 +61,29 @@ public class SerializedCache implements Cache {
     }
   }
 
+  @Override
+  public void putObject(Object key, Object object, long timeToLive) {
+    if (object == null || object instanceof Serializable) {
+      delegate.putObject(key, serialize((Serializable) object), timeToLive);
+    } else {
+      throw new CacheException("SharedCache failed to make a copy of a non-serializable object: " + object);
+    }
+  }
+
+  @Override
+  public void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    Map<Object, Object> serialized = new LinkedHashMap<>();
+    for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+      Object object = entry.getValue();
+      if (object == null || object instanceof Serializable) {
+        serialized.put(entry.getKey(), serialize((Serializable) object));
+      } else {
+        throw new CacheException("SharedCache failed to make a copy of a non-serializable object: " + object);
+      }
+    }
+    delegate.putObjects(serialized, timesToLive);
+  }
+
   @Override
   public Object getObject(Object key) {
     Object object = delegate.getObject(key);
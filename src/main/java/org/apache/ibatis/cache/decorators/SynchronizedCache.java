@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import org.apache.ibatis.cache.Cache;
@@ -45,6 +46,16 @@ public class SynchronizedCache implements Cache {
     delegate.putObject(key, object);
   }
 
+  @Override
+  public synchronized void putObject(Object key, Object object, long timeToLive) {
+    delegate.putObject(key, object, timeToLive);
+  }
+
+  @Override
+  public synchronized void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    delegate.putObjects(entries, timesToLive);
+  }
+
   @Override
   public synchronized Object getObject(Object key) {
     return delegate.getObject(key);
@@ -15,13 +15,19 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.TableDependencies;
+import org.apache.ibatis.cache.TableDependencyIndex;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
@@ -33,6 +39,9 @@ import org.apache.ibatis.logging.LogFactory;
  * Blocking cache support has been added. Therefore any get() that returns a cache miss 
  * will be followed by a put() so any lock associated with the key can be released. 
  * 
+ * When the statements declare the tables they depend on, entries are registered in a {@link TableDependencyIndex}
+ * on commit, and writes only evict the entries they affect instead of clearing the whole cache.
+ * 
  * @author Clinton Begin
  * @author Eduardo Macarron
  */
@@ -44,12 +53,19 @@ public class TransactionalCache implements Cache {
   private boolean clearOnCommit;
   private final Map<Object, Object> entriesToAddOnCommit;
   private final Set<Object> entriesMissedInCache;
+  private TableDependencyIndex index;
+  private final Map<Object, TableDependencies> dependenciesToAddOnCommit;
+  private final List<TableDependencies> invalidationsOnCommit;
+  private final Map<Object, Long> timeToLiveOnCommit;
 
   public TransactionalCache(Cache delegate) {
     this.delegate = delegate;
     this.clearOnCommit = false;
     this.entriesToAddOnCommit = new HashMap<>();
     this.entriesMissedInCache = new HashSet<>();
+    this.dependenciesToAddOnCommit = new HashMap<>();
+    this.invalidationsOnCommit = new ArrayList<>();
+    this.timeToLiveOnCommit = new HashMap<>();
   }
 
   @Override
@@ -72,6 +88,8 @@ public class TransactionalCache implements Cache {
     // issue #146
     if (clearOnCommit) {
       return null;
+    } else if (!invalidationsOnCommit.isEmpty() && index.isAffected(key, invalidationsOnCommit)) {
+      return null;
     } else {
       return object;
     }
@@ -85,6 +103,59 @@ public class TransactionalCache implements Cache {
   @Override
   public void putObject(Object key, Object object) {
     entriesToAddOnCommit.put(key, object);
+    dependenciesToAddOnCommit.remove(key);
+    timeToLiveOnCommit.remove(key);
+  }
+
+  @Override
+  public void putObject(Object key, Object object, long timeToLive) {
+    putObject(key, object);
+    if (timeToLive > 0) {
+      timeToLiveOnCommit.put(key, timeToLive);
+    }
+  }
+
+  /**
+   * Adds an entry that will be registered in the index with its dependencies on commit.
+   *
+   * @since 3.5.0
+   */
+  public void putObject(Object key, Object object, TableDependencyIndex index, TableDependencies dependencies) {
+    putObject(key, object, index, dependencies, 0);
+  }
+
+  /**
+   * Adds an entry that will be registered in the index with its dependencies, and expire after the given time, on
+   * commit.
+   *
+   * @since 3.5.0
+   */
+  public void putObject(Object key, Object object, TableDependencyIndex index, TableDependencies dependencies,
+      long timeToLive) {
+    putObject(key, object, timeToLive);
+    this.index = index;
+    dependenciesToAddOnCommit.put(key, dependencies);
+  }
+
+  /**
+   * Evicts on commit the entries affected by a write, clearing the cache when the write does not declare its tables.
+   *
+   * @since 3.5.0
+   */
+  public void invalidate(TableDependencyIndex index, TableDependencies write) {
+    if (!write.isDeclared()) {
+      clear();
+      return;
+    }
+    this.index = index;
+    invalidationsOnCommit.add(write);
+    Iterator<Object> keys = entriesToAddOnCommit.keySet().iterator();
+    while (keys.hasNext()) {
+      TableDependencies read = dependenciesToAddOnCommit.get(keys.next());
+      if (read == null || write.affects(read)) {
+        keys.remove();
+      }
+    }
   }
 
   @Override
@@ -96,11 +167,17 @@ public class TransactionalCache implements Cache {
   public void clear() {
     clearOnCommit = true;
     entriesToAddOnCommit.clear();
+    invalidationsOnCommit.clear();
   }
 
   public void commit() {
     if (clearOnCommit) {
       delegate.clear();
+      if (index != null) {
+        index.clear();
+      }
+    } else {
+      evictInvalidatedEntries();
     }
     flushPendingEntries();
     reset();
@@ -115,11 +192,36 @@ public class TransactionalCache implements Cache {
     clearOnCommit = false;
     entriesToAddOnCommit.clear();
     entriesMissedInCache.clear();
+    dependenciesToAddOnCommit.clear();
+    invalidationsOnCommit.clear();
+    timeToLiveOnCommit.clear();
+  }
+
+  private void evictInvalidatedEntries() {
+    for (TableDependencies write : invalidationsOnCommit) {
+      Collection<Object> keys = index.invalidate(write);
+      if (keys == null) {
+        delegate.clear();
+      } else if (!keys.isEmpty()) {
+        delegate.removeObjects(keys);
+      }
+    }
   }
 
   private void flushPendingEntries() {
-    for (Map.Entry<Object, Object> entry : entriesToAddOnCommit.entrySet()) {
-      delegate.putObject(entry.getKey(), entry.getValue());
+    if (!entriesToAddOnCommit.isEmpty()) {
+      // all at once, so that a cache copying its entries on writes copies them once per commit
+      delegate.putObjects(entriesToAddOnCommit, timeToLiveOnCommit);
+    }
+    if (index != null) {
+      for (Object key : entriesToAddOnCommit.keySet()) {
+        if (!index.register(key, dependenciesOf(key))) {
+          // entries evicted by the cache itself are still indexed, start over
+          delegate.clear();
+          index.clear();
+          break;
+        }
+      }
     }
     for (Object entry : entriesMissedInCache) {
       if (!entriesToAddOnCommit.containsKey(entry)) {
@@ -128,6 +230,11 @@ public class TransactionalCache implements Cache {
     }
   }
 
+  private TableDependencies dependenciesOf(Object key) {
+    TableDependencies dependencies = dependenciesToAddOnCommit.get(key);
+    return dependencies == null ? TableDependencies.UNDECLARED : dependencies;
+  }
+
   private void unlockMissedEntries() {
     for (Object entry : entriesMissedInCache) {
       try {
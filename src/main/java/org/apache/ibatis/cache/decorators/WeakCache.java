@@ -63,6 +63,12 @@ public class WeakCache implements Cache {
     delegate.putObject(key, new WeakEntry(key, value, queueOfGarbageCollectedEntries));
   }
 
+  @Override
+  public void putObject(Object key, Object value, long timeToLive) {
+    removeGarbageCollectedItems();
+    delegate.putObject(key, new WeakEntry(key, value, queueOfGarbageCollectedEntries), timeToLive);
+  }
+
   @Override
   public Object getObject(Object key) {
     Object result = null;
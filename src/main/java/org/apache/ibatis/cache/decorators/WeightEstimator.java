@@ -0,0 +1,112 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+
+/**
+ * Estimates the retained size of cached values from their shape rather than by walking the object graph.
+ *
+ * @since 3.5.0
+ */
+final class WeightEstimator {
+
+  private static final long OBJECT_HEADER = 16;
+  private static final long REFERENCE = 8;
+  private static final long BOXED_VALUE = 24;
+  private static final long STRING_PROPERTY = 56;
+  private static final long NESTED_PROPERTY = 64;
+  private static final long MAP_ENTRY = 32;
+
+  private static final ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+  private static final Map<Class<?>, Long> shallowSizes = new ConcurrentHashMap<>();
+
+  private WeightEstimator() {
+    // Prevent Instantiation of Static Class
+  }
+
+  static long estimate(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof RefreshAheadCache.Entry) {
+      // a read-only cache that refreshes or expires holds its values in entries
+      return OBJECT_HEADER + 2 * REFERENCE + estimate(((RefreshAheadCache.Entry) value).getValue());
+    }
+    if (value instanceof byte[]) {
+      // already serialized by a read/write cache
+      return OBJECT_HEADER + ((byte[]) value).length;
+    }
+    if (value instanceof Collection) {
+      Collection<?> collection = (Collection<?>) value;
+      long size = OBJECT_HEADER + REFERENCE * collection.size();
+      if (!collection.isEmpty()) {
+        size += collection.size() * estimateElement(collection.iterator().next());
+      }
+      return size;
+    }
+    return estimateElement(value);
+  }
+
+  private static long estimateElement(Object element) {
+    if (element == null) {
+      return 0;
+    }
+    if (element instanceof CharSequence) {
+      return OBJECT_HEADER + 24 + 2L * ((CharSequence) element).length();
+    }
+    if (element instanceof Map) {
+      return OBJECT_HEADER + ((Map<?, ?>) element).size() * (MAP_ENTRY + BOXED_VALUE);
+    }
+    return shallowSizes.computeIfAbsent(element.getClass(), WeightEstimator::shallowSize);
+  }
+
+  private static long shallowSize(Class<?> type) {
+    if (isValue(type) || type.isArray()) {
+      return BOXED_VALUE;
+    }
+    Reflector reflector = reflectorFactory.findForClass(type);
+    long size = OBJECT_HEADER;
+    for (String name : reflector.getGetablePropertyNames()) {
+      size += propertySize(reflector.getGetterType(name));
+    }
+    return size;
+  }
+
+  private static long propertySize(Class<?> type) {
+    if (type.isPrimitive()) {
+      return REFERENCE;
+    } else if (CharSequence.class.isAssignableFrom(type)) {
+      return STRING_PROPERTY;
+    } else if (isValue(type)) {
+      return REFERENCE + BOXED_VALUE;
+    }
+    return REFERENCE + NESTED_PROPERTY;
+  }
+
+  private static boolean isValue(Class<?> type) {
+    return Number.class.isAssignableFrom(type) || type == Boolean.class || type == Character.class
+        || Date.class.isAssignableFrom(type) || type.isEnum() || type.getName().startsWith("java.time.");
+  }
+
+}
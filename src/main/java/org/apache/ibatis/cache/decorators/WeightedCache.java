@@ -0,0 +1,137 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.apache.ibatis.cache.Cache;
+
+/**
+ * Weighted cache decorator.
+ * <p>
+ * Keeps the estimated size of the cached entries under a byte budget, evicting the least recently used entries first.
+ * The size of a result list is estimated from its length and the properties of its first element, which is far from
+ * exact but cheap enough to be done on every put. An entry larger than the whole budget is not cached.
+ *
+ * @since 3.5.0
+ */
+public class WeightedCache implements Cache {
+
+  private final Cache delegate;
+  private final Map<Object, Long> weights;
+  private long maxBytes;
+  private long totalBytes;
+
+  public WeightedCache(Cache delegate) {
+    this.delegate = delegate;
+    this.weights = new LinkedHashMap<>(16, .75F, true);
+    this.maxBytes = 16 * 1024 * 1024;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  public void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    putObject(key, value, 0);
+  }
+
+  @Override
+  public void putObject(Object key, Object value, long timeToLive) {
+    long weight = WeightEstimator.estimate(value);
+    if (weight > maxBytes) {
+      removeObject(key);
+      return;
+    }
+    if (timeToLive > 0) {
+      delegate.putObject(key, value, timeToLive);
+    } else {
+      delegate.putObject(key, value);
+    }
+    Long previous = weights.put(key, weight);
+    totalBytes += previous == null ? weight : weight - previous;
+    evictOverBudget();
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Object value = delegate.getObject(key);
+    if (value == null) {
+      // expired or evicted by the delegate, stop counting it
+      Long weight = weights.remove(key);
+      if (weight != null) {
+        totalBytes -= weight;
+      }
+    } else {
+      weights.get(key); // touch
+    }
+    return value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    Long weight = weights.remove(key);
+    if (weight != null) {
+      totalBytes -= weight;
+    }
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    weights.clear();
+    totalBytes = 0;
+    delegate.clear();
+  }
+
+  @Override
+  public ReadWriteLock getReadWriteLock() {
+    return null;
+  }
+
+  private void evictOverBudget() {
+    Iterator<Map.Entry<Object, Long>> iterator = weights.entrySet().iterator();
+    while (totalBytes > maxBytes && iterator.hasNext()) {
+      Map.Entry<Object, Long> eldest = iterator.next();
+      iterator.remove();
+      totalBytes -= eldest.getValue();
+      delegate.removeObject(eldest.getKey());
+    }
+  }
+
+}
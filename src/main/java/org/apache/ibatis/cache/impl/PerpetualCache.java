@@ -31,6 +31,8 @@ public class PerpetualCache implements Cache {
 
   private Map<Object, Object> cache = new HashMap<>();
 
+  private Map<Object, Long> expirations = new HashMap<>();
+
   public PerpetualCache(String id) {
     this.id = id;
   }
@@ -48,21 +50,44 @@ public class PerpetualCache implements Cache {
   @Override
   public void putObject(Object key, Object value) {
     cache.put(key, value);
+    if (!expirations.isEmpty()) {
+      expirations.remove(key);
+    }
+  }
+
+  @Override
+  public void putObject(Object key, Object value, long timeToLive) {
+    if (timeToLive <= 0) {
+      putObject(key, value);
+    } else {
+      cache.put(key, value);
+      expirations.put(key, System.currentTimeMillis() + timeToLive);
+    }
   }
 
   @Override
   public Object getObject(Object key) {
+    if (!expirations.isEmpty()) {
+      Long expiresAt = expirations.get(key);
+      if (expiresAt != null && System.currentTimeMillis() >= expiresAt) {
+        expirations.remove(key);
+        cache.remove(key);
+        return null;
+      }
+    }
     return cache.get(key);
   }
 
   @Override
   public Object removeObject(Object key) {
+    expirations.remove(key);
     return cache.remove(key);
   }
 
   @Override
   public void clear() {
     cache.clear();
+    expirations.clear();
   }
 
   @Override
@@ -0,0 +1,193 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.impl;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+
+/**
+ * Copy-on-write cache for read-mostly reference data.
+ * <p>
+ * Readers look up an immutable snapshot without locking. Writers copy the snapshot, change the copy and publish it,
+ * and {@link #clear()} publishes an empty one. Every put copies the whole map, so this cache suits small namespaces
+ * that are read far more often than they are written, and is bounded by {@link #setSize(int)}: once full, each new
+ * entry evicts the oldest one. {@link #putObjects(Map, Map)} copies the map once for all its entries. Entries put with
+ * a time to live are dropped from the snapshot by the first write after they expire, and are not returned once
+ * expired.
+ * <p>
+ * The objects are shared by all readers, so it is meant for read-only caches.
+ *
+ * @since 3.5.0
+ */
+public class SnapshotCache implements Cache {
+
+  private final String id;
+
+  private volatile Map<Object, Object> snapshot = Collections.emptyMap();
+
+  private int size = 1024;
+
+  public SnapshotCache(String id) {
+    this.id = id;
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public int getSize() {
+    return snapshot.size();
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    put(key, value);
+  }
+
+  @Override
+  public void putObject(Object key, Object value, long timeToLive) {
+    put(key, timeToLive > 0 ? new ExpiringValue(value, System.currentTimeMillis() + timeToLive) : value);
+  }
+
+  @Override
+  public synchronized void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+    Map<Object, Object> copy = copySnapshot();
+    long now = System.currentTimeMillis();
+    for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+      Long timeToLive = timesToLive.get(entry.getKey());
+      Object value = entry.getValue();
+      if (timeToLive != null && timeToLive > 0) {
+        value = new ExpiringValue(value, now + timeToLive);
+      }
+      put(copy, entry.getKey(), value);
+    }
+    snapshot = Collections.unmodifiableMap(copy);
+  }
+
+  private synchronized void put(Object key, Object value) {
+    Map<Object, Object> copy = copySnapshot();
+    put(copy, key, value);
+    snapshot = Collections.unmodifiableMap(copy);
+  }
+
+  private Map<Object, Object> copySnapshot() {
+    // insertion ordered, so that the oldest entry is evicted first
+    Map<Object, Object> copy = new LinkedHashMap<>(snapshot);
+    removeExpired(copy);
+    return copy;
+  }
+
+  private void put(Map<Object, Object> copy, Object key, Object value) {
+    if (!copy.containsKey(key)) {
+      Iterator<Object> keys = copy.keySet().iterator();
+      while (copy.size() >= size && keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    }
+    copy.put(key, value);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Object value = snapshot.get(key);
+    if (value instanceof ExpiringValue) {
+      ExpiringValue expiring = (ExpiringValue) value;
+      return System.currentTimeMillis() >= expiring.expiresAt ? null : expiring.value;
+    }
+    return value;
+  }
+
+  @Override
+  public synchronized Object removeObject(Object key) {
+    Map<Object, Object> current = snapshot;
+    if (!current.containsKey(key)) {
+      return null;
+    }
+    Map<Object, Object> copy = new LinkedHashMap<>(current);
+    Object value = copy.remove(key);
+    snapshot = Collections.unmodifiableMap(copy);
+    return value instanceof ExpiringValue ? ((ExpiringValue) value).value : value;
+  }
+
+  @Override
+  public synchronized void clear() {
+    snapshot = Collections.emptyMap();
+  }
+
+  @Override
+  public ReadWriteLock getReadWriteLock() {
+    return null;
+  }
+
+  private static void removeExpired(Map<Object, Object> entries) {
+    long now = System.currentTimeMillis();
+    Iterator<Object> values = entries.values().iterator();
+    while (values.hasNext()) {
+      Object value = values.next();
+      if (value instanceof ExpiringValue && now >= ((ExpiringValue) value).expiresAt) {
+        values.remove();
+      }
+    }
+  }
+
+  private static final class ExpiringValue {
+    private final Object value;
+    private final long expiresAt;
+
+    ExpiringValue(Object value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Cache)) {
+      return false;
+    }
+
+    Cache otherCache = (Cache) o;
+    return getId().equals(otherCache.getId());
+  }
+
+  @Override
+  public int hashCode() {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    return getId().hashCode();
+  }
+
+}
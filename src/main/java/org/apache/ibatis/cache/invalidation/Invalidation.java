@@ -0,0 +1,66 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An invalidation of a 2nd level cache: either some keys or the whole cache.
+ *
+ * @since 3.5.0
+ */
+public final class Invalidation {
+
+  private final String cacheId;
+  private final List<Object> keys;
+
+  private Invalidation(String cacheId, List<Object> keys) {
+    this.cacheId = cacheId;
+    this.keys = keys;
+  }
+
+  public static Invalidation clear(String cacheId) {
+    return new Invalidation(cacheId, null);
+  }
+
+  public static Invalidation remove(String cacheId, Collection<Object> keys) {
+    return new Invalidation(cacheId, Collections.unmodifiableList(new ArrayList<>(keys)));
+  }
+
+  public String getCacheId() {
+    return cacheId;
+  }
+
+  public boolean isClear() {
+    return keys == null;
+  }
+
+  /**
+   * @return the invalidated keys, <code>null</code> when the whole cache is cleared
+   */
+  public List<Object> getKeys() {
+    return keys;
+  }
+
+  @Override
+  public String toString() {
+    return isClear() ? "clear " + cacheId : "remove " + keys.size() + " keys from " + cacheId;
+  }
+
+}
@@ -0,0 +1,37 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Shares cache invalidations between the nodes of a cluster.
+ * <p>
+ * A transport delivers the invalidations published by the other nodes to its listeners, never its own ones.
+ * Delivery is best effort: a transport that cannot send the keys of an invalidation should send a clear of the cache
+ * instead, and a lost message leaves the other nodes stale until their next flush.
+ *
+ * @since 3.5.0
+ */
+public interface InvalidationTransport {
+
+  void publish(Invalidation invalidation);
+
+  void subscribe(Consumer<Invalidation> listener);
+
+  void close();
+
+}
@@ -0,0 +1,78 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process transport, delivering invalidations synchronously to the other transports of the same channel.
+ * Mostly useful to test several configurations in a single JVM.
+ *
+ * @since 3.5.0
+ */
+public class LoopbackTransport implements InvalidationTransport {
+
+  private static final Map<String, List<LoopbackTransport>> channels = new ConcurrentHashMap<>();
+
+  private final String channel;
+  private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+
+  public LoopbackTransport() {
+    this("default");
+  }
+
+  public LoopbackTransport(String channel) {
+    this.channel = channel;
+    channels.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(this);
+  }
+
+  @Override
+  public void publish(Invalidation invalidation) {
+    List<LoopbackTransport> transports = channels.get(channel);
+    if (transports == null) {
+      return;
+    }
+    for (LoopbackTransport transport : transports) {
+      if (transport != this) {
+        transport.deliver(invalidation);
+      }
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<Invalidation> listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public void close() {
+    List<LoopbackTransport> transports = channels.get(channel);
+    if (transports != null) {
+      transports.remove(this);
+    }
+  }
+
+  private void deliver(Invalidation invalidation) {
+    for (Consumer<Invalidation> listener : listeners) {
+      listener.accept(invalidation);
+    }
+  }
+
+}
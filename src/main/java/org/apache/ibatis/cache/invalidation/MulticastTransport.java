@@ -0,0 +1,249 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * UDP multicast transport.
+ * <p>
+ * Each invalidation is sent as a single datagram. Keys are serialized, and only keys made of strings, numbers, dates,
+ * enums and arrays of these are read back, since datagrams come from the network: an invalidation whose keys cannot
+ * be sent or read is applied as a clear of the cache. Keys read back have their hash codes computed again, since
+ * those of enums differ between JVMs. Nodes are not authenticated, so the group should only be reachable by the
+ * nodes of the cluster.
+ * <p>
+ * Once {@link #close()} is called, the transport leaves the group and no longer publishes nor receives
+ * invalidations.
+ *
+ * @since 3.5.0
+ */
+public class MulticastTransport implements InvalidationTransport {
+
+  private static final Log log = LogFactory.getLog(MulticastTransport.class);
+
+  public static final String DEFAULT_GROUP = "239.255.27.1";
+  public static final int DEFAULT_PORT = 45566;
+
+  private static final int MAGIC = 0x4d424349;
+  private static final int MAX_DATAGRAM_SIZE = 65507;
+
+  private static final Set<Class<?>> ALLOWED_KEY_CLASSES = new HashSet<>(Arrays.<Class<?>>asList(
+      CacheKey.class, ArrayList.class, String.class, Boolean.class, Character.class, Number.class,
+      Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigDecimal.class, BigInteger.class,
+      Enum.class, java.util.Date.class, java.sql.Date.class, java.sql.Time.class, java.sql.Timestamp.class));
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+  private String group = DEFAULT_GROUP;
+  private int port = DEFAULT_PORT;
+  private int timeToLive = 1;
+  private MulticastSocket socket;
+  private InetAddress address;
+  private boolean closed;
+
+  public MulticastTransport() {
+  }
+
+  public MulticastTransport(String group, int port) {
+    this.group = group;
+    this.port = port;
+  }
+
+  public void setGroup(String group) {
+    this.group = group;
+  }
+
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  public void setTimeToLive(int timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  @Override
+  public void publish(Invalidation invalidation) {
+    try {
+      byte[] data = encode(nodeId, invalidation);
+      if (data.length > MAX_DATAGRAM_SIZE) {
+        data = encode(nodeId, Invalidation.clear(invalidation.getCacheId()));
+      }
+      MulticastSocket socket = start();
+      if (socket != null) {
+        socket.send(new DatagramPacket(data, data.length, address, port));
+      }
+    } catch (IOException e) {
+      log.warn("Could not publish the invalidation (" + invalidation + ").  Cause: " + e);
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<Invalidation> listener) {
+    listeners.add(listener);
+    try {
+      start();
+    } catch (IOException e) {
+      throw new CacheException("Could not join the multicast group " + group + ":" + port + ".  Cause: " + e, e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    if (socket != null) {
+      socket.close();
+      socket = null;
+    }
+  }
+
+  /**
+   * @return the socket, <code>null</code> once closed
+   */
+  private synchronized MulticastSocket start() throws IOException {
+    if (socket == null && !closed) {
+      address = InetAddress.getByName(group);
+      MulticastSocket multicastSocket = new MulticastSocket(port);
+      multicastSocket.setTimeToLive(timeToLive);
+      multicastSocket.joinGroup(address);
+      Thread receiver = new Thread(() -> receive(multicastSocket), "mybatis-cache-invalidation");
+      receiver.setDaemon(true);
+      receiver.start();
+      socket = multicastSocket;
+    }
+    return socket;
+  }
+
+  private void receive(MulticastSocket socket) {
+    byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+    while (!socket.isClosed()) {
+      DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+      try {
+        socket.receive(packet);
+        Invalidation invalidation = decode(nodeId, packet.getData(), packet.getLength());
+        if (invalidation != null) {
+          for (Consumer<Invalidation> listener : listeners) {
+            listener.accept(invalidation);
+          }
+        }
+      } catch (IOException e) {
+        if (!socket.isClosed()) {
+          log.warn("Could not receive an invalidation.  Cause: " + e);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Could not apply an invalidation.  Cause: " + e);
+      }
+    }
+  }
+
+  static byte[] encode(String nodeId, Invalidation invalidation) throws IOException {
+    byte[] keys = null;
+    if (!invalidation.isClear()) {
+      try {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+          out.writeObject(new ArrayList<>(invalidation.getKeys()));
+        }
+        keys = bytes.toByteArray();
+      } catch (IOException e) {
+        // keys that are not serializable, clear instead
+      }
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeUTF(nodeId);
+      out.writeUTF(invalidation.getCacheId());
+      out.writeBoolean(keys != null);
+      if (keys != null) {
+        out.write(keys);
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @return the invalidation, <code>null</code> for foreign datagrams and the ones of this node
+   */
+  @SuppressWarnings("unchecked")
+  static Invalidation decode(String nodeId, byte[] data, int length) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, length));
+    if (length < 4 || in.readInt() != MAGIC || nodeId.equals(in.readUTF())) {
+      return null;
+    }
+    String cacheId = in.readUTF();
+    if (!in.readBoolean()) {
+      return Invalidation.clear(cacheId);
+    }
+    try (ObjectInputStream keys = new KeyInputStream(in)) {
+      return Invalidation.remove(cacheId, (List<Object>) keys.readObject());
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      return Invalidation.clear(cacheId);
+    }
+  }
+
+  private static class KeyInputStream extends ObjectInputStream {
+
+    KeyInputStream(InputStream in) throws IOException {
+      super(in);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+      Class<?> type = super.resolveClass(desc);
+      if (!isAllowed(type)) {
+        throw new InvalidClassException(desc.getName(), "not allowed in a cache key");
+      }
+      return type;
+    }
+
+    private static boolean isAllowed(Class<?> type) {
+      if (type.isArray()) {
+        return isAllowed(type.getComponentType());
+      }
+      return type.isPrimitive() || type.isEnum() || ALLOWED_KEY_CLASSES.contains(type);
+    }
+
+  }
+
+}
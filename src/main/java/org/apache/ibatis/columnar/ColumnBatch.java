@@ -0,0 +1,100 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.columnar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A chunk of rows held as one {@link ColumnVector} per column, all of the same size.
+ *
+ * @since 3.5.0
+ */
+public class ColumnBatch {
+
+  private final List<ColumnVector> columns;
+
+  public ColumnBatch(List<? extends ColumnVector> columns) {
+    this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+  }
+
+  public List<ColumnVector> getColumns() {
+    return columns;
+  }
+
+  public List<String> getColumnNames() {
+    List<String> names = new ArrayList<>(columns.size());
+    for (ColumnVector column : columns) {
+      names.add(column.getName());
+    }
+    return names;
+  }
+
+  public ColumnVector getColumn(int index) {
+    return columns.get(index);
+  }
+
+  /**
+   * Finds a column by name, ignoring case if no column has this exact name.
+   *
+   * @return the column or {@code null}
+   */
+  public ColumnVector getColumn(String name) {
+    ColumnVector found = null;
+    for (ColumnVector column : columns) {
+      if (column.getName().equals(name)) {
+        return column;
+      } else if (found == null && column.getName().equalsIgnoreCase(name)) {
+        found = column;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Same as {@link #getColumn(String)}, cast to the expected vector type.
+   */
+  public <V extends ColumnVector> V getColumn(String name, Class<V> vectorType) {
+    ColumnVector column = getColumn(name);
+    if (column == null) {
+      throw new IllegalArgumentException("There is no column named '" + name + "' in " + getColumnNames());
+    }
+    if (!vectorType.isInstance(column)) {
+      throw new IllegalArgumentException("Column '" + name + "' is a " + column.getClass().getSimpleName()
+          + ", not a " + vectorType.getSimpleName());
+    }
+    return vectorType.cast(column);
+  }
+
+  public int getRowCount() {
+    return columns.isEmpty() ? 0 : columns.get(0).size();
+  }
+
+  /**
+   * Copies a row into a map from column name to boxed value, {@code null} for SQL {@code NULL}.
+   */
+  public Map<String, Object> getRow(int row) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    for (ColumnVector column : columns) {
+      values.put(column.getName(), column.get(row));
+    }
+    return values;
+  }
+
+}
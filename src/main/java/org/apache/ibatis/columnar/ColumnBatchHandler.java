@@ -0,0 +1,31 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.columnar;
+
+/**
+ * Receives the rows of a select chunk by chunk.
+ *
+ * @since 3.5.0
+ */
+@FunctionalInterface
+public interface ColumnBatchHandler {
+
+  /**
+   * Called for each chunk of rows, and once for a result set with no rows. The batch is not reused afterwards.
+   */
+  void handleBatch(ColumnBatch batch);
+
+}
@@ -0,0 +1,92 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.columnar;
+
+import java.util.BitSet;
+
+/**
+ * The values of one column, held in a single array instead of one object per row.
+ *
+ * @since 3.5.0
+ */
+public abstract class ColumnVector {
+
+  static final int DEFAULT_CAPACITY = 16;
+
+  private final String name;
+  private final BitSet nulls = new BitSet();
+  protected int size;
+
+  protected ColumnVector(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the number of rows, null ones included
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isNull(int row) {
+    checkIndex(row);
+    return nulls.get(row);
+  }
+
+  /**
+   * Appends a SQL {@code NULL}.
+   */
+  public void addNull() {
+    nulls.set(size);
+    addDefault();
+  }
+
+  /**
+   * @return the value of the row, boxed, or {@code null}
+   */
+  public abstract Object get(int row);
+
+  /**
+   * @return the type of the values returned by {@link #get(int)}
+   */
+  public abstract Class<?> getJavaType();
+
+  /**
+   * Appends the default value of the vector, for a null row.
+   */
+  protected abstract void addDefault();
+
+  protected void checkIndex(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " is out of the " + size + " rows of column " + name);
+    }
+  }
+
+  static int grow(int length, int minCapacity) {
+    int capacity = Math.max(length + (length >> 1), DEFAULT_CAPACITY);
+    return capacity < minCapacity ? minCapacity : capacity;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + name + ", " + size + " rows]";
+  }
+
+}
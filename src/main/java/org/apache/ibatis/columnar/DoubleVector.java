@@ -0,0 +1,75 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.columnar;
+
+import java.util.Arrays;
+
+/**
+ * A column of {@code double} values.
+ *
+ * @since 3.5.0
+ */
+public class DoubleVector extends ColumnVector {
+
+  private double[] values;
+
+  public DoubleVector(String name) {
+    this(name, DEFAULT_CAPACITY);
+  }
+
+  public DoubleVector(String name, int capacity) {
+    super(name);
+    this.values = new double[capacity];
+  }
+
+  public void add(double value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, grow(values.length, size + 1));
+    }
+    values[size++] = value;
+  }
+
+  /**
+   * @return the value of the row, {@code 0} for a null one
+   */
+  public double getDouble(int row) {
+    checkIndex(row);
+    return values[row];
+  }
+
+  /**
+   * @return a copy of the values, null rows hold {@code 0}
+   */
+  public double[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  @Override
+  public Double get(int row) {
+    return isNull(row) ? null : values[row];
+  }
+
+  @Override
+  public Class<?> getJavaType() {
+    return Double.class;
+  }
+
+  @Override
+  protected void addDefault() {
+    add(0);
+  }
+
+}
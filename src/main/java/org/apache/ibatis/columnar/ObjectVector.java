@@ -0,0 +1,74 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.columnar;
+
+import java.util.Arrays;
+
+/**
+ * A column of values that have no more compact representation, such as dates or decimals.
+ *
+ * @since 3.5.0
+ */
+public class ObjectVector extends ColumnVector {
+
+  private final Class<?> javaType;
+  private Object[] values;
+
+  public ObjectVector(String name) {
+    this(name, Object.class, DEFAULT_CAPACITY);
+  }
+
+  public ObjectVector(String name, Class<?> javaType, int capacity) {
+    super(name);
+    this.javaType = javaType;
+    this.values = new Object[capacity];
+  }
+
+  /**
+   * Appends a value, {@code null} being appended as a null row.
+   */
+  public void add(Object value) {
+    if (value == null) {
+      addNull();
+    } else {
+      append(value);
+    }
+  }
+
+  @Override
+  public Object get(int row) {
+    checkIndex(row);
+    return values[row];
+  }
+
+  @Override
+  public Class<?> getJavaType() {
+    return javaType;
+  }
+
+  @Override
+  protected void addDefault() {
+    append(null);
+  }
+
+  private void append(Object value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, grow(values.length, size + 1));
+    }
+    values[size++] = value;
+  }
+
+}
@@ -0,0 +1,111 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dictionary encoded column of strings: each distinct value is held once and rows refer to it by its code.
+ *
+ * @since 3.5.0
+ */
+public class StringVector extends ColumnVector {
+
+  private int[] codes;
+  private final List<String> dictionary = new ArrayList<>();
+  private final Map<String, Integer> codesByValue = new HashMap<>();
+
+  public StringVector(String name) {
+    this(name, DEFAULT_CAPACITY);
+  }
+
+  public StringVector(String name, int capacity) {
+    super(name);
+    this.codes = new int[capacity];
+  }
+
+  /**
+   * Appends a value, {@code null} being appended as a null row.
+   */
+  public void add(String value) {
+    if (value == null) {
+      addNull();
+      return;
+    }
+    Integer code = codesByValue.get(value);
+    if (code == null) {
+      code = dictionary.size();
+      dictionary.add(value);
+      codesByValue.put(value, code);
+    }
+    addCode(code);
+  }
+
+  /**
+   * @return the index of the value of the row in the {@link #getDictionary() dictionary}, {@code -1} for a null row
+   */
+  public int getCode(int row) {
+    checkIndex(row);
+    return codes[row];
+  }
+
+  public String getString(int row) {
+    int code = getCode(row);
+    return code < 0 ? null : dictionary.get(code);
+  }
+
+  /**
+   * @return the distinct values of the column, in order of first appearance
+   */
+  public List<String> getDictionary() {
+    return Collections.unmodifiableList(dictionary);
+  }
+
+  /**
+   * @return a copy of the codes of the rows
+   */
+  public int[] toCodeArray() {
+    return Arrays.copyOf(codes, size);
+  }
+
+  @Override
+  public String get(int row) {
+    return getString(row);
+  }
+
+  @Override
+  public Class<?> getJavaType() {
+    return String.class;
+  }
+
+  @Override
+  protected void addDefault() {
+    addCode(-1);
+  }
+
+  private void addCode(int code) {
+    if (size == codes.length) {
+      codes = Arrays.copyOf(codes, grow(codes.length, size + 1));
+    }
+    codes[size++] = code;
+  }
+
+}
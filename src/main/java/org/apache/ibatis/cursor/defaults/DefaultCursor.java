@@ -16,6 +16,7 @@
 package org.apache.ibatis.cursor.defaults;
 
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetWrapper;
 import org.apache.ibatis.mapping.ResultMap;
@@ -27,15 +28,30 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is the default implementation of a MyBatis Cursor.
  * This implementation is not thread safe.
+ * <p>
+ * When created with a prefetch size, rows are fetched and mapped by a background thread into a bounded
+ * buffer ahead of the consumer. The result set is then used by that thread until the cursor is closed.
+ * JDBC connections are not thread safe, so the session that opened a prefetching cursor must not run other
+ * statements until the cursor is closed or fully read. Result maps with nested selects or discriminators,
+ * at any nesting level, are not prefetched because mapping them runs statements on the session.
+ * </p>
  *
  * @author Guillaume Darmont / guillaume@dropinocean.com
  */
 public class DefaultCursor<T> implements Cursor<T> {
 
+  private static final Object PREFETCH_END = new Object();
+
   // ResultSetHandler stuff
   private final DefaultResultSetHandler resultSetHandler;
   private final ResultMap resultMap;
@@ -46,6 +62,9 @@ public class DefaultCursor<T> implements Cursor<T> {
   private final CursorIterator cursorIterator = new CursorIterator();
   private boolean iteratorRetrieved;
 
+  private final int prefetchSize;
+  private Prefetcher prefetcher;
+
   private CursorStatus status = CursorStatus.CREATED;
   private int indexWithRowBound = -1;
 
@@ -70,10 +89,19 @@ public class DefaultCursor<T> implements Cursor<T> {
   }
 
   public DefaultCursor(DefaultResultSetHandler resultSetHandler, ResultMap resultMap, ResultSetWrapper rsw, RowBounds rowBounds) {
+    this(resultSetHandler, resultMap, rsw, rowBounds, 0);
+  }
+
+  /**
+   * @param prefetchSize the number of mapped rows buffered by a background thread, 0 to fetch rows on demand
+   * @since 3.5.0
+   */
+  public DefaultCursor(DefaultResultSetHandler resultSetHandler, ResultMap resultMap, ResultSetWrapper rsw, RowBounds rowBounds, int prefetchSize) {
     this.resultSetHandler = resultSetHandler;
     this.resultMap = resultMap;
     this.rsw = rsw;
     this.rowBounds = rowBounds;
+    this.prefetchSize = prefetchSize;
   }
 
   @Override
@@ -109,6 +137,20 @@ public class DefaultCursor<T> implements Cursor<T> {
       return;
     }
 
+    if (prefetcher != null) {
+      // the prefetch thread closes the result set once stopped
+      prefetcher.stop();
+      status = CursorStatus.CLOSED;
+      return;
+    }
+    try {
+      closeResultSet();
+    } finally {
+      status = CursorStatus.CLOSED;
+    }
+  }
+
+  private void closeResultSet() {
     ResultSet rs = rsw.getResultSet();
     try {
       if (rs != null) {
@@ -117,11 +159,14 @@ public class DefaultCursor<T> implements Cursor<T> {
     } catch (SQLException e) {
       // ignore
     } finally {
-      status = CursorStatus.CLOSED;
+      resultSetHandler.recordFetchedRows();
     }
   }
 
   protected T fetchNextUsingRowBound() {
+    if (prefetchSize > 0) {
+      return fetchNextPrefetched();
+    }
     T result = fetchNextObjectFromDatabase();
     while (result != null && indexWithRowBound < rowBounds.getOffset()) {
       result = fetchNextObjectFromDatabase();
@@ -134,27 +179,59 @@ public class DefaultCursor<T> implements Cursor<T> {
       return null;
     }
 
+    T next;
     try {
       status = CursorStatus.OPEN;
-      if (!rsw.getResultSet().isClosed()) {
-        resultSetHandler.handleRowValues(rsw, resultMap, objectWrapperResultHandler, RowBounds.DEFAULT, null);
-      }
+      next = readNextObject();
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
 
+    // No more object or limit reached
+    if (next == null || isLimitReached()) {
+      close();
+      status = CursorStatus.CONSUMED;
+    }
+
+    return next;
+  }
+
+  private T readNextObject() throws SQLException {
+    if (!rsw.getResultSet().isClosed()) {
+      resultSetHandler.handleRowValues(rsw, resultMap, objectWrapperResultHandler, RowBounds.DEFAULT, null);
+    }
     T next = objectWrapperResultHandler.result;
     if (next != null) {
       indexWithRowBound++;
     }
-    // No more object or limit reached
-    if (next == null || getReadItemsCount() == rowBounds.getOffset() + rowBounds.getLimit()) {
+    objectWrapperResultHandler.result = null;
+    return next;
+  }
+
+  private boolean isLimitReached() {
+    return getReadItemsCount() == rowBounds.getOffset() + rowBounds.getLimit();
+  }
+
+  @SuppressWarnings("unchecked")
+  private T fetchNextPrefetched() {
+    if (isClosed()) {
+      return null;
+    }
+    if (prefetcher == null) {
+      status = CursorStatus.OPEN;
+      prefetcher = new Prefetcher(prefetchSize);
+      PrefetchExecutorHolder.EXECUTOR.execute(prefetcher);
+    }
+    Object next = prefetcher.take();
+    if (next instanceof PrefetchFailure) {
       close();
+      throw ((PrefetchFailure) next).exception;
+    }
+    if (next == PREFETCH_END) {
       status = CursorStatus.CONSUMED;
+      return null;
     }
-    objectWrapperResultHandler.result = null;
-
-    return next;
+    return (T) next;
   }
 
   private boolean isClosed() {
@@ -165,6 +242,89 @@ public class DefaultCursor<T> implements Cursor<T> {
     return indexWithRowBound + 1;
   }
 
+  private static final class PrefetchExecutorHolder {
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "mybatis-cursor-prefetch");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private static final class PrefetchFailure {
+    private final RuntimeException exception;
+
+    PrefetchFailure(RuntimeException exception) {
+      this.exception = exception;
+    }
+  }
+
+  /**
+   * Fetches and maps the rows in the background, then closes the result set.
+   */
+  private class Prefetcher implements Runnable {
+
+    private final BlockingQueue<Object> buffer;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile boolean cancelled;
+
+    Prefetcher(int size) {
+      this.buffer = new ArrayBlockingQueue<>(size);
+    }
+
+    @Override
+    public void run() {
+      try {
+        T next;
+        do {
+          next = readNextObject();
+          if (next != null && indexWithRowBound >= rowBounds.getOffset()) {
+            put(next);
+          }
+        } while (next != null && !isLimitReached() && !cancelled);
+      } catch (SQLException e) {
+        put(new PrefetchFailure(new RuntimeException(e)));
+      } catch (RuntimeException e) {
+        put(new PrefetchFailure(e));
+      } finally {
+        closeResultSet();
+        put(PREFETCH_END);
+        ErrorContext.instance().reset();
+        stopped.countDown();
+      }
+    }
+
+    private void put(Object object) {
+      try {
+        while (!cancelled && !buffer.offer(object, 100, TimeUnit.MILLISECONDS)) {
+          // wait for the consumer
+        }
+      } catch (InterruptedException e) {
+        cancelled = true;
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    Object take() {
+      try {
+        return buffer.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new PrefetchFailure(new RuntimeException("Interrupted while waiting for the next row of the cursor.", e));
+      }
+    }
+
+    void stop() {
+      cancelled = true;
+      buffer.clear();
+      try {
+        stopped.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      buffer.clear();
+    }
+  }
+
   private static class ObjectWrapperResultHandler<T> implements ResultHandler<T> {
 
     private T result;
@@ -29,12 +29,15 @@ import org.apache.ibatis.reflection.ExceptionUtil;
 class PooledConnection implements InvocationHandler {
 
   private static final String CLOSE = "close";
+  private static final String PREPARE_STATEMENT = "prepareStatement";
+  private static final String PREPARE_CALL = "prepareCall";
   private static final Class<?>[] IFACES = new Class<?>[] { Connection.class };
 
   private final int hashCode;
   private final PooledDataSource dataSource;
   private final Connection realConnection;
   private final Connection proxyConnection;
+  private final StatementCache statementCache;
   private long checkoutTimestamp;
   private long createdTimestamp;
   private long lastUsedTimestamp;
@@ -48,6 +51,18 @@ class PooledConnection implements InvocationHandler {
    * @param dataSource - the dataSource that the connection is from
    */
   public PooledConnection(Connection connection, PooledDataSource dataSource) {
+    this(connection, dataSource, dataSource.getPoolStatementCacheSize() > 0 ? new StatementCache(dataSource.getPoolStatementCacheSize()) : null);
+  }
+
+  /**
+   * Constructor for a pooled connection taking over the statement cache of the real connection
+   *
+   * @param connection - the connection that is to be presented as a pooled connection
+   * @param dataSource - the dataSource that the connection is from
+   * @param statementCache - the statements prepared on the connection, or null if they are not cached
+   */
+  PooledConnection(Connection connection, PooledDataSource dataSource, StatementCache statementCache) {
+    this.statementCache = statementCache;
     this.hashCode = connection.hashCode();
     this.realConnection = connection;
     this.dataSource = dataSource;
@@ -91,6 +106,24 @@ class PooledConnection implements InvocationHandler {
     return proxyConnection;
   }
 
+  /**
+   * Getter for the statements cached on the real connection
+   *
+   * @return The statement cache, or null if statements are not cached
+   */
+  StatementCache getStatementCache() {
+    return statementCache;
+  }
+
+  /**
+   * Closes the statements cached on the real connection
+   */
+  void closeStatementCache() {
+    if (statementCache != null) {
+      statementCache.close();
+    }
+  }
+
   /**
    * Gets the hashcode of the real connection (or 0 if it is null)
    *
@@ -241,6 +274,9 @@ class PooledConnection implements InvocationHandler {
           // issue #579 toString() should never fail
           // throw an SQLException instead of a Runtime
           checkConnection();
+          if (statementCache != null && isPrepare(methodName)) {
+            return statementCache.prepare(realConnection, proxyConnection, method, args);
+          }
         }
         return method.invoke(realConnection, args);
       } catch (Throwable t) {
@@ -249,6 +285,10 @@ class PooledConnection implements InvocationHandler {
     }
   }
 
+  private static boolean isPrepare(String methodName) {
+    return PREPARE_STATEMENT.equals(methodName) || PREPARE_CALL.equals(methodName);
+  }
+
   private void checkConnection() throws SQLException {
     if (!valid) {
       throw new SQLException("Error accessing PooledConnection. Connection is invalid.");
@@ -0,0 +1,197 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * A statement checked out of a {@link StatementCache}. Closing it gives the real statement back to the cache.
+ *
+ * @since 3.5.0
+ */
+class PooledStatement implements InvocationHandler {
+
+  private static final String CLOSE = "close";
+  private static final String IS_CLOSED = "isClosed";
+  private static final String ADD_BATCH = "addBatch";
+  private static final String GET_CONNECTION = "getConnection";
+
+  private final StatementCache statementCache;
+  private final StatementCache.StatementKey key;
+  private final Statement realStatement;
+  private final Statement proxyStatement;
+  private final Connection proxyConnection;
+  private Map<String, Object> defaults;
+  private boolean batched;
+  private boolean broken;
+  private boolean closed;
+
+  PooledStatement(StatementCache statementCache, StatementCache.StatementKey key, Statement realStatement,
+      Connection proxyConnection, Class<?> type) {
+    this.statementCache = statementCache;
+    this.key = key;
+    this.realStatement = realStatement;
+    this.proxyConnection = proxyConnection;
+    this.proxyStatement = (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, this);
+  }
+
+  Statement getProxyStatement() {
+    return proxyStatement;
+  }
+
+  Statement getRealStatement() {
+    return realStatement;
+  }
+
+  StatementCache.StatementKey getKey() {
+    return key;
+  }
+
+  /**
+   * A statement is broken when a call on it failed; it is then closed instead of being reused.
+   */
+  boolean isBroken() {
+    return broken;
+  }
+
+  void invalidate() {
+    closed = true;
+  }
+
+  /**
+   * Clears what the caller left on the statement so that the next caller finds it as freshly prepared.
+   */
+  void reset() throws SQLException {
+    if (realStatement instanceof PreparedStatement) {
+      ((PreparedStatement) realStatement).clearParameters();
+    }
+    if (batched) {
+      realStatement.clearBatch();
+    }
+    if (defaults != null) {
+      for (Map.Entry<String, Object> entry : defaults.entrySet()) {
+        int value = (Integer) entry.getValue();
+        switch (entry.getKey()) {
+          case "setFetchSize":
+            realStatement.setFetchSize(value);
+            break;
+          case "setMaxRows":
+            realStatement.setMaxRows(value);
+            break;
+          case "setQueryTimeout":
+            realStatement.setQueryTimeout(value);
+            break;
+          case "setFetchDirection":
+            realStatement.setFetchDirection(value);
+            break;
+          case "setMaxFieldSize":
+            realStatement.setMaxFieldSize(value);
+            break;
+          default:
+            break;
+        }
+      }
+    }
+    realStatement.clearWarnings();
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    String methodName = method.getName();
+    if (Object.class.equals(method.getDeclaringClass())) {
+      if ("equals".equals(methodName)) {
+        return proxy == args[0];
+      } else if ("hashCode".equals(methodName)) {
+        return System.identityHashCode(proxy);
+      }
+      return method.invoke(realStatement, args);
+    }
+    if (CLOSE.equals(methodName)) {
+      if (!closed) {
+        closed = true;
+        statementCache.release(this);
+      }
+      return null;
+    } else if (IS_CLOSED.equals(methodName)) {
+      return closed || realStatement.isClosed();
+    }
+    if (closed) {
+      throw new SQLException("Error accessing PooledStatement. Statement is closed.");
+    }
+    if (GET_CONNECTION.equals(methodName)) {
+      // never hand out the real connection, closing it would bypass the pool
+      return proxyConnection;
+    }
+    try {
+      if (ADD_BATCH.equals(methodName)) {
+        batched = true;
+      } else {
+        rememberDefault(methodName);
+      }
+      Object result = method.invoke(realStatement, args);
+      if (result instanceof ResultSet) {
+        // its statement is the pooled statement rather than the real one
+        return new PooledResultSet((ResultSet) result, proxyStatement);
+      }
+      return result;
+    } catch (Throwable t) {
+      broken = true;
+      throw ExceptionUtil.unwrapThrowable(t);
+    }
+  }
+
+  private void rememberDefault(String methodName) throws SQLException {
+    if (defaults != null && defaults.containsKey(methodName)) {
+      return;
+    }
+    Integer value;
+    switch (methodName) {
+      case "setFetchSize":
+        value = realStatement.getFetchSize();
+        break;
+      case "setMaxRows":
+        value = realStatement.getMaxRows();
+        break;
+      case "setQueryTimeout":
+        value = realStatement.getQueryTimeout();
+        break;
+      case "setFetchDirection":
+        value = realStatement.getFetchDirection();
+        break;
+      case "setMaxFieldSize":
+        value = realStatement.getMaxFieldSize();
+        break;
+      default:
+        return;
+    }
+    if (defaults == null) {
+      defaults = new HashMap<>();
+    }
+    defaults.put(methodName, value);
+  }
+
+}
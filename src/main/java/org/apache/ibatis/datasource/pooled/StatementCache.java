@@ -0,0 +1,174 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LRU cache of the statements prepared on one physical connection.
+ * <p>
+ * The cache only holds idle statements: a statement is removed while it is checked out and put back,
+ * reset, when the caller closes it. The cache belongs to the real connection and is handed over
+ * to each {@link PooledConnection} wrapping it, so statements survive the connection returning to the pool.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+class StatementCache {
+
+  private final int size;
+  private final Map<StatementKey, Statement> idleStatements;
+  private final Set<PooledStatement> leasedStatements = new HashSet<>();
+  private boolean closed;
+
+  StatementCache(int size) {
+    this.size = size;
+    this.idleStatements = new LinkedHashMap<StatementKey, Statement>(size, .75F, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<StatementKey, Statement> eldest) {
+        if (size() > StatementCache.this.size) {
+          closeQuietly(eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns an idle statement matching the prepare call, or prepares a new one on the real connection.
+   *
+   * @param realConnection - the connection to prepare the statement on
+   * @param proxyConnection - the pooled connection the statement is handed out by
+   * @param method - the prepareStatement or prepareCall method called
+   * @param args - the arguments of the call
+   * @return the statement to hand out
+   */
+  synchronized Statement prepare(Connection realConnection, Connection proxyConnection, Method method, Object[] args) throws Throwable {
+    StatementKey key = new StatementKey(method.getName(), args);
+    Statement statement = idleStatements.remove(key);
+    if (statement == null || statement.isClosed()) {
+      statement = (Statement) method.invoke(realConnection, args);
+    }
+    if (closed) {
+      return statement;
+    }
+    PooledStatement pooledStatement = new PooledStatement(this, key, statement, proxyConnection, method.getReturnType());
+    leasedStatements.add(pooledStatement);
+    return pooledStatement.getProxyStatement();
+  }
+
+  /**
+   * Puts a statement closed by its caller back in the cache, or really closes it if it cannot be reused.
+   */
+  synchronized void release(PooledStatement statement) {
+    if (!leasedStatements.remove(statement)) {
+      return;
+    }
+    Statement realStatement = statement.getRealStatement();
+    if (closed || statement.isBroken() || idleStatements.containsKey(statement.getKey())) {
+      closeQuietly(realStatement);
+      return;
+    }
+    try {
+      statement.reset();
+      idleStatements.put(statement.getKey(), realStatement);
+    } catch (SQLException e) {
+      closeQuietly(realStatement);
+    }
+  }
+
+  /**
+   * Closes the statements that were checked out but never closed by their caller.
+   */
+  synchronized void closeLeased() {
+    List<PooledStatement> statements = new ArrayList<>(leasedStatements);
+    leasedStatements.clear();
+    for (PooledStatement statement : statements) {
+      statement.invalidate();
+      closeQuietly(statement.getRealStatement());
+    }
+  }
+
+  /**
+   * Closes every statement of the cache. Statements prepared afterwards are not cached.
+   */
+  synchronized void close() {
+    closed = true;
+    closeLeased();
+    for (Statement statement : idleStatements.values()) {
+      closeQuietly(statement);
+    }
+    idleStatements.clear();
+  }
+
+  synchronized int getIdleCount() {
+    return idleStatements.size();
+  }
+
+  private static void closeQuietly(Statement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      // ignore
+    }
+  }
+
+  static final class StatementKey {
+
+    private final String methodName;
+    private final Object[] args;
+    private final int hashCode;
+
+    StatementKey(String methodName, Object[] args) {
+      this.methodName = methodName;
+      this.args = args == null ? new Object[0] : args.clone();
+      this.hashCode = 31 * methodName.hashCode() + Arrays.deepHashCode(this.args);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof StatementKey)) {
+        return false;
+      }
+      StatementKey other = (StatementKey) obj;
+      return hashCode == other.hashCode
+          && methodName.equals(other.methodName)
+          && Arrays.deepEquals(args, other.args);
+    }
+  }
+
+}
@@ -18,14 +18,21 @@ package org.apache.ibatis.executor;
 import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOLDER;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.apache.ibatis.bulk.BulkLoad;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.columnar.ColumnBatch;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.parameter.ColumnBinder;
+import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
@@ -34,9 +41,11 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.LocalCacheScope;
 import org.apache.ibatis.session.ResultHandler;
@@ -61,6 +70,8 @@ public abstract class BaseExecutor implements Executor {
 
   protected int queryStack;
   private boolean closed;
+  // results of statements flushed ahead of a columnar batch or a bulk load, returned by the next flush
+  private final List<BatchResult> flushedAheadResults = new ArrayList<>();
 
   protected BaseExecutor(Configuration configuration, Transaction transaction) {
     this.transaction = transaction;
@@ -117,6 +128,58 @@ public abstract class BaseExecutor implements Executor {
     return doUpdate(ms, parameter);
   }
 
+  @Override
+  public int[] updateColumns(MappedStatement ms, ColumnBatch columns) throws SQLException {
+    ErrorContext.instance().resource(ms.getResource()).activity("executing a columnar batch").object(ms.getId());
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    ensureStaticPreparedStatement(ms, "Columnar batches");
+    clearLocalCache();
+    flushStatementsAhead();
+    BoundSql boundSql = ms.getBoundSql(null);
+    ColumnBinder binder = new ColumnBinder(configuration, boundSql.getParameterMappings(), columns);
+    StatementHandler handler = configuration.newStatementHandler(wrapper, ms, null, RowBounds.DEFAULT, null, boundSql);
+    Statement stmt = null;
+    try {
+      stmt = handler.prepare(getConnection(ms.getStatementLog()), transaction.getTimeout());
+      PreparedStatement ps = (PreparedStatement) stmt;
+      int rowCount = columns.getRowCount();
+      for (int row = 0; row < rowCount; row++) {
+        binder.bind(ps, row);
+        ps.addBatch();
+      }
+      return ps.executeBatch();
+    } finally {
+      closeStatement(stmt);
+    }
+  }
+
+  @Override
+  public long bulkLoad(MappedStatement ms, Iterable<?> rows) throws SQLException {
+    ErrorContext.instance().resource(ms.getResource()).activity("bulk loading").object(ms.getId());
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    if (ms.getSqlCommandType() != SqlCommandType.INSERT) {
+      throw new ExecutorException("Bulk loads need an insert statement but " + ms.getId() + " is " + ms.getSqlCommandType() + ".");
+    }
+    ensureStaticPreparedStatement(ms, "Bulk loads");
+    clearLocalCache();
+    flushStatementsAhead();
+    BulkLoad load = new BulkLoad(wrapper, ms, getConnection(ms.getStatementLog()), transaction.getTimeout(), rows.iterator());
+    return configuration.getBulkLoader().load(load);
+  }
+
+  private void ensureStaticPreparedStatement(MappedStatement ms, String operation) {
+    if (ms.getStatementType() != StatementType.PREPARED) {
+      throw new ExecutorException(operation + " need a PREPARED statement but " + ms.getId() + " is " + ms.getStatementType() + ".");
+    }
+    if (ms.getSqlSource() instanceof DynamicSqlSource) {
+      throw new ExecutorException(operation + " need static SQL but " + ms.getId() + " is dynamic.");
+    }
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return flushStatements(false);
@@ -126,7 +189,22 @@ public abstract class BaseExecutor implements Executor {
     if (closed) {
       throw new ExecutorException("Executor was closed.");
     }
-    return doFlushStatements(isRollBack);
+    List<BatchResult> results = doFlushStatements(isRollBack);
+    if (flushedAheadResults.isEmpty() || isRollBack) {
+      flushedAheadResults.clear();
+      return results;
+    }
+    List<BatchResult> allResults = new ArrayList<>(flushedAheadResults);
+    flushedAheadResults.clear();
+    allResults.addAll(results);
+    return allResults;
+  }
+
+  /**
+   * Runs the statements batched before, keeping their results for the next call to {@link #flushStatements()}.
+   */
+  private void flushStatementsAhead() throws SQLException {
+    flushedAheadResults.addAll(flushStatements());
   }
 
   @Override
@@ -337,13 +415,18 @@ public abstract class BaseExecutor implements Executor {
 
   protected Connection getConnection(Log statementLog) throws SQLException {
     Connection connection = transaction.getConnection();
-    if (statementLog.isDebugEnabled()) {
-      return ConnectionLogger.newInstance(connection, statementLog, queryStack);
+    if (statementLog.isDebugEnabled() && isStatementLogSampled()) {
+      return ConnectionLogger.newInstance(connection, statementLog, queryStack, configuration.getStatementLogExecutor());
     } else {
       return connection;
     }
   }
 
+  private boolean isStatementLogSampled() {
+    int sampleRate = configuration.getStatementLogSampleRate();
+    return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+
   @Override
   public void setExecutorWrapper(Executor wrapper) {
     this.wrapper = wrapper;
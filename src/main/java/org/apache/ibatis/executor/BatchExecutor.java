@@ -44,8 +44,10 @@ public class BatchExecutor extends BaseExecutor {
 
   private final List<Statement> statementList = new ArrayList<>();
   private final List<BatchResult> batchResultList = new ArrayList<>();
+  private final List<BatchResult> flushedResultList = new ArrayList<>();
   private String currentSql;
   private MappedStatement currentStatement;
+  private int batchedCount;
 
   public BatchExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
@@ -76,6 +78,11 @@ public class BatchExecutor extends BaseExecutor {
     }
   // handler.parameterize(stmt);
     handler.batch(stmt);
+    Integer batchFlushSize = configuration.getBatchFlushSize();
+    if (batchFlushSize != null && batchFlushSize > 0 && ++batchedCount >= batchFlushSize) {
+      // run the statements batched so far, so generated keys are retrieved a chunk at a time
+      flushedResultList.addAll(doFlushStatements(false));
+    }
     return BATCH_UPDATE_RETURN_VALUE;
   }
 
@@ -111,10 +118,12 @@ public class BatchExecutor extends BaseExecutor {
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
     try {
-      List<BatchResult> results = new ArrayList<>();
       if (isRollback) {
+        flushedResultList.clear();
         return Collections.emptyList();
       }
+      List<BatchResult> results = new ArrayList<>(flushedResultList);
+      flushedResultList.clear();
       for (int i = 0, n = statementList.size(); i < n; i++) {
         Statement stmt = statementList.get(i);
         applyTransactionTimeout(stmt);
@@ -156,6 +165,7 @@ public class BatchExecutor extends BaseExecutor {
         closeStatement(stmt);
       }
       currentSql = null;
+      batchedCount = 0;
       statementList.clear();
       batchResultList.clear();
     }
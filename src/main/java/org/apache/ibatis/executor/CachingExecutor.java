@@ -16,18 +16,28 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.TableDependencies;
 import org.apache.ibatis.cache.TransactionalCacheManager;
+import org.apache.ibatis.cache.decorators.RefreshAheadCache;
+import org.apache.ibatis.columnar.ColumnBatch;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
@@ -40,6 +50,8 @@ public class CachingExecutor implements Executor {
 
   private final Executor delegate;
   private final TransactionalCacheManager tcm = new TransactionalCacheManager();
+  // uncommitted writes, whose effects must not be shared with other sessions
+  private boolean dirty;
 
   public CachingExecutor(Executor delegate) {
     this.delegate = delegate;
@@ -72,10 +84,25 @@ public class CachingExecutor implements Executor {
 
   @Override
   public int update(MappedStatement ms, Object parameterObject) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameterObject);
+    dirty = true;
     return delegate.update(ms, parameterObject);
   }
 
+  @Override
+  public int[] updateColumns(MappedStatement ms, ColumnBatch columns) throws SQLException {
+    flushCacheIfRequired(ms, null);
+    dirty = true;
+    return delegate.updateColumns(ms, columns);
+  }
+
+  @Override
+  public long bulkLoad(MappedStatement ms, Iterable<?> rows) throws SQLException {
+    flushCacheIfRequired(ms, null);
+    dirty = true;
+    return delegate.bulkLoad(ms, rows);
+  }
+
   @Override
   public <E> List<E> query(MappedStatement ms, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler) throws SQLException {
     BoundSql boundSql = ms.getBoundSql(parameterObject);
@@ -85,7 +112,7 @@ public class CachingExecutor implements Executor {
 
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameter);
     return delegate.queryCursor(ms, parameter, rowBounds);
   }
 
@@ -94,21 +121,47 @@ public class CachingExecutor implements Executor {
       throws SQLException {
     Cache cache = ms.getCache();
     if (cache != null) {
-      flushCacheIfRequired(ms);
+      flushCacheIfRequired(ms, parameterObject);
       if (ms.isUseCache() && resultHandler == null) {
         ensureNoOutParams(ms, boundSql);
         @SuppressWarnings("unchecked")
         List<E> list = (List<E>) tcm.getObject(cache, key);
         if (list == null) {
-          list = delegate.<E> query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
-          tcm.putObject(cache, key, list); // issue #578 and #116
+          list = queryDelegate(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+          Object value = ms.getConfiguration().isRefreshAheadCache(cache.getId())
+              ? new RefreshAheadCache.Refreshable(list, refreshLoader(ms, parameterObject, rowBounds, key, boundSql)) : list;
+          tcm.putObject(cache, key, value, ms.getConfiguration().getTableDependencyIndex(cache),
+              tableDependencies(ms, parameterObject), cacheExpireAfter(ms)); // issue #578 and #116
         }
         return list;
       }
     }
+    return queryDelegate(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+  }
+
+  private <E> List<E> queryDelegate(MappedStatement ms, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler, CacheKey key, BoundSql boundSql)
+      throws SQLException {
+    if (resultHandler == null && !dirty && isCoalescable(ms)) {
+      return ms.getConfiguration().getInFlightQueries().execute(key,
+          () -> delegate.<E> query(ms, parameterObject, rowBounds, null, key, boundSql));
+    }
     return delegate.<E> query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
   }
 
+  private boolean isCoalescable(MappedStatement ms) {
+    if (!ms.getConfiguration().isCoalesceQueries() || !ms.isCoalesce()
+        || ms.getStatementType() == StatementType.CALLABLE || ms.isFlushCacheRequired()) {
+      return false;
+    }
+    for (ResultMap resultMap : ms.getResultMaps()) {
+      if (resultMap.hasNestedQueries()) {
+        // lazy loaders would be bound to the session that ran the query
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return delegate.flushStatements();
@@ -118,6 +171,7 @@ public class CachingExecutor implements Executor {
   public void commit(boolean required) throws SQLException {
     delegate.commit(required);
     tcm.commit();
+    dirty = false;
   }
 
   @Override
@@ -128,6 +182,7 @@ public class CachingExecutor implements Executor {
       if (required) {
         tcm.rollback();
       }
+      dirty = false;
     }
   }
 
@@ -161,13 +216,99 @@ public class CachingExecutor implements Executor {
     delegate.clearLocalCache();
   }
 
-  private void flushCacheIfRequired(MappedStatement ms) {
+  private void flushCacheIfRequired(MappedStatement ms, Object parameterObject) {
     Cache cache = ms.getCache();
-    if (cache != null && ms.isFlushCacheRequired()) {      
-      tcm.clear(cache);
+    if (cache != null && ms.isFlushCacheRequired()) {
+      if (ms.getTables() == null) {
+        tcm.clear(cache);
+      } else {
+        tcm.invalidate(cache, ms.getConfiguration().getTableDependencyIndex(cache), tableDependencies(ms, parameterObject));
+      }
     }
   }
 
+  /**
+   * Reruns the statement in its own transaction, bypassing the 2nd level cache. The parameter values are read now,
+   * so that changes made to the parameter object after the query do not change what is refreshed.
+   */
+  private Callable<Object> refreshLoader(MappedStatement ms, Object parameterObject, RowBounds rowBounds, CacheKey key, BoundSql boundSql) {
+    Configuration configuration = ms.getConfiguration();
+    BoundSql snapshot = snapshot(configuration, boundSql, parameterObject);
+    return () -> {
+      Environment environment = configuration.getEnvironment();
+      Transaction tx = environment.getTransactionFactory().newTransaction(environment.getDataSource(), null, false);
+      Executor executor = configuration.newExecutor(tx, ExecutorType.SIMPLE, false);
+      try {
+        return executor.query(ms, null, rowBounds, Executor.NO_RESULT_HANDLER, key, snapshot);
+      } finally {
+        executor.close(false);
+      }
+    };
+  }
+
+  /**
+   * Copies a bound sql with the current value of each parameter bound as an additional parameter.
+   */
+  private static BoundSql snapshot(Configuration configuration, BoundSql boundSql, Object parameterObject) {
+    List<ParameterMapping> parameterMappings = new ArrayList<>();
+    List<Object> values = new ArrayList<>();
+    boolean bindParameterObject = parameterObject != null
+        && configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass());
+    MetaObject metaObject = null;
+    for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+      String propertyName = parameterMapping.getProperty();
+      Object value;
+      if (boundSql.hasAdditionalParameter(propertyName)) {
+        value = boundSql.getAdditionalParameter(propertyName);
+      } else if (parameterObject == null) {
+        value = null;
+      } else if (bindParameterObject) {
+        value = parameterObject;
+      } else {
+        if (metaObject == null) {
+          metaObject = configuration.newMetaObject(parameterObject);
+        }
+        value = metaObject.getValue(propertyName);
+      }
+      values.add(value);
+      parameterMappings.add(new ParameterMapping.Builder(configuration, "__refresh_" + values.size(), parameterMapping.getTypeHandler())
+          .mode(parameterMapping.getMode())
+          .javaType(parameterMapping.getJavaType())
+          .jdbcType(parameterMapping.getJdbcType())
+          .numericScale(parameterMapping.getNumericScale())
+          .jdbcTypeName(parameterMapping.getJdbcTypeName())
+          .build());
+    }
+    BoundSql snapshot = new BoundSql(configuration, boundSql.getSql(), parameterMappings, null);
+    for (int i = 0; i < values.size(); i++) {
+      snapshot.setAdditionalParameter(parameterMappings.get(i).getProperty(), values.get(i));
+    }
+    return snapshot;
+  }
+
+  private TableDependencies tableDependencies(MappedStatement ms, Object parameterObject) {
+    String keyProperty = ms.getTableKeyProperty();
+    Object key = null;
+    if (ms.getTables() != null && keyProperty != null && parameterObject != null) {
+      Configuration configuration = ms.getConfiguration();
+      if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+        key = parameterObject;
+      } else {
+        key = configuration.newMetaObject(parameterObject).getValue(keyProperty);
+      }
+      if (key instanceof Collection || (key != null && key.getClass().isArray())) {
+        // several rows, depend on the whole tables
+        key = null;
+      }
+    }
+    return TableDependencies.of(ms.getTables(), key);
+  }
+
+  private long cacheExpireAfter(MappedStatement ms) {
+    Long cacheExpireAfter = ms.getCacheExpireAfter();
+    return cacheExpireAfter == null ? 0 : cacheExpireAfter;
+  }
+
   @Override
   public void setExecutorWrapper(Executor executor) {
     throw new UnsupportedOperationException("This method should not be called");
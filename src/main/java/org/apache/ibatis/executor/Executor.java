@@ -18,7 +18,9 @@ package org.apache.ibatis.executor;
 import java.sql.SQLException;
 import java.util.List;
 
+import org.apache.ibatis.bulk.BulkLoader;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.columnar.ColumnBatch;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -36,6 +38,34 @@ public interface Executor {
 
   int update(MappedStatement ms, Object parameter) throws SQLException;
 
+  /**
+   * Runs a statement with static SQL once per row of a batch of columns, as a single JDBC batch.
+   *
+   * Executors that do not support it update the rows one at a time, each row passed as a map from column name to value.
+   *
+   * @return the update counts of the rows
+   * @since 3.5.0
+   */
+  default int[] updateColumns(MappedStatement ms, ColumnBatch columns) throws SQLException {
+    int[] counts = new int[columns.getRowCount()];
+    for (int row = 0; row < counts.length; row++) {
+      counts[row] = update(ms, columns.getRow(row));
+    }
+    return counts;
+  }
+
+  /**
+   * Loads rows with an insert statement with static SQL, through the configured {@link BulkLoader}.
+   *
+   * Executors that do not support it throw an {@link UnsupportedOperationException}.
+   *
+   * @return the number of rows loaded
+   * @since 3.5.0
+   */
+  default long bulkLoad(MappedStatement ms, Iterable<?> rows) throws SQLException {
+    throw new UnsupportedOperationException(getClass().getName() + " does not support bulk loads.");
+  }
+
   <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, CacheKey cacheKey, BoundSql boundSql) throws SQLException;
 
   <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler) throws SQLException;
@@ -0,0 +1,142 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.decorators.SerializedCache.CustomObjectInputStream;
+
+/**
+ * The queries being executed, shared by all the sessions of a configuration.
+ * <p>
+ * A query arriving while an identical one (same {@link CacheKey}) is running waits for it and gets a copy of its result
+ * instead of hitting the database again. The result is copied by serialization, once for all the waiting queries, so
+ * that no session sees the objects of another one. When the running query fails or its result is not serializable,
+ * the waiting ones run on their own.
+ *
+ * @since 3.5.0
+ */
+public class InFlightQueries {
+
+  private final ConcurrentHashMap<CacheKey, Flight> flights = new ConcurrentHashMap<>();
+
+  public <E> List<E> execute(CacheKey key, Query<E> query) throws SQLException {
+    Flight flight = new Flight();
+    Flight running = flights.putIfAbsent(key, flight);
+    if (running != null) {
+      List<E> shared = running.join() ? running.await() : null;
+      return shared != null ? shared : query.execute();
+    }
+    try {
+      List<E> list = query.execute();
+      flight.complete(list);
+      return list;
+    } catch (SQLException | RuntimeException | Error e) {
+      flight.complete(null);
+      throw e;
+    } finally {
+      flights.remove(key, flight);
+    }
+  }
+
+  public int getSize() {
+    return flights.size();
+  }
+
+  private static final class Flight {
+
+    private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+    private int waiters;
+    private boolean completed;
+
+    /**
+     * @return whether the result will be shared with the caller
+     */
+    synchronized boolean join() {
+      if (completed) {
+        return false;
+      }
+      waiters++;
+      return true;
+    }
+
+    void complete(List<?> list) {
+      boolean shared;
+      synchronized (this) {
+        completed = true;
+        shared = waiters > 0;
+      }
+      result.complete(shared && list != null ? serialize(list) : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    <E> List<E> await() {
+      try {
+        byte[] bytes = result.get();
+        return bytes == null ? null : (List<E>) deserialize(bytes);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ExecutorException("Interrupted while waiting for an identical query.  Cause: " + e, e);
+      } catch (ExecutionException e) {
+        // never completed exceptionally
+        throw new ExecutorException("Error waiting for an identical query.  Cause: " + e, e);
+      }
+    }
+
+    private static byte[] serialize(List<?> list) {
+      try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+           ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(new ArrayList<>(list));
+        out.flush();
+        return bytes.toByteArray();
+      } catch (IOException e) {
+        // not serializable, the waiting queries run on their own
+        return null;
+      }
+    }
+
+    private static Object deserialize(byte[] bytes) {
+      try (ObjectInputStream in = new CustomObjectInputStream(new ByteArrayInputStream(bytes))) {
+        return in.readObject();
+      } catch (IOException | ClassNotFoundException e) {
+        return null;
+      }
+    }
+
+  }
+
+  /**
+   * A query that may be shared.
+   */
+  @FunctionalInterface
+  public interface Query<E> {
+
+    List<E> execute() throws SQLException;
+
+  }
+
+}
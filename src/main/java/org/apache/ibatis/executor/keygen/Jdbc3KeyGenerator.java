@@ -21,6 +21,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
@@ -29,6 +30,9 @@ import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.ArrayUtil;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.defaults.DefaultSqlSession.StrictMap;
 import org.apache.ibatis.type.JdbcType;
@@ -127,27 +131,26 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
   private void assignKeysToParam(final Configuration configuration, ResultSet rs, final String[] keyProperties,
       Object param)
       throws SQLException {
-    final TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
     final ResultSetMetaData rsmd = rs.getMetaData();
     // Wrap the parameter in Collection to normalize the logic.
     Collection<?> paramAsCollection = null;
     if (param instanceof Object[]) {
       paramAsCollection = Arrays.asList((Object[]) param);
     } else if (!(param instanceof Collection)) {
-      paramAsCollection = Arrays.asList(param);
+      paramAsCollection = Collections.singletonList(param);
     } else {
       paramAsCollection = (Collection<?>) param;
     }
-    TypeHandler<?>[] typeHandlers = null;
+    // the setters and type handlers are resolved once for all the parameters of the same type
+    KeyAssigner assigner = null;
     for (Object obj : paramAsCollection) {
       if (!rs.next()) {
         break;
       }
-      MetaObject metaParam = configuration.newMetaObject(obj);
-      if (typeHandlers == null) {
-        typeHandlers = getTypeHandlers(typeHandlerRegistry, metaParam, keyProperties, rsmd);
+      if (assigner == null || !assigner.accepts(obj)) {
+        assigner = new KeyAssigner(configuration, obj, keyProperties, rsmd);
       }
-      populateKeys(rs, metaParam, keyProperties, typeHandlers);
+      assigner.assign(rs, obj);
     }
   }
 
@@ -167,29 +170,70 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     return soleParam;
   }
 
-  private TypeHandler<?>[] getTypeHandlers(TypeHandlerRegistry typeHandlerRegistry, MetaObject metaParam, String[] keyProperties, ResultSetMetaData rsmd) throws SQLException {
-    TypeHandler<?>[] typeHandlers = new TypeHandler<?>[keyProperties.length];
-    for (int i = 0; i < keyProperties.length; i++) {
-      if (metaParam.hasSetter(keyProperties[i])) {
-        Class<?> keyPropertyType = metaParam.getSetterType(keyProperties[i]);
+  private static class KeyAssigner {
+
+    private final Configuration configuration;
+    private final Class<?> type;
+    private final String[] keyProperties;
+    private final TypeHandler<?>[] typeHandlers;
+    // null for the properties that are set through a MetaObject
+    private final Invoker[] setters;
+
+    KeyAssigner(Configuration configuration, Object param, String[] keyProperties, ResultSetMetaData rsmd) throws SQLException {
+      this.configuration = configuration;
+      this.type = param == null ? null : param.getClass();
+      this.keyProperties = keyProperties;
+      this.typeHandlers = new TypeHandler<?>[keyProperties.length];
+      this.setters = new Invoker[keyProperties.length];
+      final TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+      MetaObject metaParam = configuration.newMetaObject(param);
+      Reflector reflector = null;
+      if (param != null && !(param instanceof Map) && !(param instanceof Collection)
+          && !configuration.getObjectWrapperFactory().hasWrapperFor(param)) {
+        reflector = configuration.getReflectorFactory().findForClass(type);
+      }
+      for (int i = 0; i < keyProperties.length; i++) {
+        String property = keyProperties[i];
+        if (!metaParam.hasSetter(property)) {
+          throw new ExecutorException("No setter found for the keyProperty '" + property + "' in '"
+              + metaParam.getOriginalObject().getClass().getName() + "'.");
+        }
+        Class<?> keyPropertyType = metaParam.getSetterType(property);
         typeHandlers[i] = typeHandlerRegistry.getTypeHandler(keyPropertyType, JdbcType.forCode(rsmd.getColumnType(i + 1)));
-      } else {
-        throw new ExecutorException("No setter found for the keyProperty '" + keyProperties[i] + "' in '"
-            + metaParam.getOriginalObject().getClass().getName() + "'.");
+        if (reflector != null && property.indexOf('.') == -1 && property.indexOf('[') == -1 && reflector.hasSetter(property)) {
+          setters[i] = reflector.getSetInvoker(property);
+        }
       }
     }
-    return typeHandlers;
-  }
 
-  private void populateKeys(ResultSet rs, MetaObject metaParam, String[] keyProperties, TypeHandler<?>[] typeHandlers) throws SQLException {
-    for (int i = 0; i < keyProperties.length; i++) {
-      String property = keyProperties[i];
-      TypeHandler<?> th = typeHandlers[i];
-      if (th != null) {
+    boolean accepts(Object param) {
+      return (param == null ? null : param.getClass()) == type;
+    }
+
+    void assign(ResultSet rs, Object param) throws SQLException {
+      MetaObject metaParam = null;
+      for (int i = 0; i < keyProperties.length; i++) {
+        TypeHandler<?> th = typeHandlers[i];
+        if (th == null) {
+          continue;
+        }
         Object value = th.getResult(rs, i + 1);
-        metaParam.setValue(property, value);
+        if (setters[i] != null) {
+          try {
+            setters[i].invoke(param, new Object[] { value });
+          } catch (Throwable t) {
+            throw new ReflectionException("Could not set property '" + keyProperties[i] + "' of '" + type
+                + "' with value '" + value + "' Cause: " + t.toString(), t);
+          }
+        } else {
+          if (metaParam == null) {
+            metaParam = configuration.newMetaObject(param);
+          }
+          metaParam.setValue(keyProperties[i], value);
+        }
       }
     }
+
   }
 
 }
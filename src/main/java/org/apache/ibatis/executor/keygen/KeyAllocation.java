@@ -0,0 +1,42 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.keygen;
+
+/**
+ * How a {@link SelectKeyGenerator} obtains the keys of its inserts.
+ *
+ * @since 3.5.0
+ */
+public enum KeyAllocation {
+
+  /**
+   * The key statement is run for each insert.
+   */
+  SINGLE,
+
+  /**
+   * The key statement returns a high value <code>hi</code>, usually the next value of a sequence, which gives the keys
+   * from <code>hi * allocationSize</code> to <code>hi * allocationSize + allocationSize - 1</code>.
+   */
+  HILO,
+
+  /**
+   * The key statement returns a block of keys, one per row, for example the next value of a sequence over a
+   * generated series of rows.
+   */
+  SERIES
+
+}
@@ -15,7 +15,12 @@
  */
 package org.apache.ibatis.executor.keygen;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 
 import org.apache.ibatis.executor.Executor;
@@ -35,10 +40,36 @@ public class SelectKeyGenerator implements KeyGenerator {
   public static final String SELECT_KEY_SUFFIX = "!selectKey";
   private final boolean executeBefore;
   private final MappedStatement keyStatement;
+  private final KeyAllocation allocation;
+  private final int allocationSize;
+  // keys fetched ahead, shared by all the sessions running the statement
+  private final Deque<Object> keyPool = new ArrayDeque<>();
+  private long nextHiloKey;
+  private long endHiloKey;
 
   public SelectKeyGenerator(MappedStatement keyStatement, boolean executeBefore) {
+    this(keyStatement, executeBefore, KeyAllocation.SINGLE, 1);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public SelectKeyGenerator(MappedStatement keyStatement, boolean executeBefore, KeyAllocation allocation, int allocationSize) {
+    if (allocation != KeyAllocation.SINGLE && !executeBefore) {
+      throw new ExecutorException("Key allocation " + allocation + " can only be used when the key is selected BEFORE the statement.");
+    }
+    if (allocation == KeyAllocation.HILO) {
+      if (allocationSize < 1) {
+        throw new ExecutorException("Key allocation HILO needs an allocationSize of at least 1 but was " + allocationSize + ".");
+      }
+      if (keyStatement != null && keyStatement.getKeyProperties() != null && keyStatement.getKeyProperties().length != 1) {
+        throw new ExecutorException("Key allocation HILO can only assign one keyProperty.");
+      }
+    }
     this.executeBefore = executeBefore;
     this.keyStatement = keyStatement;
+    this.allocation = allocation;
+    this.allocationSize = allocationSize;
   }
 
   @Override
@@ -61,29 +92,34 @@ public class SelectKeyGenerator implements KeyGenerator {
         String[] keyProperties = keyStatement.getKeyProperties();
         final Configuration configuration = ms.getConfiguration();
         final MetaObject metaParam = configuration.newMetaObject(parameter);
-        if (keyProperties != null) {
-          // Do not close keyExecutor.
-          // The transaction will be closed by parent executor.
-          Executor keyExecutor = configuration.newExecutor(executor.getTransaction(), ExecutorType.SIMPLE);
-          List<Object> values = keyExecutor.query(keyStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        if (allocation == KeyAllocation.HILO) {
+          long key = allocateHiloKey(executor, parameter);
+          setValue(metaParam, keyProperties[0], toKeyType(key, metaParam, keyProperties[0]));
+          return;
+        }
+        Object value;
+        if (allocation == KeyAllocation.SERIES) {
+          value = allocateSeriesKey(executor, parameter);
+        } else {
+          List<Object> values = selectKeys(executor, parameter);
           if (values.size() == 0) {
             throw new ExecutorException("SelectKey returned no data.");            
           } else if (values.size() > 1) {
             throw new ExecutorException("SelectKey returned more than one value.");
+          }
+          value = values.get(0);
+        }
+        MetaObject metaResult = configuration.newMetaObject(value);
+        if (keyProperties.length == 1) {
+          if (metaResult.hasGetter(keyProperties[0])) {
+            setValue(metaParam, keyProperties[0], metaResult.getValue(keyProperties[0]));
           } else {
-            MetaObject metaResult = configuration.newMetaObject(values.get(0));
-            if (keyProperties.length == 1) {
-              if (metaResult.hasGetter(keyProperties[0])) {
-                setValue(metaParam, keyProperties[0], metaResult.getValue(keyProperties[0]));
-              } else {
-                // no getter for the property - maybe just a single value object
-                // so try that
-                setValue(metaParam, keyProperties[0], values.get(0));
-              }
-            } else {
-              handleMultipleProperties(keyProperties, metaParam, metaResult);
-            }
+            // no getter for the property - maybe just a single value object
+            // so try that
+            setValue(metaParam, keyProperties[0], value);
           }
+        } else {
+          handleMultipleProperties(keyProperties, metaParam, metaResult);
         }
       }
     } catch (ExecutorException e) {
@@ -93,6 +129,60 @@ public class SelectKeyGenerator implements KeyGenerator {
     }
   }
 
+  private List<Object> selectKeys(Executor executor, Object parameter) throws SQLException {
+    // Do not close keyExecutor.
+    // The transaction will be closed by parent executor.
+    Executor keyExecutor = keyStatement.getConfiguration().newExecutor(executor.getTransaction(), ExecutorType.SIMPLE);
+    return keyExecutor.query(keyStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+  }
+
+  private synchronized long allocateHiloKey(Executor executor, Object parameter) throws SQLException {
+    if (nextHiloKey == endHiloKey) {
+      List<Object> values = selectKeys(executor, parameter);
+      if (values.size() != 1 || !(values.get(0) instanceof Number)) {
+        throw new ExecutorException("SelectKey with key allocation HILO must return one number but returned " + values + ".");
+      }
+      nextHiloKey = ((Number) values.get(0)).longValue() * allocationSize;
+      endHiloKey = nextHiloKey + allocationSize;
+    }
+    return nextHiloKey++;
+  }
+
+  private synchronized Object allocateSeriesKey(Executor executor, Object parameter) throws SQLException {
+    if (keyPool.isEmpty()) {
+      List<Object> values = selectKeys(executor, parameter);
+      if (values.isEmpty()) {
+        throw new ExecutorException("SelectKey returned no data.");
+      }
+      for (Object value : values) {
+        if (value == null) {
+          throw new ExecutorException("SelectKey with key allocation SERIES returned a null key.");
+        }
+        keyPool.add(value);
+      }
+    }
+    return keyPool.poll();
+  }
+
+  private Object toKeyType(long key, MetaObject metaParam, String property) {
+    Class<?> type = metaParam.hasSetter(property) ? metaParam.getSetterType(property) : Object.class;
+    if (type == Long.class || type == long.class || type == Object.class || type == Number.class) {
+      return key;
+    } else if (type == Integer.class || type == int.class) {
+      if (key > Integer.MAX_VALUE || key < Integer.MIN_VALUE) {
+        throw new ExecutorException("The allocated key " + key + " does not fit the int property '" + property + "'.");
+      }
+      return (int) key;
+    } else if (type == BigInteger.class) {
+      return BigInteger.valueOf(key);
+    } else if (type == BigDecimal.class) {
+      return BigDecimal.valueOf(key);
+    } else if (type == String.class) {
+      return String.valueOf(key);
+    }
+    throw new ExecutorException("Key allocation HILO cannot assign a key to the property '" + property + "' of type " + type.getName() + ".");
+  }
+
   private void handleMultipleProperties(String[] keyProperties,
       MetaObject metaParam, MetaObject metaResult) {
     String[] keyColumns = keyStatement.getKeyColumns();
@@ -0,0 +1,119 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.parameter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.columnar.ColumnBatch;
+import org.apache.ibatis.columnar.ColumnVector;
+import org.apache.ibatis.columnar.DoubleVector;
+import org.apache.ibatis.columnar.IntVector;
+import org.apache.ibatis.columnar.LongVector;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.UnknownTypeHandler;
+
+/**
+ * Sets the parameters of a statement from a row of a {@link ColumnBatch}, each parameter property naming a column.
+ * <p>
+ * The column and the type handler of every parameter are resolved once, so binding a row does not create a parameter
+ * object or a {@code MetaObject}. Primitive vectors bound by a {@link PrimitiveTypeHandler} are set without boxing.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+public class ColumnBinder {
+
+  private final List<ParameterMapping> parameterMappings;
+  private final ColumnVector[] columns;
+  private final TypeHandler<?>[] typeHandlers;
+  private final JdbcType[] nullJdbcTypes;
+  private final boolean[] primitives;
+
+  public ColumnBinder(Configuration configuration, List<ParameterMapping> parameterMappings, ColumnBatch batch) {
+    this.parameterMappings = parameterMappings;
+    this.columns = new ColumnVector[parameterMappings.size()];
+    this.typeHandlers = new TypeHandler<?>[columns.length];
+    this.nullJdbcTypes = new JdbcType[columns.length];
+    this.primitives = new boolean[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      ParameterMapping parameterMapping = parameterMappings.get(i);
+      if (parameterMapping.getMode() != ParameterMode.IN) {
+        throw new ExecutorException("Columnar batches only bind IN parameters but " + parameterMapping.getProperty()
+            + " is " + parameterMapping.getMode() + ".");
+      }
+      ColumnVector column = batch.getColumn(parameterMapping.getProperty());
+      if (column == null) {
+        throw new ExecutorException("There is no column named '" + parameterMapping.getProperty()
+            + "' in the batch, its columns are " + batch.getColumnNames() + ".");
+      }
+      TypeHandler<?> typeHandler = parameterMapping.getTypeHandler();
+      if (typeHandler == null || typeHandler instanceof UnknownTypeHandler) {
+        TypeHandler<?> columnTypeHandler = configuration.getTypeHandlerRegistry()
+            .getTypeHandler(column.getJavaType(), parameterMapping.getJdbcType());
+        if (columnTypeHandler != null) {
+          typeHandler = columnTypeHandler;
+        }
+      }
+      Class<?> primitiveType = PrimitiveTypeHandler.primitiveTypeOf(typeHandler);
+      columns[i] = column;
+      typeHandlers[i] = typeHandler;
+      nullJdbcTypes[i] = parameterMapping.getJdbcType() == null ? configuration.getJdbcTypeForNull() : parameterMapping.getJdbcType();
+      primitives[i] = column instanceof IntVector && primitiveType == int.class
+          || column instanceof LongVector && primitiveType == long.class
+          || column instanceof DoubleVector && primitiveType == double.class;
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public void bind(PreparedStatement ps, int row) {
+    for (int i = 0; i < columns.length; i++) {
+      ColumnVector column = columns[i];
+      try {
+        if (column.isNull(row)) {
+          ((TypeHandler) typeHandlers[i]).setParameter(ps, i + 1, null, nullJdbcTypes[i]);
+        } else if (primitives[i]) {
+          bindPrimitive(ps, i, row);
+        } else {
+          ((TypeHandler) typeHandlers[i]).setParameter(ps, i + 1, column.get(row), parameterMappings.get(i).getJdbcType());
+        }
+      } catch (TypeException | SQLException e) {
+        throw new TypeException("Could not set parameters for mapping: " + parameterMappings.get(i) + ". Cause: " + e, e);
+      }
+    }
+  }
+
+  private void bindPrimitive(PreparedStatement ps, int i, int row) throws SQLException {
+    TypeHandler<?> typeHandler = typeHandlers[i];
+    ColumnVector column = columns[i];
+    if (column instanceof IntVector) {
+      ((PrimitiveTypeHandler.OfInt) typeHandler).setInt(ps, i + 1, ((IntVector) column).getInt(row));
+    } else if (column instanceof LongVector) {
+      ((PrimitiveTypeHandler.OfLong) typeHandler).setLong(ps, i + 1, ((LongVector) column).getLong(row));
+    } else {
+      ((PrimitiveTypeHandler.OfDouble) typeHandler).setDouble(ps, i + 1, ((DoubleVector) column).getDouble(row));
+    }
+  }
+
+}
@@ -0,0 +1,327 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.parameter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.PrimitiveGetter;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Sets the parameters of a statement from a parameter object of a given type.
+ * <p>
+ * Compiled once per parameter type and list of parameter mappings: whether the parameter object is
+ * bound as a whole is resolved once, and each property path is split once into getters that are
+ * resolved against the runtime classes and reused while those classes do not change.
+ * Indexed properties, collections and custom object wrappers are read through a {@code MetaObject}.
+ * Primitive properties bound by a {@link PrimitiveTypeHandler} are read and set without boxing.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+public class ParameterBinder {
+
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private final Configuration configuration;
+  private final List<ParameterMapping> parameterMappings;
+  private final boolean bindParameterObject;
+  private final PropertyGetter[] getters;
+  private final PrimitiveProperty[] primitives;
+
+  public ParameterBinder(Configuration configuration, Class<?> parameterType, List<ParameterMapping> parameterMappings) {
+    this.configuration = configuration;
+    this.parameterMappings = parameterMappings;
+    this.bindParameterObject = parameterType != null && configuration.getTypeHandlerRegistry().hasTypeHandler(parameterType);
+    boolean wrapped = configuration.getObjectWrapperFactory().getClass() != DefaultObjectWrapperFactory.class;
+    this.getters = new PropertyGetter[parameterMappings.size()];
+    this.primitives = new PrimitiveProperty[parameterMappings.size()];
+    for (int i = 0; i < getters.length; i++) {
+      ParameterMapping parameterMapping = parameterMappings.get(i);
+      if (parameterMapping.getMode() != ParameterMode.OUT) {
+        String property = parameterMapping.getProperty();
+        getters[i] = wrapped || property.indexOf('[') >= 0
+            ? new MetaObjectGetter(configuration, property)
+            : new ChainedGetter(configuration, property);
+        Class<?> primitiveType = PrimitiveTypeHandler.primitiveTypeOf(parameterMapping.getTypeHandler());
+        if (primitiveType != null && !wrapped && property.indexOf('[') < 0 && property.indexOf('.') < 0) {
+          primitives[i] = new PrimitiveProperty(configuration.getReflectorFactory(), property, primitiveType);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether this binder was compiled for the same parameter mappings.
+   */
+  public boolean isCompiledFor(List<ParameterMapping> parameterMappings) {
+    return isSameShape(this.parameterMappings, parameterMappings);
+  }
+
+  /**
+   * Returns whether a binder compiled for one list of parameter mappings can bind the other.
+   */
+  public static boolean isSameShape(List<ParameterMapping> parameterMappings, List<ParameterMapping> otherMappings) {
+    if (parameterMappings == otherMappings) {
+      return true;
+    }
+    if (parameterMappings.size() != otherMappings.size()) {
+      return false;
+    }
+    for (int i = 0; i < parameterMappings.size(); i++) {
+      ParameterMapping compiled = parameterMappings.get(i);
+      ParameterMapping other = otherMappings.get(i);
+      if (compiled.getMode() != other.getMode()
+          || compiled.getTypeHandler() != other.getTypeHandler()
+          || compiled.getJdbcType() != other.getJdbcType()
+          || !compiled.getProperty().equals(other.getProperty())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a hash code consistent with {@link #isSameShape(List, List)}.
+   */
+  public static int shapeHashCode(List<ParameterMapping> parameterMappings) {
+    int hashCode = parameterMappings.size();
+    for (ParameterMapping parameterMapping : parameterMappings) {
+      hashCode = 31 * hashCode + parameterMapping.getProperty().hashCode();
+      hashCode = 31 * hashCode + System.identityHashCode(parameterMapping.getTypeHandler());
+    }
+    return hashCode;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public void bind(PreparedStatement ps, BoundSql boundSql, Object parameterObject) {
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    for (int i = 0; i < getters.length; i++) {
+      PropertyGetter getter = getters[i];
+      if (getter == null) {
+        continue;
+      }
+      ParameterMapping parameterMapping = parameterMappings.get(i);
+      Object value;
+      String propertyName = parameterMapping.getProperty();
+      if (boundSql.hasAdditionalParameter(propertyName)) { // issue #448 ask first for additional params
+        value = boundSql.getAdditionalParameter(propertyName);
+      } else if (parameterObject == null) {
+        value = null;
+      } else if (bindParameterObject) {
+        value = parameterObject;
+      } else if (primitives[i] != null && bindPrimitive(ps, i, parameterMapping, parameterObject)) {
+        continue;
+      } else {
+        value = getter.get(parameterObject);
+      }
+      TypeHandler typeHandler = parameterMapping.getTypeHandler();
+      JdbcType jdbcType = parameterMapping.getJdbcType();
+      if (value == null && jdbcType == null) {
+        jdbcType = configuration.getJdbcTypeForNull();
+      }
+      try {
+        typeHandler.setParameter(ps, i + 1, value, jdbcType);
+      } catch (TypeException e) {
+        throw new TypeException("Could not set parameters for mapping: " + parameterMapping + ". Cause: " + e, e);
+      } catch (SQLException e) {
+        throw new TypeException("Could not set parameters for mapping: " + parameterMapping + ". Cause: " + e, e);
+      }
+    }
+  }
+
+  private boolean bindPrimitive(PreparedStatement ps, int i, ParameterMapping parameterMapping, Object parameterObject) {
+    try {
+      return primitives[i].bind(ps, i + 1, parameterObject, (PrimitiveTypeHandler) parameterMapping.getTypeHandler());
+    } catch (TypeException | SQLException e) {
+      throw new TypeException("Could not set parameters for mapping: " + parameterMapping + ". Cause: " + e, e);
+    }
+  }
+
+  private interface PropertyGetter {
+    Object get(Object object);
+  }
+
+  private static final class MetaObjectGetter implements PropertyGetter {
+    private final Configuration configuration;
+    private final String property;
+
+    MetaObjectGetter(Configuration configuration, String property) {
+      this.configuration = configuration;
+      this.property = property;
+    }
+
+    @Override
+    public Object get(Object object) {
+      return configuration.newMetaObject(object).getValue(property);
+    }
+  }
+
+  /**
+   * Reads a dotted property path the way {@code MetaObject} does, one getter per segment.
+   */
+  private static final class ChainedGetter implements PropertyGetter {
+    private final Configuration configuration;
+    private final String[] names;
+    private final String[] remainders;
+    private final Segment[] segments;
+
+    ChainedGetter(Configuration configuration, String property) {
+      this.configuration = configuration;
+      this.names = property.split("\\.");
+      this.remainders = new String[names.length];
+      this.segments = new Segment[names.length];
+      int start = 0;
+      for (int i = 0; i < names.length; i++) {
+        remainders[i] = property.substring(start);
+        start += names[i].length() + 1;
+        segments[i] = new Segment(configuration.getReflectorFactory(), names[i]);
+      }
+    }
+
+    @Override
+    public Object get(Object object) {
+      Object value = object;
+      for (int i = 0; i < segments.length; i++) {
+        if (value == null) {
+          return null;
+        } else if (value instanceof Map) {
+          value = ((Map<?, ?>) value).get(names[i]);
+        } else if (value instanceof Collection || value instanceof ObjectWrapper) {
+          return configuration.newMetaObject(value).getValue(remainders[i]);
+        } else {
+          value = segments[i].get(value);
+        }
+      }
+      return value;
+    }
+  }
+
+  private static final class Segment {
+    private final ReflectorFactory reflectorFactory;
+    private final String name;
+    private volatile ResolvedGetter resolved;
+
+    Segment(ReflectorFactory reflectorFactory, String name) {
+      this.reflectorFactory = reflectorFactory;
+      this.name = name;
+    }
+
+    Object get(Object object) {
+      Class<?> type = object.getClass();
+      ResolvedGetter getter = resolved;
+      try {
+        if (getter == null || getter.type != type) {
+          getter = new ResolvedGetter(type, reflectorFactory.findForClass(type).getGetInvoker(name));
+          resolved = getter;
+        }
+        try {
+          return getter.invoker.invoke(object, NO_ARGUMENTS);
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not get property '" + name + "' from " + type + ".  Cause: " + t.toString(), t);
+      }
+    }
+  }
+
+  /**
+   * Reads an {@code int}, {@code long} or {@code double} property and sets it without boxing it.
+   */
+  private static final class PrimitiveProperty {
+    private final ReflectorFactory reflectorFactory;
+    private final String name;
+    private final Class<?> primitiveType;
+    private volatile ResolvedPrimitiveGetter resolved;
+
+    PrimitiveProperty(ReflectorFactory reflectorFactory, String name, Class<?> primitiveType) {
+      this.reflectorFactory = reflectorFactory;
+      this.name = name;
+      this.primitiveType = primitiveType;
+    }
+
+    boolean bind(PreparedStatement ps, int index, Object object, PrimitiveTypeHandler typeHandler) throws SQLException {
+      if (object instanceof Map || object instanceof ObjectWrapper) {
+        return false;
+      }
+      Class<?> type = object.getClass();
+      ResolvedPrimitiveGetter current = resolved;
+      if (current == null || current.type != type) {
+        current = new ResolvedPrimitiveGetter(type, reflectorFactory.findForClass(type).getPrimitiveGetter(name));
+        resolved = current;
+      }
+      PrimitiveGetter getter = current.getter;
+      if (getter == null || getter.getType() != primitiveType) {
+        return false;
+      }
+      try {
+        if (primitiveType == int.class) {
+          ((PrimitiveTypeHandler.OfInt) typeHandler).setInt(ps, index, getter.getInt(object));
+        } else if (primitiveType == long.class) {
+          ((PrimitiveTypeHandler.OfLong) typeHandler).setLong(ps, index, getter.getLong(object));
+        } else {
+          ((PrimitiveTypeHandler.OfDouble) typeHandler).setDouble(ps, index, getter.getDouble(object));
+        }
+      } catch (SQLException | RuntimeException e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not get property '" + name + "' from " + type + ".  Cause: " + t.toString(), t);
+      }
+      return true;
+    }
+  }
+
+  private static final class ResolvedPrimitiveGetter {
+    private final Class<?> type;
+    private final PrimitiveGetter getter;
+
+    ResolvedPrimitiveGetter(Class<?> type, PrimitiveGetter getter) {
+      this.type = type;
+      this.getter = getter;
+    }
+  }
+
+  private static final class ResolvedGetter {
+    private final Class<?> type;
+    private final Invoker invoker;
+
+    ResolvedGetter(Class<?> type, Invoker invoker) {
+      this.type = type;
+      this.invoker = invoker;
+    }
+  }
+
+}
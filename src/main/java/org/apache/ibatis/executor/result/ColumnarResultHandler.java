@@ -0,0 +1,221 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.result;
+
+import java.lang.reflect.Type;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.ibatis.columnar.ColumnBatch;
+import org.apache.ibatis.columnar.ColumnBatchHandler;
+import org.apache.ibatis.columnar.ColumnVector;
+import org.apache.ibatis.columnar.DoubleVector;
+import org.apache.ibatis.columnar.IntVector;
+import org.apache.ibatis.columnar.LongVector;
+import org.apache.ibatis.columnar.ObjectVector;
+import org.apache.ibatis.columnar.StringVector;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.resultset.ResultSetWrapper;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.type.TypeReference;
+
+/**
+ * Reads a result set into {@link ColumnBatch}es instead of mapping it to row objects.
+ * Every column is read with the type handler of its result mapping if it has one, or else the one of its metadata.
+ * Numbers read by a {@link PrimitiveTypeHandler} go into primitive vectors and strings into dictionary encoded ones.
+ *
+ * @since 3.5.0
+ */
+public class ColumnarResultHandler implements ResultHandler<Object> {
+
+  private static final int MAX_INITIAL_CAPACITY = 1024;
+
+  private static final int INT = 0;
+  private static final int LONG = 1;
+  private static final int DOUBLE = 2;
+  private static final int STRING = 3;
+  private static final int OBJECT = 4;
+
+  private final int batchSize;
+  private final ColumnBatchHandler batchHandler;
+
+  public ColumnarResultHandler(int batchSize, ColumnBatchHandler batchHandler) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The batch size must be positive but was " + batchSize);
+    }
+    this.batchSize = batchSize;
+    this.batchHandler = batchHandler;
+  }
+
+  @Override
+  public void handleResult(ResultContext<? extends Object> context) {
+    throw new ExecutorException("Columnar results are read from the result set, they cannot be built from mapped rows.");
+  }
+
+  /**
+   * Reads the rows of a result set, from its current position, and hands them over batch by batch.
+   *
+   * @param rsw the result set
+   * @param resultMap the result map of the statement, its mappings give the type handlers of their columns
+   * @param maxRows the maximum number of rows to read
+   * @return the number of rows read
+   */
+  public int handleResultSet(ResultSetWrapper rsw, ResultMap resultMap, int maxRows) throws SQLException {
+    final List<ColumnReader> readers = createReaders(rsw, resultMap);
+    final ResultSet rs = rsw.getResultSet();
+    final int capacity = Math.min(batchSize, MAX_INITIAL_CAPACITY);
+    ColumnVector[] vectors = newVectors(readers, capacity);
+    int rowCount = 0;
+    int batchRowCount = 0;
+    boolean handled = false;
+    while (rowCount < maxRows && rs.next()) {
+      for (int i = 0; i < vectors.length; i++) {
+        readers.get(i).read(rs, vectors[i]);
+      }
+      rowCount++;
+      if (++batchRowCount == batchSize) {
+        batchHandler.handleBatch(new ColumnBatch(Arrays.asList(vectors)));
+        handled = true;
+        vectors = newVectors(readers, capacity);
+        batchRowCount = 0;
+      }
+    }
+    if (batchRowCount > 0 || !handled) {
+      batchHandler.handleBatch(new ColumnBatch(Arrays.asList(vectors)));
+    }
+    return rowCount;
+  }
+
+  private List<ColumnReader> createReaders(ResultSetWrapper rsw, ResultMap resultMap) {
+    final Map<String, TypeHandler<?>> mappedTypeHandlers = new HashMap<>();
+    if (resultMap != null) {
+      for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+        if (resultMapping.getColumn() != null && resultMapping.getTypeHandler() != null
+            && resultMapping.getNestedQueryId() == null && resultMapping.getNestedResultMapId() == null
+            && !resultMapping.isCompositeResult()) {
+          mappedTypeHandlers.put(resultMapping.getColumn().toUpperCase(Locale.ENGLISH), resultMapping.getTypeHandler());
+        }
+      }
+    }
+    final List<ColumnReader> readers = new ArrayList<>();
+    for (String column : rsw.getColumnNames()) {
+      TypeHandler<?> typeHandler = mappedTypeHandlers.get(column.toUpperCase(Locale.ENGLISH));
+      typeHandler = typeHandler == null ? rsw.getTypeHandler(Object.class, column) : rsw.resolveTypeHandler(typeHandler, column);
+      readers.add(new ColumnReader(column, typeHandler));
+    }
+    return readers;
+  }
+
+  private static ColumnVector[] newVectors(List<ColumnReader> readers, int capacity) {
+    ColumnVector[] vectors = new ColumnVector[readers.size()];
+    for (int i = 0; i < vectors.length; i++) {
+      vectors[i] = readers.get(i).newVector(capacity);
+    }
+    return vectors;
+  }
+
+  private static final class ColumnReader {
+
+    private final String column;
+    private final TypeHandler<?> typeHandler;
+    private final Class<?> javaType;
+    private final int kind;
+
+    ColumnReader(String column, TypeHandler<?> typeHandler) {
+      this.column = column;
+      this.typeHandler = typeHandler;
+      Type rawType = typeHandler instanceof TypeReference ? ((TypeReference<?>) typeHandler).getRawType() : null;
+      this.javaType = rawType instanceof Class ? (Class<?>) rawType : Object.class;
+      Class<?> primitiveType = PrimitiveTypeHandler.primitiveTypeOf(typeHandler);
+      if (primitiveType == int.class) {
+        kind = INT;
+      } else if (primitiveType == long.class) {
+        kind = LONG;
+      } else if (primitiveType == double.class) {
+        kind = DOUBLE;
+      } else if (javaType == String.class) {
+        kind = STRING;
+      } else {
+        kind = OBJECT;
+      }
+    }
+
+    ColumnVector newVector(int capacity) {
+      switch (kind) {
+        case INT:
+          return new IntVector(column, capacity);
+        case LONG:
+          return new LongVector(column, capacity);
+        case DOUBLE:
+          return new DoubleVector(column, capacity);
+        case STRING:
+          return new StringVector(column, capacity);
+        default:
+          return new ObjectVector(column, javaType, capacity);
+      }
+    }
+
+    void read(ResultSet rs, ColumnVector vector) throws SQLException {
+      switch (kind) {
+        case INT: {
+          int value = ((PrimitiveTypeHandler.OfInt) typeHandler).getInt(rs, column);
+          if (rs.wasNull()) {
+            vector.addNull();
+          } else {
+            ((IntVector) vector).add(value);
+          }
+          break;
+        }
+        case LONG: {
+          long value = ((PrimitiveTypeHandler.OfLong) typeHandler).getLong(rs, column);
+          if (rs.wasNull()) {
+            vector.addNull();
+          } else {
+            ((LongVector) vector).add(value);
+          }
+          break;
+        }
+        case DOUBLE: {
+          double value = ((PrimitiveTypeHandler.OfDouble) typeHandler).getDouble(rs, column);
+          if (rs.wasNull()) {
+            vector.addNull();
+          } else {
+            ((DoubleVector) vector).add(value);
+          }
+          break;
+        }
+        case STRING:
+          ((StringVector) vector).add((String) typeHandler.getResult(rs, column));
+          break;
+        default:
+          ((ObjectVector) vector).add(typeHandler.getResult(rs, column));
+          break;
+      }
+    }
+  }
+
+}
@@ -26,9 +26,11 @@ import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.executor.loader.ResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.result.ColumnarResultHandler;
 import org.apache.ibatis.executor.result.DefaultResultContext;
 import org.apache.ibatis.executor.result.DefaultResultHandler;
 import org.apache.ibatis.executor.result.ResultMapException;
+import org.apache.ibatis.executor.statement.FetchSizeAdvisor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.Discriminator;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -94,10 +96,15 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
+  private final Map<String, PrimitiveColumnMapping[]> primitiveMappingsCache = new HashMap<>();
+  private final Map<String, RowMap.Schema> rowMapSchemaCache = new HashMap<>();
 
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
 
+  // rows fetched from the result sets, learnt by the fetch size advisor
+  private long fetchedRowCount;
+
   private static class PendingRelation {
     public MetaObject metaObject;
     public ResultMapping propertyMapping;
@@ -108,12 +115,15 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     private final String property;
     private final TypeHandler<?> typeHandler;
     private final boolean primitive;
+    private final PrimitiveColumnMapping primitiveMapping;
 
-    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
+    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive,
+        PrimitiveColumnMapping primitiveMapping) {
       this.column = column;
       this.property = property;
       this.typeHandler = typeHandler;
       this.primitive = primitive;
+      this.primitiveMapping = primitiveMapping;
     }
   }
 
@@ -185,6 +195,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
     int resultSetCount = 0;
     ResultSetWrapper rsw = getFirstResultSet(stmt);
+    FetchSizeAdvisor fetchSizeAdvisor = configuration.getFetchSizeAdvisor();
+    if (fetchSizeAdvisor.isEnabled()) {
+      fetchSizeAdvisor.learnRowWidth(mappedStatement, rsw);
+    }
 
     List<ResultMap> resultMaps = mappedStatement.getResultMaps();
     int resultMapCount = resultMaps.size();
@@ -212,6 +226,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       }
     }
 
+    recordFetchedRows();
     return collapseSingleResultList(multipleResults);
   }
 
@@ -230,9 +245,53 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
 
     ResultMap resultMap = resultMaps.get(0);
+    FetchSizeAdvisor fetchSizeAdvisor = configuration.getFetchSizeAdvisor();
+    if (fetchSizeAdvisor.isEnabled()) {
+      fetchSizeAdvisor.learnRowWidth(mappedStatement, rsw);
+    }
+    Integer prefetchSize = configuration.getCursorPrefetchSize();
+    // rows are mapped by another thread, which must not run nested queries on the executor
+    if (prefetchSize != null && prefetchSize > 0 && isPrefetchable(resultMap, new HashSet<>())) {
+      return new DefaultCursor<>(this, resultMap, rsw, rowBounds, prefetchSize);
+    }
     return new DefaultCursor<>(this, resultMap, rsw, rowBounds);
   }
 
+  /**
+   * A result map can be mapped by another thread when neither it nor any of its nested result maps runs nested
+   * queries or depends on a discriminator.
+   */
+  private boolean isPrefetchable(ResultMap resultMap, Set<String> visited) {
+    if (!visited.add(resultMap.getId())) {
+      return true;
+    }
+    if (resultMap.hasNestedQueries() || resultMap.getDiscriminator() != null) {
+      return false;
+    }
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      if (resultMapping.getNestedQueryId() != null) {
+        return false;
+      }
+      String nestedResultMapId = resultMapping.getNestedResultMapId();
+      if (nestedResultMapId != null && !isPrefetchable(configuration.getResultMap(nestedResultMapId), visited)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Records the rows fetched so far for the fetch size advisor. Cursors call it once closed.
+   *
+   * @since 3.5.0
+   */
+  public void recordFetchedRows() {
+    FetchSizeAdvisor fetchSizeAdvisor = configuration.getFetchSizeAdvisor();
+    if (fetchSizeAdvisor.isEnabled()) {
+      fetchSizeAdvisor.recordRowCount(mappedStatement, fetchedRowCount);
+    }
+  }
+
   private ResultSetWrapper getFirstResultSet(Statement stmt) throws SQLException {
     ResultSet rs = stmt.getResultSet();
     while (rs == null) {
@@ -300,6 +359,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           DefaultResultHandler defaultResultHandler = new DefaultResultHandler(objectFactory);
           handleRowValues(rsw, resultMap, defaultResultHandler, rowBounds, null);
           multipleResults.add(defaultResultHandler.getResultList());
+        } else if (resultHandler instanceof ColumnarResultHandler) {
+          skipRows(rsw.getResultSet(), rowBounds);
+          fetchedRowCount += ((ColumnarResultHandler) resultHandler).handleResultSet(rsw, resultMap, rowBounds.getLimit());
         } else {
           handleRowValues(rsw, resultMap, resultHandler, rowBounds, null);
         }
@@ -350,6 +412,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     ResultSet resultSet = rsw.getResultSet();
     skipRows(resultSet, rowBounds);
     while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+      fetchedRowCount++;
       ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
       Object rowValue = getRowValue(rsw, discriminatedResultMap, null);
       storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
@@ -429,7 +492,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     final List<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
     boolean foundValues = false;
     final List<ResultMapping> propertyMappings = resultMap.getPropertyResultMappings();
-    for (ResultMapping propertyMapping : propertyMappings) {
+    final PrimitiveColumnMapping[] primitiveMappings = getPrimitiveMappings(resultMap, metaObject, columnPrefix);
+    for (int i = 0; i < propertyMappings.size(); i++) {
+      ResultMapping propertyMapping = propertyMappings.get(i);
       String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
       if (propertyMapping.getNestedResultMapId() != null) {
         // the user added a column attribute to a nested result map, ignore it
@@ -438,7 +503,14 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (propertyMapping.isCompositeResult()
           || (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH)))
           || propertyMapping.getResultSet() != null) {
-        Object value = getPropertyMappingValue(rsw.getResultSet(), metaObject, propertyMapping, lazyLoader, columnPrefix);
+        PrimitiveColumnMapping primitiveMapping = primitiveMappings[i];
+        if (primitiveMapping != null && primitiveMapping.appliesTo(metaObject)) {
+          if (primitiveMapping.apply(rsw.getResultSet(), metaObject.getOriginalObject())) {
+            foundValues = true;
+          }
+          continue;
+        }
+        Object value = getPropertyMappingValue(rsw, metaObject, propertyMapping, lazyLoader, columnPrefix);
         // issue #541 make property optional
         final String property = propertyMapping.getProperty();
         if (property == null) {
@@ -459,16 +531,36 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return foundValues;
   }
 
-  private Object getPropertyMappingValue(ResultSet rs, MetaObject metaResultObject, ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix)
+  private PrimitiveColumnMapping[] getPrimitiveMappings(ResultMap resultMap, MetaObject metaObject, String columnPrefix) {
+    final String mapKey = resultMap.getId() + ":" + columnPrefix;
+    PrimitiveColumnMapping[] primitiveMappings = primitiveMappingsCache.get(mapKey);
+    if (primitiveMappings == null) {
+      final List<ResultMapping> propertyMappings = resultMap.getPropertyResultMappings();
+      primitiveMappings = new PrimitiveColumnMapping[propertyMappings.size()];
+      for (int i = 0; i < primitiveMappings.length; i++) {
+        ResultMapping propertyMapping = propertyMappings.get(i);
+        if (propertyMapping.getNestedQueryId() == null && propertyMapping.getNestedResultMapId() == null
+            && propertyMapping.getResultSet() == null && !propertyMapping.isCompositeResult()) {
+          primitiveMappings[i] = PrimitiveColumnMapping.of(reflectorFactory, metaObject, propertyMapping.getProperty(),
+              propertyMapping.getTypeHandler(), prependPrefix(propertyMapping.getColumn(), columnPrefix));
+        }
+      }
+      primitiveMappingsCache.put(mapKey, primitiveMappings);
+    }
+    return primitiveMappings;
+  }
+
+  private Object getPropertyMappingValue(ResultSetWrapper rsw, MetaObject metaResultObject, ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix)
       throws SQLException {
+    final ResultSet rs = rsw.getResultSet();
     if (propertyMapping.getNestedQueryId() != null) {
       return getNestedQueryMappingValue(rs, metaResultObject, propertyMapping, lazyLoader, columnPrefix);
     } else if (propertyMapping.getResultSet() != null) {
       addPendingChildRelation(rs, metaResultObject, propertyMapping);   // TODO is that OK?
       return DEFERED;
     } else {
-      final TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
       final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
+      final TypeHandler<?> typeHandler = rsw.resolveTypeHandler(propertyMapping.getTypeHandler(), column);
       return typeHandler.getResult(rs, column);
     }
   }
@@ -498,7 +590,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final Class<?> propertyType = metaObject.getSetterType(property);
           if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
             final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
+            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive(),
+                PrimitiveColumnMapping.of(reflectorFactory, metaObject, property, typeHandler, columnName)));
           } else {
             configuration.getAutoMappingUnknownColumnBehavior()
                 .doAction(mappedStatement, columnName, property, propertyType);
@@ -518,6 +611,12 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {
       for (UnMappedColumnAutoMapping mapping : autoMapping) {
+        if (mapping.primitiveMapping != null && mapping.primitiveMapping.appliesTo(metaObject)) {
+          if (mapping.primitiveMapping.apply(rsw.getResultSet(), metaObject.getOriginalObject())) {
+            foundValues = true;
+          }
+          continue;
+        }
         final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
         if (value != null) {
           foundValues = true;
@@ -612,6 +711,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       return createPrimitiveResultObject(rsw, resultMap, columnPrefix);
     } else if (!constructorMappings.isEmpty()) {
       return createParameterizedResultObject(rsw, resultType, constructorMappings, constructorArgTypes, constructorArgs, columnPrefix);
+    } else if (Map.class.equals(resultType) && configuration.isCompactMapResults()) {
+      return new RowMap(getRowMapSchema(rsw, resultMap, columnPrefix));
     } else if (resultType.isInterface() || metaType.hasDefaultConstructor()) {
       return objectFactory.create(resultType);
     } else if (shouldApplyAutomaticMappings(resultMap, false)) {
@@ -620,6 +721,33 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     throw new ExecutorException("Do not know how to create an instance of " + resultType);
   }
 
+  private RowMap.Schema getRowMapSchema(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
+    final String mapKey = resultMap.getId() + ":" + columnPrefix;
+    RowMap.Schema schema = rowMapSchemaCache.get(mapKey);
+    if (schema == null) {
+      // keys a row is expected to get, any other key goes to the overflow of the row
+      final List<String> keys = new ArrayList<>();
+      for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+        final String property = propertyMapping.getProperty();
+        if (property != null && property.indexOf('.') < 0) {
+          keys.add(property);
+        }
+      }
+      if (shouldApplyAutomaticMappings(resultMap, false)) {
+        for (String columnName : rsw.getUnmappedColumnNames(resultMap, columnPrefix)) {
+          if (columnPrefix == null || columnPrefix.isEmpty()) {
+            keys.add(columnName);
+          } else if (columnName.toUpperCase(Locale.ENGLISH).startsWith(columnPrefix)) {
+            keys.add(columnName.substring(columnPrefix.length()));
+          }
+        }
+      }
+      schema = new RowMap.Schema(keys);
+      rowMapSchemaCache.put(mapKey, schema);
+    }
+    return schema;
+  }
+
   Object createParameterizedResultObject(ResultSetWrapper rsw, Class<?> resultType, List<ResultMapping> constructorMappings,
                                          List<Class<?>> constructorArgTypes, List<Object> constructorArgs, String columnPrefix) {
     boolean foundValues = false;
@@ -634,8 +762,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final ResultMap resultMap = configuration.getResultMap(constructorMapping.getNestedResultMapId());
           value = getRowValue(rsw, resultMap, constructorMapping.getColumnPrefix());
         } else {
-          final TypeHandler<?> typeHandler = constructorMapping.getTypeHandler();
-          value = typeHandler.getResult(rsw.getResultSet(), prependPrefix(column, columnPrefix));
+          final String prefixedColumn = prependPrefix(column, columnPrefix);
+          final TypeHandler<?> typeHandler = rsw.resolveTypeHandler(constructorMapping.getTypeHandler(), prefixedColumn);
+          value = typeHandler.getResult(rsw.getResultSet(), prefixedColumn);
         }
       } catch (ResultMapException | SQLException e) {
         throw new ExecutorException("Could not process result for mapping: " + constructorMapping, e);
@@ -854,6 +983,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     skipRows(resultSet, rowBounds);
     Object rowValue = previousRowValue;
     while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+      fetchedRowCount++;
       final ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
       final CacheKey rowKey = createRowKey(discriminatedResultMap, rsw, null);
       Object partialObject = nestedResultObjects.get(rowKey);
@@ -1053,7 +1183,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
             prependPrefix(resultMapping.getColumnPrefix(), columnPrefix));
       } else if (resultMapping.getNestedQueryId() == null) {
         final String column = prependPrefix(resultMapping.getColumn(), columnPrefix);
-        final TypeHandler<?> th = resultMapping.getTypeHandler();
+        final TypeHandler<?> th = rsw.resolveTypeHandler(resultMapping.getTypeHandler(), column);
         List<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
         // Issue #114
         if (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
@@ -0,0 +1,140 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSet;
+
+import org.apache.ibatis.executor.result.ResultMapException;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.PrimitiveSetter;
+import org.apache.ibatis.reflection.wrapper.BeanWrapper;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Maps a column to an {@code int}, {@code long} or {@code double} property without boxing its value.
+ *
+ * @since 3.5.0
+ */
+final class PrimitiveColumnMapping {
+
+  private final String column;
+  private final String property;
+  private final PrimitiveTypeHandler typeHandler;
+  private final Class<?> resultType;
+  private final PrimitiveSetter setter;
+
+  private PrimitiveColumnMapping(String column, String property, PrimitiveTypeHandler typeHandler, Class<?> resultType,
+      PrimitiveSetter setter) {
+    this.column = column;
+    this.property = property;
+    this.typeHandler = typeHandler;
+    this.resultType = resultType;
+    this.setter = setter;
+  }
+
+  /**
+   * Returns a mapping when both the type handler and the property of the result object are primitive, {@code null}
+   * otherwise.
+   */
+  static PrimitiveColumnMapping of(ReflectorFactory reflectorFactory, MetaObject metaObject, String property,
+      TypeHandler<?> typeHandler, String column) {
+    Class<?> primitiveType = PrimitiveTypeHandler.primitiveTypeOf(typeHandler);
+    if (primitiveType == null || column == null || property == null
+        || property.indexOf('.') >= 0 || property.indexOf('[') >= 0
+        || !(metaObject.getObjectWrapper() instanceof BeanWrapper)) {
+      return null;
+    }
+    Class<?> resultType = metaObject.getOriginalObject().getClass();
+    PrimitiveSetter setter = reflectorFactory.findForClass(resultType).getPrimitiveSetter(property);
+    if (setter == null || setter.getType() != primitiveType) {
+      return null;
+    }
+    return new PrimitiveColumnMapping(column, property, (PrimitiveTypeHandler) typeHandler, resultType, setter);
+  }
+
+  boolean appliesTo(MetaObject metaObject) {
+    return metaObject.getOriginalObject().getClass() == resultType;
+  }
+
+  /**
+   * Sets the property from the column, unless it is {@code NULL}.
+   *
+   * @return whether the property was set
+   */
+  boolean apply(ResultSet rs, Object resultObject) {
+    Class<?> type = setter.getType();
+    if (type == int.class) {
+      int value;
+      try {
+        value = ((PrimitiveTypeHandler.OfInt) typeHandler).getInt(rs, column);
+        if (value == 0 && rs.wasNull()) {
+          return false;
+        }
+      } catch (Exception e) {
+        throw columnError(e);
+      }
+      try {
+        setter.setInt(resultObject, value);
+      } catch (Throwable t) {
+        throw propertyError(resultObject, value, t);
+      }
+    } else if (type == long.class) {
+      long value;
+      try {
+        value = ((PrimitiveTypeHandler.OfLong) typeHandler).getLong(rs, column);
+        if (value == 0 && rs.wasNull()) {
+          return false;
+        }
+      } catch (Exception e) {
+        throw columnError(e);
+      }
+      try {
+        setter.setLong(resultObject, value);
+      } catch (Throwable t) {
+        throw propertyError(resultObject, value, t);
+      }
+    } else {
+      double value;
+      try {
+        value = ((PrimitiveTypeHandler.OfDouble) typeHandler).getDouble(rs, column);
+        if (value == 0 && rs.wasNull()) {
+          return false;
+        }
+      } catch (Exception e) {
+        throw columnError(e);
+      }
+      try {
+        setter.setDouble(resultObject, value);
+      } catch (Throwable t) {
+        throw propertyError(resultObject, value, t);
+      }
+    }
+    return true;
+  }
+
+  private ResultMapException columnError(Exception e) {
+    return new ResultMapException("Error attempting to get column '" + column + "' from result set.  Cause: " + e, e);
+  }
+
+  private ReflectionException propertyError(Object resultObject, Object value, Throwable t) {
+    return new ReflectionException("Could not set property '" + property + "' of '" + resultObject.getClass()
+        + "' with value '" + value + "' Cause: " + t.toString(), t);
+  }
+
+}
@@ -46,6 +46,7 @@ public class ResultSetWrapper {
   private final List<String> classNames = new ArrayList<>();
   private final List<JdbcType> jdbcTypes = new ArrayList<>();
   private final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new HashMap<>();
+  private final Map<String, TypeHandler<?>> resolvedTypeHandlerMap = new HashMap<>();
   private final Map<String, List<String>> mappedColumnNamesMap = new HashMap<>();
   private final Map<String, List<String>> unMappedColumnNamesMap = new HashMap<>();
 
@@ -129,6 +130,33 @@ public class ResultSetWrapper {
     return handler;
   }
 
+  /**
+   * Replaces an {@link UnknownTypeHandler} by the handler resolved from the column metadata.
+   * The resolution is cached with the other handlers of this result set, so it is not repeated for every row.
+   *
+   * @param typeHandler the handler of the mapping
+   * @param columnName the column to read
+   * @return the resolved handler, or the given one if it is not unknown or the column is not in this result set
+   * @since 3.5.0
+   */
+  public TypeHandler<?> resolveTypeHandler(TypeHandler<?> typeHandler, String columnName) {
+    if (!(typeHandler instanceof UnknownTypeHandler) || columnName == null) {
+      return typeHandler;
+    }
+    TypeHandler<?> resolved = resolvedTypeHandlerMap.get(columnName);
+    if (resolved == null && !resolvedTypeHandlerMap.containsKey(columnName)) {
+      for (String name : columnNames) {
+        if (name.equalsIgnoreCase(columnName)) {
+          resolved = getTypeHandler(Object.class, name);
+          break;
+        }
+      }
+      // a null value records that the column is not in this result set
+      resolvedTypeHandlerMap.put(columnName, resolved);
+    }
+    return resolved == null ? typeHandler : resolved;
+  }
+
   private Class<?> resolveClass(String className) {
     try {
       // #699 className could be null
@@ -0,0 +1,275 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link Map} row of a <code>resultType="map"</code> query.
+ * The columns of the result set are held once in a {@link Schema} shared by all its rows,
+ * each row only keeps an array of values. Keys that are not in the schema are kept in a per row overflow map.
+ *
+ * @since 3.5.0
+ */
+final class RowMap extends AbstractMap<String, Object> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Schema schema;
+  private final Object[] values;
+  private int schemaSize;
+  private Map<String, Object> overflow;
+
+  RowMap(Schema schema) {
+    this.schema = schema;
+    this.values = new Object[schema.keys.length];
+    Arrays.fill(values, Absent.VALUE);
+  }
+
+  @Override
+  public int size() {
+    return schemaSize + (overflow == null ? 0 : overflow.size());
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    int index = schema.indexOf(key);
+    if (index >= 0) {
+      return values[index] != Absent.VALUE;
+    }
+    return overflow != null && overflow.containsKey(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    int index = schema.indexOf(key);
+    if (index >= 0) {
+      Object value = values[index];
+      return value == Absent.VALUE ? null : value;
+    }
+    return overflow == null ? null : overflow.get(key);
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    int index = schema.indexOf(key);
+    if (index >= 0) {
+      Object previous = values[index];
+      values[index] = value;
+      if (previous == Absent.VALUE) {
+        schemaSize++;
+        return null;
+      }
+      return previous;
+    }
+    if (overflow == null) {
+      overflow = new HashMap<>();
+    }
+    return overflow.put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    int index = schema.indexOf(key);
+    if (index >= 0) {
+      return removeAt(index);
+    }
+    return overflow == null ? null : overflow.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(values, Absent.VALUE);
+    schemaSize = 0;
+    overflow = null;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<Entry<String, Object>>() {
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return RowMap.this.size();
+      }
+
+      @Override
+      public void clear() {
+        RowMap.this.clear();
+      }
+    };
+  }
+
+  private Object removeAt(int index) {
+    Object previous = values[index];
+    if (previous == Absent.VALUE) {
+      return null;
+    }
+    values[index] = Absent.VALUE;
+    schemaSize--;
+    return previous;
+  }
+
+  private int nextPresent(int from) {
+    for (int i = from; i < values.length; i++) {
+      if (values[i] != Absent.VALUE) {
+        return i;
+      }
+    }
+    return values.length;
+  }
+
+  private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+    private int next = nextPresent(0);
+    private int last = -1;
+    private Iterator<Entry<String, Object>> overflowIterator;
+
+    @Override
+    public boolean hasNext() {
+      if (next < values.length) {
+        return true;
+      }
+      if (overflowIterator == null && overflow != null) {
+        overflowIterator = overflow.entrySet().iterator();
+      }
+      return overflowIterator != null && overflowIterator.hasNext();
+    }
+
+    @Override
+    public Entry<String, Object> next() {
+      if (next < values.length) {
+        last = next;
+        next = nextPresent(next + 1);
+        return new SchemaEntry(last);
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = -1;
+      return overflowIterator.next();
+    }
+
+    @Override
+    public void remove() {
+      if (last >= 0) {
+        removeAt(last);
+        last = -1;
+      } else if (overflowIterator != null) {
+        overflowIterator.remove();
+      } else {
+        throw new IllegalStateException();
+      }
+    }
+  }
+
+  private final class SchemaEntry implements Entry<String, Object> {
+
+    private final int index;
+
+    SchemaEntry(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public String getKey() {
+      return schema.keys[index];
+    }
+
+    @Override
+    public Object getValue() {
+      Object value = values[index];
+      return value == Absent.VALUE ? null : value;
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      Object previous = getValue();
+      if (values[index] == Absent.VALUE) {
+        schemaSize++;
+      }
+      values[index] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> e = (Entry<?, ?>) o;
+      Object value = getValue();
+      return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      Object value = getValue();
+      return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+
+  /**
+   * Marks a schema key that has no value in a row, null being a valid value.
+   */
+  private enum Absent {
+    VALUE
+  }
+
+  /**
+   * The keys shared by all the rows of a result set.
+   */
+  static final class Schema implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] keys;
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    Schema(Collection<String> keys) {
+      Set<String> uniqueKeys = new LinkedHashSet<>(keys);
+      this.keys = uniqueKeys.toArray(new String[uniqueKeys.size()]);
+      for (int i = 0; i < this.keys.length; i++) {
+        indexes.put(this.keys[i], i);
+      }
+    }
+
+    int indexOf(Object key) {
+      Integer index = indexes.get(key);
+      return index == null ? -1 : index;
+    }
+  }
+
+}
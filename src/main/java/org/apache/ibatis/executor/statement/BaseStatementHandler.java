@@ -50,6 +50,11 @@ public abstract class BaseStatementHandler implements StatementHandler {
 
   protected BoundSql boundSql;
 
+  /**
+   * {@link System#nanoTime()} when {@link #prepare(Connection, Integer)} was called, 0 for a reused statement
+   */
+  protected long prepareStartTime;
+
   protected BaseStatementHandler(Executor executor, MappedStatement mappedStatement, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
     this.configuration = mappedStatement.getConfiguration();
     this.executor = executor;
@@ -82,6 +87,7 @@ public abstract class BaseStatementHandler implements StatementHandler {
 
   @Override
   public Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException {
+    prepareStartTime = System.nanoTime();
     ErrorContext.instance().sql(boundSql.getSql());
     Statement statement = null;
     try {
@@ -128,6 +134,15 @@ public abstract class BaseStatementHandler implements StatementHandler {
       stmt.setFetchSize(fetchSize);
       return;
     }
+    // 其次使用按语句历史行数和行宽估算的值
+    FetchSizeAdvisor fetchSizeAdvisor = configuration.getFetchSizeAdvisor();
+    if (fetchSizeAdvisor.isEnabled()) {
+      Integer advisedFetchSize = fetchSizeAdvisor.getFetchSize(mappedStatement);
+      if (advisedFetchSize != null) {
+        stmt.setFetchSize(advisedFetchSize);
+        return;
+      }
+    }
     // 使用默认的配置
     Integer defaultFetchSize = configuration.getDefaultFetchSize();
     if (defaultFetchSize != null) {
@@ -135,6 +150,26 @@ public abstract class BaseStatementHandler implements StatementHandler {
     }
   }
 
+  /**
+   * 记录慢语句
+   * 执行时间超过阈值时由 {@link SlowStatementTracker} 记录本次执行的耗时分布
+   * @param executeStartTime 开始执行语句时的 {@link System#nanoTime()}
+   * 在 finally 中调用，执行失败或超时的语句同样会被记录
+   * @param executeStartTime 开始执行语句时的 {@link System#nanoTime()}
+   * @param executedTime 数据库返回时的 {@link System#nanoTime()}，语句执行失败时为 0
+   */
+  protected void trackSlowStatement(long executeStartTime, long executedTime) {
+    SlowStatementTracker tracker = configuration.getSlowStatementTracker();
+    if (tracker.isEnabled()) {
+      if (executedTime == 0) {
+        // 执行失败，到此刻为止都算作执行时间
+        executedTime = System.nanoTime();
+      }
+      long preparationTime = prepareStartTime == 0 ? 0 : executeStartTime - prepareStartTime;
+      tracker.record(mappedStatement, boundSql, preparationTime, executedTime - executeStartTime, System.nanoTime() - executedTime);
+    }
+  }
+
   protected void closeStatement(Statement statement) {
     try {
       if (statement != null) {
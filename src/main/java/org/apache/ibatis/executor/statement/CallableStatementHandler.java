@@ -47,13 +47,20 @@ public class CallableStatementHandler extends BaseStatementHandler {
   @Override
   public int update(Statement statement) throws SQLException {
     CallableStatement cs = (CallableStatement) statement;
-    cs.execute();
-    int rows = cs.getUpdateCount();
-    Object parameterObject = boundSql.getParameterObject();
-    KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
-    keyGenerator.processAfter(executor, mappedStatement, cs, parameterObject);
-    resultSetHandler.handleOutputParameters(cs);
-    return rows;
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      cs.execute();
+      int rows = cs.getUpdateCount();
+      executedTime = System.nanoTime();
+      Object parameterObject = boundSql.getParameterObject();
+      KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
+      keyGenerator.processAfter(executor, mappedStatement, cs, parameterObject);
+      resultSetHandler.handleOutputParameters(cs);
+      return rows;
+    } finally {
+      trackSlowStatement(startTime, executedTime);
+    }
   }
 
   @Override
@@ -65,16 +72,30 @@ public class CallableStatementHandler extends BaseStatementHandler {
   @Override
   public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
     CallableStatement cs = (CallableStatement) statement;
-    cs.execute();
-    List<E> resultList = resultSetHandler.<E>handleResultSets(cs);
-    resultSetHandler.handleOutputParameters(cs);
-    return resultList;
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      cs.execute();
+      executedTime = System.nanoTime();
+      List<E> resultList = resultSetHandler.<E>handleResultSets(cs);
+      resultSetHandler.handleOutputParameters(cs);
+      return resultList;
+    } finally {
+      trackSlowStatement(startTime, executedTime);
+    }
   }
 
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
     CallableStatement cs = (CallableStatement) statement;
-    cs.execute();
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      cs.execute();
+      executedTime = System.nanoTime();
+    } finally {
+      trackSlowStatement(startTime, executedTime);
+    }
     Cursor<E> resultList = resultSetHandler.<E>handleCursorResultSets(cs);
     resultSetHandler.handleOutputParameters(cs);
     return resultList;
@@ -0,0 +1,68 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Runs the captured SQL prefixed with <code>EXPLAIN</code> and returns the rows of the plan, one per line.
+ * The prefix can be changed for databases using a different syntax (e.g. <code>EXPLAIN ANALYZE</code>).
+ *
+ * @since 3.5.0
+ */
+public class DefaultExplainHook implements ExplainHook {
+
+  private final String prefix;
+
+  public DefaultExplainHook() {
+    this("EXPLAIN ");
+  }
+
+  public DefaultExplainHook(String prefix) {
+    this.prefix = prefix;
+  }
+
+  @Override
+  public String explain(Connection connection, SlowStatement slowStatement) throws SQLException {
+    try (PreparedStatement ps = connection.prepareStatement(prefix + slowStatement.getSql())) {
+      List<Object> parameters = slowStatement.getParameters();
+      for (int i = 0; i < parameters.size(); i++) {
+        ps.setObject(i + 1, parameters.get(i));
+      }
+      StringBuilder plan = new StringBuilder();
+      try (ResultSet rs = ps.executeQuery()) {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        while (rs.next()) {
+          for (int i = 1; i <= columnCount; i++) {
+            if (i > 1) {
+              plan.append('\t');
+            }
+            plan.append(rs.getString(i));
+          }
+          plan.append('\n');
+        }
+      }
+      return plan.toString();
+    }
+  }
+
+}
@@ -0,0 +1,32 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Retrieves the execution plan of a slow statement.
+ * The hook is invoked asynchronously on a connection of its own that is closed right after.
+ *
+ * @since 3.5.0
+ * @see SlowStatementTracker#setExplainHook(ExplainHook)
+ */
+public interface ExplainHook {
+
+  String explain(Connection connection, SlowStatement slowStatement) throws SQLException;
+
+}
@@ -0,0 +1,191 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.executor.resultset.ResultSetWrapper;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * Learns the typical row count and row width of each statement to advise a fetch size.
+ * <p>
+ * The advised fetch size covers the expected row count, so that small lookups are fetched in one
+ * round trip without overfetching, and is bounded by the memory budget divided by the row width,
+ * so that large exports use as few round trips as the budget allows.
+ * Statements are only advised once a first execution has been recorded.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+public class FetchSizeAdvisor {
+
+  private static final int MINIMUM_FETCH_SIZE = 10;
+  private static final int MAXIMUM_FETCH_SIZE = 10000;
+  private static final int ROW_OVERHEAD = 32;
+  private static final int LOB_WIDTH = 4096;
+  private static final int DEFAULT_VARIABLE_WIDTH = 256;
+  private static final double SMOOTHING = 0.2D;
+
+  private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+  private volatile Long memoryBudget;
+
+  public boolean isEnabled() {
+    return memoryBudget != null;
+  }
+
+  public Long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  /**
+   * Sets the number of bytes a fetched block of rows may take. A <code>null</code> value disables the advisor.
+   */
+  public void setMemoryBudget(Long memoryBudget) {
+    if (memoryBudget != null && memoryBudget <= 0) {
+      throw new IllegalArgumentException("The fetch size memory budget must be greater than zero but was " + memoryBudget);
+    }
+    this.memoryBudget = memoryBudget;
+  }
+
+  /**
+   * Returns the fetch size advised for a statement, or <code>null</code> while nothing was learnt about it.
+   */
+  public Integer getFetchSize(MappedStatement mappedStatement) {
+    Long budget = memoryBudget;
+    Statistics stats = statistics.get(mappedStatement.getId());
+    if (budget == null || stats == null || stats.executions == 0 || stats.rowWidth == 0) {
+      return null;
+    }
+    // statements that usually return no row still get a useful block when they do
+    long expectedRows = Math.max(MINIMUM_FETCH_SIZE, (long) Math.ceil(stats.rowCount * 1.25D) + 1);
+    long budgetRows = Math.max(1L, budget / stats.rowWidth);
+    return (int) Math.min(MAXIMUM_FETCH_SIZE, Math.min(expectedRows, budgetRows));
+  }
+
+  /**
+   * Estimates the row width of a statement from its first result set, unless already known.
+   */
+  public void learnRowWidth(MappedStatement mappedStatement, ResultSetWrapper rsw) {
+    if (rsw == null) {
+      return;
+    }
+    Statistics stats = statistics.computeIfAbsent(mappedStatement.getId(), k -> new Statistics());
+    if (stats.rowWidth == 0) {
+      stats.rowWidth = estimateRowWidth(rsw);
+    }
+  }
+
+  /**
+   * Records the number of rows an execution of the statement fetched.
+   */
+  public void recordRowCount(MappedStatement mappedStatement, long rowCount) {
+    Statistics stats = statistics.computeIfAbsent(mappedStatement.getId(), k -> new Statistics());
+    synchronized (stats) {
+      if (stats.executions++ == 0) {
+        stats.rowCount = rowCount;
+      } else {
+        stats.rowCount += SMOOTHING * (rowCount - stats.rowCount);
+      }
+    }
+  }
+
+  /**
+   * Forgets what was learnt about the statements.
+   */
+  public void clear() {
+    statistics.clear();
+  }
+
+  private int estimateRowWidth(ResultSetWrapper rsw) {
+    int width = ROW_OVERHEAD;
+    List<JdbcType> jdbcTypes = rsw.getJdbcTypes();
+    ResultSetMetaData metaData = null;
+    for (int i = 0; i < jdbcTypes.size(); i++) {
+      JdbcType jdbcType = jdbcTypes.get(i);
+      int columnWidth = fixedWidth(jdbcType);
+      if (columnWidth == 0) {
+        try {
+          if (metaData == null) {
+            metaData = rsw.getResultSet().getMetaData();
+          }
+          int precision = metaData.getPrecision(i + 1);
+          // characters are held as UTF-16
+          columnWidth = precision > 0 ? Math.min(precision * 2, LOB_WIDTH) : DEFAULT_VARIABLE_WIDTH;
+        } catch (SQLException e) {
+          columnWidth = DEFAULT_VARIABLE_WIDTH;
+        }
+      }
+      width += columnWidth;
+    }
+    return width;
+  }
+
+  private static int fixedWidth(JdbcType jdbcType) {
+    if (jdbcType == null) {
+      return DEFAULT_VARIABLE_WIDTH;
+    }
+    switch (jdbcType) {
+      case BIT:
+      case BOOLEAN:
+      case TINYINT:
+      case SMALLINT:
+      case INTEGER:
+      case REAL:
+        return 16;
+      case BIGINT:
+      case FLOAT:
+      case DOUBLE:
+        return 24;
+      case DECIMAL:
+      case NUMERIC:
+        return 48;
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+        return 32;
+      case CHAR:
+      case VARCHAR:
+      case NCHAR:
+      case NVARCHAR:
+      case BINARY:
+      case VARBINARY:
+        return 0;
+      case LONGVARCHAR:
+      case LONGNVARCHAR:
+      case LONGVARBINARY:
+      case BLOB:
+      case CLOB:
+      case NCLOB:
+        return LOB_WIDTH;
+      default:
+        return DEFAULT_VARIABLE_WIDTH;
+    }
+  }
+
+  private static final class Statistics {
+    private volatile double rowCount;
+    private volatile int rowWidth;
+    private volatile long executions;
+  }
+
+}
@@ -44,12 +44,19 @@ public class PreparedStatementHandler extends BaseStatementHandler {
   @Override
   public int update(Statement statement) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
-    ps.execute();
-    int rows = ps.getUpdateCount();
-    Object parameterObject = boundSql.getParameterObject();
-    KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
-    keyGenerator.processAfter(executor, mappedStatement, ps, parameterObject);
-    return rows;
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      ps.execute();
+      int rows = ps.getUpdateCount();
+      executedTime = System.nanoTime();
+      Object parameterObject = boundSql.getParameterObject();
+      KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
+      keyGenerator.processAfter(executor, mappedStatement, ps, parameterObject);
+      return rows;
+    } finally {
+      trackSlowStatement(startTime, executedTime);
+    }
   }
 
   @Override
@@ -61,14 +68,28 @@ public class PreparedStatementHandler extends BaseStatementHandler {
   @Override
   public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
-    ps.execute();
-    return resultSetHandler.<E> handleResultSets(ps);
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      ps.execute();
+      executedTime = System.nanoTime();
+      return resultSetHandler.<E> handleResultSets(ps);
+    } finally {
+      trackSlowStatement(startTime, executedTime);
+    }
   }
 
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
-    ps.execute();
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      ps.execute();
+      executedTime = System.nanoTime();
+    } finally {
+      trackSlowStatement(startTime, executedTime);
+    }
     return resultSetHandler.<E> handleCursorResultSets(ps);
   }
 
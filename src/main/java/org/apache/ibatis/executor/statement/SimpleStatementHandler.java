@@ -46,20 +46,29 @@ public class SimpleStatementHandler extends BaseStatementHandler {
     String sql = boundSql.getSql();
     Object parameterObject = boundSql.getParameterObject();
     KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
-    int rows;
-    if (keyGenerator instanceof Jdbc3KeyGenerator) {
-      statement.execute(sql, Statement.RETURN_GENERATED_KEYS);
-      rows = statement.getUpdateCount();
-      keyGenerator.processAfter(executor, mappedStatement, statement, parameterObject);
-    } else if (keyGenerator instanceof SelectKeyGenerator) {
-      statement.execute(sql);
-      rows = statement.getUpdateCount();
-      keyGenerator.processAfter(executor, mappedStatement, statement, parameterObject);
-    } else {
-      statement.execute(sql);
-      rows = statement.getUpdateCount();
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      int rows;
+      if (keyGenerator instanceof Jdbc3KeyGenerator) {
+        statement.execute(sql, Statement.RETURN_GENERATED_KEYS);
+        rows = statement.getUpdateCount();
+        executedTime = System.nanoTime();
+        keyGenerator.processAfter(executor, mappedStatement, statement, parameterObject);
+      } else if (keyGenerator instanceof SelectKeyGenerator) {
+        statement.execute(sql);
+        rows = statement.getUpdateCount();
+        executedTime = System.nanoTime();
+        keyGenerator.processAfter(executor, mappedStatement, statement, parameterObject);
+      } else {
+        statement.execute(sql);
+        rows = statement.getUpdateCount();
+        executedTime = System.nanoTime();
+      }
+      return rows;
+    } finally {
+      trackSlowStatement(startTime, executedTime);
     }
-    return rows;
   }
 
   @Override
@@ -71,14 +80,28 @@ public class SimpleStatementHandler extends BaseStatementHandler {
   @Override
   public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
     String sql = boundSql.getSql();
-    statement.execute(sql);
-    return resultSetHandler.<E>handleResultSets(statement);
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      statement.execute(sql);
+      executedTime = System.nanoTime();
+      return resultSetHandler.<E>handleResultSets(statement);
+    } finally {
+      trackSlowStatement(startTime, executedTime);
+    }
   }
 
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
     String sql = boundSql.getSql();
-    statement.execute(sql);
+    long startTime = System.nanoTime();
+    long executedTime = 0;
+    try {
+      statement.execute(sql);
+      executedTime = System.nanoTime();
+    } finally {
+      trackSlowStatement(startTime, executedTime);
+    }
     return resultSetHandler.<E>handleCursorResultSets(statement);
   }
 
@@ -0,0 +1,113 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A statement execution that exceeded its slow statement threshold.
+ * <p>
+ * Times are expressed in nanoseconds. The preparation time covers creating the statement and binding its parameters,
+ * the execution time covers the round trip to the database (including generated key retrieval for updates)
+ * and the mapping time covers building the result objects.
+ * </p>
+ *
+ * @since 3.5.0
+ * @see SlowStatementTracker
+ */
+public class SlowStatement {
+
+  private final long sequence;
+  private final long timestamp;
+  private final String statementId;
+  private final String sql;
+  private final List<Object> parameters;
+  private final long preparationTime;
+  private final long executionTime;
+  private final long mappingTime;
+  private final long totalTime;
+  private volatile String plan;
+
+  public SlowStatement(long sequence, String statementId, String sql, List<Object> parameters,
+      long preparationTime, long executionTime, long mappingTime) {
+    this.sequence = sequence;
+    this.timestamp = System.currentTimeMillis();
+    this.statementId = statementId;
+    this.sql = sql;
+    this.parameters = Collections.unmodifiableList(parameters);
+    this.preparationTime = preparationTime;
+    this.executionTime = executionTime;
+    this.mappingTime = mappingTime;
+    this.totalTime = preparationTime + executionTime + mappingTime;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public String getStatementId() {
+    return statementId;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public List<Object> getParameters() {
+    return parameters;
+  }
+
+  public long getPreparationTime() {
+    return preparationTime;
+  }
+
+  public long getExecutionTime() {
+    return executionTime;
+  }
+
+  public long getMappingTime() {
+    return mappingTime;
+  }
+
+  public long getTotalTime() {
+    return totalTime;
+  }
+
+  /**
+   * Returns the execution plan captured by the {@link ExplainHook}, or <code>null</code> when no hook is
+   * configured or the plan has not been retrieved yet.
+   */
+  public String getPlan() {
+    return plan;
+  }
+
+  void setPlan(String plan) {
+    this.plan = plan;
+  }
+
+  @Override
+  public String toString() {
+    return "SlowStatement{" + statementId + ", total=" + totalTime / 1000000 + "ms, preparation=" + preparationTime / 1000000
+        + "ms, execution=" + executionTime / 1000000
+        + "ms, mapping=" + mappingTime / 1000000 + "ms, sql=" + sql + ", parameters=" + parameters + "}";
+  }
+
+}
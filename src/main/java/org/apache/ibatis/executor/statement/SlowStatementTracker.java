@@ -0,0 +1,289 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+/**
+ * Keeps the most recent statement executions that took longer than their threshold.
+ * <p>
+ * Thresholds are resolved for a statement id first, then for each enclosing namespace and finally
+ * the default threshold. Tracking is disabled while no threshold is configured.
+ * Slow statements are kept in a bounded ring buffer, the oldest entries being overwritten.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+public class SlowStatementTracker {
+
+  private static final Log log = LogFactory.getLog(SlowStatementTracker.class);
+
+  private static final long NO_THRESHOLD = -1L;
+  private static final int DEFAULT_CAPACITY = 100;
+
+  private final Configuration configuration;
+  private final Map<String, Long> thresholds = new ConcurrentHashMap<>();
+  private final Map<String, Long> resolvedThresholds = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  private volatile boolean enabled;
+  private volatile Long defaultThreshold;
+  private volatile AtomicReferenceArray<SlowStatement> buffer = new AtomicReferenceArray<>(DEFAULT_CAPACITY);
+  private volatile ExplainHook explainHook;
+  private ExecutorService explainExecutor;
+
+  public SlowStatementTracker(Configuration configuration) {
+    this.configuration = configuration;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public Long getDefaultThreshold() {
+    return defaultThreshold;
+  }
+
+  /**
+   * Sets the threshold in milliseconds applied to statements without a more specific one.
+   * A <code>null</code> value removes the default threshold.
+   */
+  public void setDefaultThreshold(Long defaultThreshold) {
+    this.defaultThreshold = defaultThreshold;
+    thresholdsChanged();
+  }
+
+  /**
+   * Sets the threshold in milliseconds for a statement id or a namespace.
+   * A <code>null</code> value removes the threshold.
+   */
+  public void setThreshold(String statementIdOrNamespace, Long threshold) {
+    if (threshold == null) {
+      thresholds.remove(statementIdOrNamespace);
+    } else {
+      thresholds.put(statementIdOrNamespace, threshold);
+    }
+    thresholdsChanged();
+  }
+
+  public Map<String, Long> getThresholds() {
+    return Collections.unmodifiableMap(thresholds);
+  }
+
+  public int getCapacity() {
+    return buffer.length();
+  }
+
+  /**
+   * Resizes the ring buffer. Statements recorded so far are discarded.
+   */
+  public void setCapacity(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The slow statement capacity must be greater than zero but was " + capacity);
+    }
+    buffer = new AtomicReferenceArray<>(capacity);
+  }
+
+  public ExplainHook getExplainHook() {
+    return explainHook;
+  }
+
+  public void setExplainHook(ExplainHook explainHook) {
+    this.explainHook = explainHook;
+  }
+
+  /**
+   * Returns the recorded slow statements, most recent first.
+   */
+  public List<SlowStatement> getSlowStatements() {
+    AtomicReferenceArray<SlowStatement> current = buffer;
+    List<SlowStatement> slowStatements = new ArrayList<>(current.length());
+    for (int i = 0; i < current.length(); i++) {
+      SlowStatement slowStatement = current.get(i);
+      if (slowStatement != null) {
+        slowStatements.add(slowStatement);
+      }
+    }
+    slowStatements.sort(Comparator.comparingLong(SlowStatement::getSequence).reversed());
+    return slowStatements;
+  }
+
+  /**
+   * Returns the recorded slow statements of a statement id or a namespace, most recent first.
+   */
+  public List<SlowStatement> getSlowStatements(String statementIdOrNamespace) {
+    List<SlowStatement> slowStatements = new ArrayList<>();
+    for (SlowStatement slowStatement : getSlowStatements()) {
+      String id = slowStatement.getStatementId();
+      if (id.equals(statementIdOrNamespace)
+          || (id.startsWith(statementIdOrNamespace) && id.charAt(statementIdOrNamespace.length()) == '.')) {
+        slowStatements.add(slowStatement);
+      }
+    }
+    return slowStatements;
+  }
+
+  public void clear() {
+    AtomicReferenceArray<SlowStatement> current = buffer;
+    for (int i = 0; i < current.length(); i++) {
+      current.set(i, null);
+    }
+  }
+
+  /**
+   * Records an execution if its total time exceeds the threshold of the statement.
+   *
+   * @param ms the executed statement
+   * @param boundSql the executed SQL
+   * @param preparationTime nanoseconds spent creating the statement and binding its parameters
+   * @param executionTime nanoseconds spent waiting for the database
+   * @param mappingTime nanoseconds spent mapping the results
+   * @return the recorded slow statement or <code>null</code> if the execution was not slow
+   */
+  public SlowStatement record(MappedStatement ms, BoundSql boundSql, long preparationTime, long executionTime, long mappingTime) {
+    long threshold = resolveThreshold(ms.getId());
+    long totalTime = preparationTime + executionTime + mappingTime;
+    if (threshold == NO_THRESHOLD || totalTime < TimeUnit.MILLISECONDS.toNanos(threshold)) {
+      return null;
+    }
+    AtomicReferenceArray<SlowStatement> current = buffer;
+    long next = sequence.getAndIncrement();
+    SlowStatement slowStatement = new SlowStatement(next, ms.getId(), boundSql.getSql(), captureParameters(boundSql),
+        preparationTime, executionTime, mappingTime);
+    current.set((int) (next % current.length()), slowStatement);
+    if (log.isDebugEnabled()) {
+      log.debug("Slow statement: " + slowStatement);
+    }
+    ExplainHook hook = explainHook;
+    if (hook != null) {
+      explain(hook, slowStatement);
+    }
+    return slowStatement;
+  }
+
+  private long resolveThreshold(String statementId) {
+    Long threshold = resolvedThresholds.get(statementId);
+    if (threshold == null) {
+      threshold = lookupThreshold(statementId);
+      resolvedThresholds.put(statementId, threshold);
+    }
+    return threshold;
+  }
+
+  private long lookupThreshold(String statementId) {
+    String name = statementId;
+    while (true) {
+      Long threshold = thresholds.get(name);
+      if (threshold != null) {
+        return threshold;
+      }
+      int lastPeriod = name.lastIndexOf('.');
+      if (lastPeriod <= 0) {
+        break;
+      }
+      name = name.substring(0, lastPeriod);
+    }
+    Long threshold = defaultThreshold;
+    return threshold == null ? NO_THRESHOLD : threshold;
+  }
+
+  private void thresholdsChanged() {
+    resolvedThresholds.clear();
+    enabled = defaultThreshold != null || !thresholds.isEmpty();
+  }
+
+  private List<Object> captureParameters(BoundSql boundSql) {
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    List<Object> parameters = new ArrayList<>(parameterMappings.size());
+    Object parameterObject = boundSql.getParameterObject();
+    TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+    MetaObject metaObject = null;
+    for (ParameterMapping parameterMapping : parameterMappings) {
+      if (parameterMapping.getMode() == ParameterMode.OUT) {
+        continue;
+      }
+      String propertyName = parameterMapping.getProperty();
+      Object value;
+      if (boundSql.hasAdditionalParameter(propertyName)) {
+        value = boundSql.getAdditionalParameter(propertyName);
+      } else if (parameterObject == null) {
+        value = null;
+      } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
+        value = parameterObject;
+      } else {
+        if (metaObject == null) {
+          metaObject = configuration.newMetaObject(parameterObject);
+        }
+        value = metaObject.getValue(propertyName);
+      }
+      parameters.add(value);
+    }
+    return parameters;
+  }
+
+  private void explain(final ExplainHook hook, final SlowStatement slowStatement) {
+    Environment environment = configuration.getEnvironment();
+    if (environment == null) {
+      return;
+    }
+    final DataSource dataSource = environment.getDataSource();
+    getExplainExecutor().execute(() -> {
+      try (Connection connection = dataSource.getConnection()) {
+        slowStatement.setPlan(hook.explain(connection, slowStatement));
+      } catch (Exception e) {
+        log.warn("Could not explain slow statement " + slowStatement.getStatementId() + ". Cause: " + e);
+      }
+    });
+  }
+
+  private synchronized ExecutorService getExplainExecutor() {
+    if (explainExecutor == null) {
+      // a single daemon thread that silently drops plans requested faster than they can be retrieved
+      explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+        Thread thread = new Thread(r, "mybatis-slow-statement-explain");
+        thread.setDaemon(true);
+        return thread;
+      }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+    return explainExecutor;
+  }
+
+}
@@ -25,12 +25,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.reflection.ArrayUtil;
 
 /**
- * Base class for proxies to do logging
+ * Base class for JDBC wrappers to do logging
  * 
  * @author Clinton Begin
  * @author Eduardo Macarron
@@ -47,17 +53,27 @@ public abstract class BaseJdbcLogger {
 
   protected Log statementLog;
   protected int queryStack;
+  protected final ExecutorService logExecutor;
 
   /*
    * Default constructor
    */
   public BaseJdbcLogger(Log log, int queryStack) {
+    this(log, queryStack, null);
+  }
+
+  /**
+   * @param logExecutor builds and writes the logs in the background, {@code null} to write them on the calling thread
+   * @since 3.5.0
+   */
+  public BaseJdbcLogger(Log log, int queryStack, ExecutorService logExecutor) {
     this.statementLog = log;
     if (queryStack == 0) {
       this.queryStack = 1;
     } else {
       this.queryStack = queryStack;
     }
+    this.logExecutor = logExecutor;
   }
 
   static {
@@ -103,8 +119,16 @@ public abstract class BaseJdbcLogger {
   }
 
   protected String getParameterValueString() {
-    List<Object> typeList = new ArrayList<>(columnValues.size());
-    for (Object value : columnValues) {
+    return getParameterValueString(columnValues);
+  }
+
+  protected List<Object> getParameterValues() {
+    return new ArrayList<>(columnValues);
+  }
+
+  protected String getParameterValueString(List<Object> values) {
+    List<Object> typeList = new ArrayList<>(values.size());
+    for (Object value : values) {
       if (value == null) {
         typeList.add("null");
       } else {
@@ -156,16 +180,61 @@ public abstract class BaseJdbcLogger {
 
   protected void debug(String text, boolean input) {
     if (statementLog.isDebugEnabled()) {
-      statementLog.debug(prefix(input) + text);
+      debug(() -> text, input);
+    }
+  }
+
+  /**
+   * Writes a debug message that is only built when it is written.
+   * The caller is expected to check {@link #isDebugEnabled()} and to capture
+   * any state that can change before the message is built.
+   */
+  protected void debug(Supplier<String> text, boolean input) {
+    ExecutorService executor = logExecutor;
+    if (executor == null) {
+      statementLog.debug(prefix(input) + text.get());
+    } else {
+      executor.execute(() -> statementLog.debug(prefix(input) + text.get()));
     }
   }
 
   protected void trace(String text, boolean input) {
     if (statementLog.isTraceEnabled()) {
-      statementLog.trace(prefix(input) + text);
+      trace(() -> text, input);
+    }
+  }
+
+  protected void trace(Supplier<String> text, boolean input) {
+    ExecutorService executor = logExecutor;
+    if (executor == null) {
+      statementLog.trace(prefix(input) + text.get());
+    } else {
+      executor.execute(() -> statementLog.trace(prefix(input) + text.get()));
     }
   }
 
+  /**
+   * Creates an executor that builds and writes statement logs on a background thread, so the executing thread
+   * only captures the logged values. Messages keep their order; the executing thread blocks when too many of
+   * them are pending. The caller shuts it down.
+   *
+   * @since 3.5.0
+   */
+  public static ExecutorService newAsyncLogExecutor() {
+    return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024), r -> {
+      Thread thread = new Thread(r, "mybatis-jdbc-log");
+      thread.setDaemon(true);
+      return thread;
+    }, (r, executor) -> {
+      try {
+        executor.getQueue().put(r);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RejectedExecutionException(e);
+      }
+    });
+  }
+
   private String prefix(boolean isInput) {
     char[] buffer = new char[queryStack * 2 + 2];
     Arrays.fill(buffer, '=');
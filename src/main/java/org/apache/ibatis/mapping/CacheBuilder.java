@@ -25,12 +25,16 @@ import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.decorators.BlockingCache;
+import org.apache.ibatis.cache.decorators.BroadcastCache;
 import org.apache.ibatis.cache.decorators.LoggingCache;
 import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.RefreshAheadCache;
 import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.impl.SnapshotCache;
+import org.apache.ibatis.cache.invalidation.InvalidationTransport;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
 
@@ -70,6 +74,18 @@ public class CacheBuilder {
    * 阻塞
    */
   private boolean blocking;
+  /**
+   * 集群内传播失效的通道
+   */
+  private InvalidationTransport invalidationTransport;
+  /**
+   * 条目超过该时间（毫秒）后在后台刷新，刷新期间仍返回旧值
+   */
+  private Long refreshAfter;
+  /**
+   * 条目超过该时间（毫秒）后过期，未设置而设置了 refreshAfter 时为其两倍
+   */
+  private Long expireAfter;
 
   public CacheBuilder(String id) {
     this.id = id;
@@ -108,6 +124,30 @@ public class CacheBuilder {
     return this;
   }
   
+  /**
+   * @since 3.5.0
+   */
+  public CacheBuilder invalidationTransport(InvalidationTransport invalidationTransport) {
+    this.invalidationTransport = invalidationTransport;
+    return this;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public CacheBuilder refreshAfter(Long refreshAfter) {
+    this.refreshAfter = refreshAfter;
+    return this;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public CacheBuilder expireAfter(Long expireAfter) {
+    this.expireAfter = expireAfter;
+    return this;
+  }
+
   public CacheBuilder properties(Properties properties) {
     this.properties = properties;
     return this;
@@ -128,8 +168,14 @@ public class CacheBuilder {
         setCacheProperties(cache);
       }
       cache = setStandardDecorators(cache);
-    } else if (!LoggingCache.class.isAssignableFrom(cache.getClass())) {
-      cache = new LoggingCache(cache);
+    } else if (SnapshotCache.class.equals(cache.getClass())) {
+      cache = setSnapshotDecorators(cache);
+    } else {
+      if (!LoggingCache.class.isAssignableFrom(cache.getClass())) {
+        cache = new LoggingCache(cache);
+      }
+      // refresh ahead needs to wrap the values, so it also applies to custom caches
+      cache = setRefreshAheadDecorator(cache);
     }
     return cache;
   }
@@ -158,6 +204,10 @@ public class CacheBuilder {
       }
       cache = new LoggingCache(cache);
       cache = new SynchronizedCache(cache);
+      cache = setRefreshAheadDecorator(cache);
+      if (invalidationTransport != null) {
+        cache = new BroadcastCache(cache, invalidationTransport);
+      }
       if (blocking) {
         cache = new BlockingCache(cache);
       }
@@ -167,6 +217,47 @@ public class CacheBuilder {
     }
   }
 
+  private Cache setRefreshAheadDecorator(Cache cache) {
+    if (refreshAfter == null && expireAfter == null) {
+      return cache;
+    }
+    long expiry = expireAfter != null ? expireAfter : refreshAfter * 2;
+    if (refreshAfter != null && refreshAfter >= expiry) {
+      throw new CacheException("The refreshAfter (" + refreshAfter + ") of the cache " + id + " must be lower than its expireAfter (" + expiry + ").");
+    }
+    RefreshAheadCache refreshAheadCache = new RefreshAheadCache(cache);
+    if (refreshAfter != null) {
+      refreshAheadCache.setRefreshAfter(refreshAfter);
+    }
+    refreshAheadCache.setExpireAfter(expiry);
+    return refreshAheadCache;
+  }
+
+  /**
+   * 快照缓存自身线程安全且读不加锁，不再包装 SynchronizedCache，也不叠加淘汰策略
+   * 也不包装 LoggingCache，其命中计数器并非线程安全，且每次读取都会写入共享的计数器
+   */
+  private Cache setSnapshotDecorators(Cache cache) {
+    if (size != null) {
+      ((SnapshotCache) cache).setSize(size);
+    }
+    if (clearInterval != null) {
+      cache = new ScheduledCache(cache);
+      ((ScheduledCache) cache).setClearInterval(clearInterval);
+    }
+    if (readWrite) {
+      cache = new SerializedCache(cache);
+    }
+    cache = setRefreshAheadDecorator(cache);
+    if (invalidationTransport != null) {
+      cache = new BroadcastCache(cache, invalidationTransport);
+    }
+    if (blocking) {
+      cache = new BlockingCache(cache);
+    }
+    return cache;
+  }
+
   private void setCacheProperties(Cache cache) {
     if (properties != null) {
       MetaObject metaCache = SystemMetaObject.forObject(cache);
@@ -18,11 +18,14 @@ package org.apache.ibatis.mapping;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.parameter.ParameterBinder;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
@@ -121,6 +124,28 @@ public final class MappedStatement {
    * 需驱动支持
    */
   private String[] resultSets;
+  /**
+   * 语句读写的表，用于按表失效二级缓存，未声明时更新语句清空整个缓存
+   */
+  private String[] tables;
+  /**
+   * 标识所读写行的参数属性，声明后按表和主键失效二级缓存
+   */
+  private String tableKeyProperty;
+  /**
+   * 语句结果在二级缓存中的存活时间（毫秒），为空时由缓存自身的刷新策略决定
+   */
+  private Long cacheExpireAfter;
+  /**
+   * 为 true 时，不同会话同时执行的相同查询共享一次数据库执行，需同时开启 coalesceQueries
+   */
+  private boolean coalesce;
+  /**
+   * 按入参类型和参数映射的形态缓存的参数绑定器，动态 SQL 每种形态各占一项，超过上限后不再缓存
+   */
+  private final Map<ParameterBinderKey, ParameterBinder> parameterBinders = new ConcurrentHashMap<>();
+
+  private static final int MAXIMUM_PARAMETER_BINDERS = 64;
 
   MappedStatement() {
     // constructor disabled
@@ -239,6 +264,38 @@ public final class MappedStatement {
       return this;
     }
 
+    /**
+     * @since 3.5.0
+     */
+    public Builder tables(String tables) {
+      mappedStatement.tables = delimitedStringToArray(tables);
+      return this;
+    }
+
+    /**
+     * @since 3.5.0
+     */
+    public Builder tableKeyProperty(String tableKeyProperty) {
+      mappedStatement.tableKeyProperty = tableKeyProperty;
+      return this;
+    }
+
+    /**
+     * @since 3.5.0
+     */
+    public Builder cacheExpireAfter(Long cacheExpireAfter) {
+      mappedStatement.cacheExpireAfter = cacheExpireAfter;
+      return this;
+    }
+
+    /**
+     * @since 3.5.0
+     */
+    public Builder coalesce(boolean coalesce) {
+      mappedStatement.coalesce = coalesce;
+      return this;
+    }
+
     /** @deprecated Use {@link #resultSets} */
     @Deprecated
     public Builder resulSets(String resultSet) {
@@ -348,12 +405,94 @@ public final class MappedStatement {
     return resultSets;
   }
 
+  /**
+   * @since 3.5.0
+   */
+  public String[] getTables() {
+    return tables;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public String getTableKeyProperty() {
+    return tableKeyProperty;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public Long getCacheExpireAfter() {
+    return cacheExpireAfter;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public boolean isCoalesce() {
+    return coalesce;
+  }
+
   /** @deprecated Use {@link #getResultSets()} */
   @Deprecated
   public String[] getResulSets() {
     return resultSets;
   }
   
+  /**
+   * Returns the binder compiled for a parameter type and the parameter mappings of a bound sql.
+   * Binders are cached per parameter type and shape of the parameter mappings, so dynamic sql that
+   * alternates between a few shapes reuses one binder per shape. Once a statement has produced
+   * {@value #MAXIMUM_PARAMETER_BINDERS} shapes, binders for new shapes are compiled for each call.
+   *
+   * @since 3.5.0
+   */
+  public ParameterBinder getParameterBinder(Class<?> parameterType, List<ParameterMapping> parameterMappings) {
+    ParameterBinderKey key = new ParameterBinderKey(parameterType == null ? void.class : parameterType, parameterMappings);
+    ParameterBinder parameterBinder = parameterBinders.get(key);
+    if (parameterBinder == null) {
+      parameterBinder = new ParameterBinder(configuration, parameterType, parameterMappings);
+      if (parameterBinders.size() < MAXIMUM_PARAMETER_BINDERS) {
+        ParameterBinder existing = parameterBinders.putIfAbsent(key, parameterBinder);
+        if (existing != null) {
+          parameterBinder = existing;
+        }
+      }
+    }
+    return parameterBinder;
+  }
+
+  private static final class ParameterBinderKey {
+    private final Class<?> parameterType;
+    private final List<ParameterMapping> parameterMappings;
+    private final int hashCode;
+
+    ParameterBinderKey(Class<?> parameterType, List<ParameterMapping> parameterMappings) {
+      this.parameterType = parameterType;
+      this.parameterMappings = parameterMappings;
+      this.hashCode = 31 * parameterType.hashCode() + ParameterBinder.shapeHashCode(parameterMappings);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ParameterBinderKey)) {
+        return false;
+      }
+      ParameterBinderKey other = (ParameterBinderKey) o;
+      return hashCode == other.hashCode
+          && parameterType == other.parameterType
+          && ParameterBinder.isSameShape(parameterMappings, other.parameterMappings);
+    }
+  }
+
   public BoundSql getBoundSql(Object parameterObject) {
     BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
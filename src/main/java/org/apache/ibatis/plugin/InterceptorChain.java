@@ -18,6 +18,8 @@ package org.apache.ibatis.plugin;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Clinton Begin
@@ -25,8 +27,16 @@ import java.util.List;
 public class InterceptorChain {
 
   private final List<Interceptor> interceptors = new ArrayList<>();
+  // 按目标类型缓存的拦截计划，所有拦截器都使用默认 plugin 实现时一次性生成单层代理
+  private final Map<Class<?>, Plugin.Plan> plans = new ConcurrentHashMap<>();
+  private volatile boolean composable = true;
 
   public Object pluginAll(Object target) {
+    if (composable && !interceptors.isEmpty() && !Plugin.isPlugin(target)) {
+      Plugin.Plan plan = plans.computeIfAbsent(target.getClass(),
+          type -> Plugin.plan(type, interceptors.toArray(new Interceptor[interceptors.size()])));
+      return Plugin.wrap(target, plan);
+    }
 
     for (Interceptor interceptor : interceptors) {
       // 代理 & 装饰器模式
@@ -37,6 +47,16 @@ public class InterceptorChain {
 
   public void addInterceptor(Interceptor interceptor) {
     interceptors.add(interceptor);
+    composable = composable && usesDefaultPlugin(interceptor);
+    plans.clear();
+  }
+
+  private static boolean usesDefaultPlugin(Interceptor interceptor) {
+    try {
+      return interceptor.getClass().getMethod("plugin", Object.class).isDefault();
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
   }
 
   /**
@@ -23,17 +23,38 @@ import java.lang.reflect.Method;
  */
 public class Invocation {
 
-  private final Object target;
+  private Object target;
   private final Method method;
   private final Object[] args;
+  private final Plugin plugin;
+  private final int[] chain;
+  private final int position;
 
   public Invocation(Object target, Method method, Object[] args) {
     this.target = target;
     this.method = method;
     this.args = args;
+    this.plugin = null;
+    this.chain = null;
+    this.position = 0;
+  }
+
+  /**
+   * Creates an invocation of the interceptor at {@code chain[position]} of a plugin; proceeding calls the
+   * next interceptor of the chain, the last one calls the target itself.
+   */
+  Invocation(Plugin plugin, int[] chain, int position, Method method, Object[] args) {
+    this.method = method;
+    this.args = args;
+    this.plugin = plugin;
+    this.chain = chain;
+    this.position = position;
   }
 
   public Object getTarget() {
+    if (target == null && plugin != null) {
+      target = plugin.getTarget(chain[position]);
+    }
     return target;
   }
 
@@ -46,6 +67,9 @@ public class Invocation {
   }
 
   public Object proceed() throws InvocationTargetException, IllegalAccessException {
+    if (plugin != null) {
+      return plugin.proceed(chain, position + 1, method, args);
+    }
     return method.invoke(target, args);
   }
 
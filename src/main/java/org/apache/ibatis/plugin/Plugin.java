@@ -15,50 +15,161 @@
  */
 package org.apache.ibatis.plugin;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.reflection.ExceptionUtil;
 
 /**
+ * A single proxy applying a whole chain of interceptors to a target.
+ * <p>
+ * Wrapping a target that is already a plugin proxy merges the new interceptor into the existing chain,
+ * so calls go through one proxy whatever the number of interceptors. The methods each interceptor
+ * intercepts are resolved once per target type into a dispatch table.
+ * </p>
+ *
  * @author Clinton Begin
  */
 public class Plugin implements InvocationHandler {
 
+  private static final ClassValue<Map<Class<?>, Set<Method>>> SIGNATURE_MAPS = new ClassValue<Map<Class<?>, Set<Method>>>() {
+    @Override
+    protected Map<Class<?>, Set<Method>> computeValue(Class<?> type) {
+      return getSignatureMap(type);
+    }
+  };
+
+  // 按目标类型缓存的拦截布局，以拦截器类型序列为键，不依赖 InterceptorChain 是否可组合
+  private static final ClassValue<Map<List<Class<?>>, Layout>> LAYOUTS = new ClassValue<Map<List<Class<?>>, Layout>>() {
+    @Override
+    protected Map<List<Class<?>>, Layout> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   private final Object target;
-  private final Interceptor interceptor;
-  private final Map<Class<?>, Set<Method>> signatureMap;
+  private final Plan plan;
+  private Object[] targets;
 
-  private Plugin(Object target, Interceptor interceptor, Map<Class<?>, Set<Method>> signatureMap) {
+  private Plugin(Object target, Plan plan) {
     this.target = target;
-    this.interceptor = interceptor;
-    this.signatureMap = signatureMap;
+    this.plan = plan;
   }
 
   public static Object wrap(Object target, Interceptor interceptor) {
-    Map<Class<?>, Set<Method>> signatureMap = getSignatureMap(interceptor);
-    Class<?> type = target.getClass();
-    Class<?>[] interfaces = getAllInterfaces(type, signatureMap);
-    if (interfaces.length > 0) {
-      return Proxy.newProxyInstance(
-          type.getClassLoader(),
-          interfaces,
-          new Plugin(target, interceptor, signatureMap));
-    }
-    return target;
+    Plugin plugin = getPlugin(target);
+    if (plugin == null) {
+      return wrap(target, plan(target.getClass(), new Interceptor[] { interceptor }));
+    }
+    Interceptor[] interceptors = Arrays.copyOf(plugin.plan.interceptors, plugin.plan.interceptors.length + 1);
+    interceptors[interceptors.length - 1] = interceptor;
+    Plan plan = plan(plugin.target.getClass(), interceptors);
+    if (plan.interceptors.length == plugin.plan.interceptors.length) {
+      // the interceptor does not apply to the target
+      return target;
+    }
+    return wrap(plugin.target, plan);
+  }
+
+  static Object wrap(Object target, Plan plan) {
+    if (plan.interceptors.length == 0) {
+      return target;
+    }
+    try {
+      return plan.proxyConstructor.newInstance(new Plugin(target, plan));
+    } catch (Exception e) {
+      throw new PluginException("Could not create a plugin proxy for " + target.getClass() + ". Cause: " + e, e);
+    }
+  }
+
+  static boolean isPlugin(Object target) {
+    return getPlugin(target) != null;
+  }
+
+  private static Plugin getPlugin(Object target) {
+    if (Proxy.isProxyClass(target.getClass())) {
+      InvocationHandler handler = Proxy.getInvocationHandler(target);
+      if (handler instanceof Plugin) {
+        return (Plugin) handler;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Resolves the interceptors applying to a target type, in chain order (the last one being the outermost),
+   * and the interceptors to call for each intercepted method. The dispatch table and the proxy class only
+   * depend on the types of the interceptors, so they are resolved once per target type and interceptor types.
+   */
+  static Plan plan(Class<?> type, Interceptor[] interceptors) {
+    List<Class<?>> interceptorTypes = new ArrayList<>(interceptors.length);
+    for (Interceptor interceptor : interceptors) {
+      interceptorTypes.add(interceptor.getClass());
+    }
+    Layout layout = LAYOUTS.get(type).computeIfAbsent(interceptorTypes, k -> layout(type, k));
+    Interceptor[] applied = new Interceptor[layout.applied.length];
+    for (int i = 0; i < applied.length; i++) {
+      applied[i] = interceptors[layout.applied[i]];
+    }
+    return new Plan(applied, layout.dispatch, layout.proxyConstructor);
+  }
+
+  private static Layout layout(Class<?> type, List<Class<?>> interceptorTypes) {
+    List<Integer> applied = new ArrayList<>();
+    Set<Class<?>> interfaces = new LinkedHashSet<>();
+    for (int i = 0; i < interceptorTypes.size(); i++) {
+      Class<?>[] matched = getAllInterfaces(type, SIGNATURE_MAPS.get(interceptorTypes.get(i)));
+      if (matched.length > 0) {
+        applied.add(i);
+        interfaces.addAll(Arrays.asList(matched));
+      }
+    }
+    Map<Method, List<Integer>> chains = new HashMap<>();
+    for (int i = applied.size() - 1; i >= 0; i--) {
+      for (Map.Entry<Class<?>, Set<Method>> entry : SIGNATURE_MAPS.get(interceptorTypes.get(applied.get(i))).entrySet()) {
+        for (Method method : entry.getValue()) {
+          if (method.getDeclaringClass().equals(entry.getKey())) {
+            chains.computeIfAbsent(method, k -> new ArrayList<>()).add(i);
+          }
+        }
+      }
+    }
+    Map<Method, int[]> dispatch = new HashMap<>();
+    for (Map.Entry<Method, List<Integer>> entry : chains.entrySet()) {
+      dispatch.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+    }
+    Constructor<?> proxyConstructor = null;
+    if (!applied.isEmpty()) {
+      try {
+        // 代理类由 JDK 按类加载器和接口缓存，借一个不会被调用的代理实例取得它的构造器
+        Object prototype = Proxy.newProxyInstance(type.getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]),
+            (proxy, method, args) -> null);
+        proxyConstructor = prototype.getClass().getConstructor(InvocationHandler.class);
+      } catch (NoSuchMethodException e) {
+        throw new PluginException("Could not find the proxy constructor for " + type + ". Cause: " + e, e);
+      }
+    }
+    return new Layout(applied.stream().mapToInt(Integer::intValue).toArray(), dispatch, proxyConstructor);
   }
 
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
     try {
-      Set<Method> methods = signatureMap.get(method.getDeclaringClass());
-      if (methods != null && methods.contains(method)) {
-        return interceptor.intercept(new Invocation(target, method, args));
+      int[] chain = plan.dispatch.get(method);
+      if (chain != null) {
+        return plan.interceptors[chain[0]].intercept(new Invocation(this, chain, 0, method, args));
       }
       return method.invoke(target, args);
     } catch (Exception e) {
@@ -66,11 +177,39 @@ public class Plugin implements InvocationHandler {
     }
   }
 
-  private static Map<Class<?>, Set<Method>> getSignatureMap(Interceptor interceptor) {
-    Intercepts interceptsAnnotation = interceptor.getClass().getAnnotation(Intercepts.class);
+  Object proceed(int[] chain, int position, Method method, Object[] args) throws InvocationTargetException, IllegalAccessException {
+    if (position < chain.length) {
+      try {
+        return plan.interceptors[chain[position]].intercept(new Invocation(this, chain, position, method, args));
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
+    return method.invoke(target, args);
+  }
+
+  /**
+   * Returns the object the interceptor at the given index wraps: the target wrapped by the interceptors before it.
+   * It is only created when an interceptor asks for its target.
+   */
+  synchronized Object getTarget(int index) {
+    if (index == 0) {
+      return target;
+    }
+    if (targets == null) {
+      targets = new Object[plan.interceptors.length];
+    }
+    if (targets[index] == null) {
+      targets[index] = wrap(target, plan(target.getClass(), Arrays.copyOf(plan.interceptors, index)));
+    }
+    return targets[index];
+  }
+
+  private static Map<Class<?>, Set<Method>> getSignatureMap(Class<?> interceptorType) {
+    Intercepts interceptsAnnotation = interceptorType.getAnnotation(Intercepts.class);
     // issue #251
     if (interceptsAnnotation == null) {
-      throw new PluginException("No @Intercepts annotation was found in interceptor " + interceptor.getClass().getName());      
+      throw new PluginException("No @Intercepts annotation was found in interceptor " + interceptorType.getName());      
     }
     Signature[] sigs = interceptsAnnotation.value();
     Map<Class<?>, Set<Method>> signatureMap = new HashMap<>();
@@ -99,4 +238,28 @@ public class Plugin implements InvocationHandler {
     return interfaces.toArray(new Class<?>[interfaces.size()]);
   }
 
+  private static final class Layout {
+    private final int[] applied;
+    private final Map<Method, int[]> dispatch;
+    private final Constructor<?> proxyConstructor;
+
+    private Layout(int[] applied, Map<Method, int[]> dispatch, Constructor<?> proxyConstructor) {
+      this.applied = applied;
+      this.dispatch = dispatch;
+      this.proxyConstructor = proxyConstructor;
+    }
+  }
+
+  static final class Plan {
+    private final Interceptor[] interceptors;
+    private final Map<Method, int[]> dispatch;
+    private final Constructor<?> proxyConstructor;
+
+    private Plan(Interceptor[] interceptors, Map<Method, int[]> dispatch, Constructor<?> proxyConstructor) {
+      this.interceptors = interceptors;
+      this.dispatch = dispatch;
+      this.proxyConstructor = proxyConstructor;
+    }
+  }
+
 }
@@ -35,6 +35,8 @@ import java.util.Map.Entry;
 import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
 import org.apache.ibatis.reflection.invoker.Invoker;
 import org.apache.ibatis.reflection.invoker.MethodInvoker;
+import org.apache.ibatis.reflection.invoker.PrimitiveGetter;
+import org.apache.ibatis.reflection.invoker.PrimitiveSetter;
 import org.apache.ibatis.reflection.invoker.SetFieldInvoker;
 import org.apache.ibatis.reflection.property.PropertyNamer;
 
@@ -53,6 +55,8 @@ public class Reflector {
   private final Map<String, Invoker> getMethods = new HashMap<>();
   private final Map<String, Class<?>> setTypes = new HashMap<>();
   private final Map<String, Class<?>> getTypes = new HashMap<>();
+  private final Map<String, PrimitiveSetter> primitiveSetters = new HashMap<>();
+  private final Map<String, PrimitiveGetter> primitiveGetters = new HashMap<>();
   private Constructor<?> defaultConstructor;
 
   private Map<String, String> caseInsensitivePropertyMap = new HashMap<>();
@@ -71,6 +75,22 @@ public class Reflector {
     for (String propName : writeablePropertyNames) {
       caseInsensitivePropertyMap.put(propName.toUpperCase(Locale.ENGLISH), propName);
     }
+    addPrimitiveAccessors();
+  }
+
+  private void addPrimitiveAccessors() {
+    for (Entry<String, Invoker> entry : setMethods.entrySet()) {
+      PrimitiveSetter setter = PrimitiveSetter.of(entry.getValue());
+      if (setter != null) {
+        primitiveSetters.put(entry.getKey(), setter);
+      }
+    }
+    for (Entry<String, Invoker> entry : getMethods.entrySet()) {
+      PrimitiveGetter getter = PrimitiveGetter.of(entry.getValue());
+      if (getter != null) {
+        primitiveGetters.put(entry.getKey(), getter);
+      }
+    }
   }
 
   private void addDefaultConstructor(Class<?> clazz) {
@@ -389,6 +409,24 @@ public class Reflector {
     return method;
   }
 
+  /**
+   * Returns the setter of an {@code int}, {@code long} or {@code double} property, or {@code null} for other properties.
+   *
+   * @since 3.5.0
+   */
+  public PrimitiveSetter getPrimitiveSetter(String propertyName) {
+    return primitiveSetters.get(propertyName);
+  }
+
+  /**
+   * Returns the getter of an {@code int}, {@code long} or {@code double} property, or {@code null} for other properties.
+   *
+   * @since 3.5.0
+   */
+  public PrimitiveGetter getPrimitiveGetter(String propertyName) {
+    return primitiveGetters.get(propertyName);
+  }
+
   public Invoker getGetInvoker(String propertyName) {
     Invoker method = getMethods.get(propertyName);
     if (method == null) {
@@ -0,0 +1,71 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * Reads an {@code int}, {@code long} or {@code double} property without boxing its value.
+ *
+ * @since 3.5.0
+ */
+public final class PrimitiveGetter {
+
+  private final Class<?> type;
+  private final MethodHandle handle;
+
+  private PrimitiveGetter(Class<?> type, MethodHandle handle) {
+    this.type = type;
+    this.handle = handle;
+  }
+
+  /**
+   * Returns a getter for the property read by the invoker, or {@code null} when its type is not supported.
+   */
+  public static PrimitiveGetter of(Invoker invoker) {
+    Class<?> type = invoker.getType();
+    if (type != int.class && type != long.class && type != double.class) {
+      return null;
+    }
+    MethodHandle handle;
+    if (invoker instanceof MethodInvoker) {
+      handle = PrimitiveSetter.unreflect(((MethodInvoker) invoker).getMethod(), true);
+    } else if (invoker instanceof GetFieldInvoker) {
+      handle = PrimitiveSetter.unreflect(((GetFieldInvoker) invoker).getField(), true);
+    } else {
+      return null;
+    }
+    return handle == null ? null : new PrimitiveGetter(type, handle.asType(MethodType.methodType(type, Object.class)));
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  public int getInt(Object target) throws Throwable {
+    return (int) handle.invokeExact(target);
+  }
+
+  public long getLong(Object target) throws Throwable {
+    return (long) handle.invokeExact(target);
+  }
+
+  public double getDouble(Object target) throws Throwable {
+    return (double) handle.invokeExact(target);
+  }
+
+}
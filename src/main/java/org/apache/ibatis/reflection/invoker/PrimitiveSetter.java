@@ -0,0 +1,106 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Writes an {@code int}, {@code long} or {@code double} property without boxing its value.
+ *
+ * @since 3.5.0
+ */
+public final class PrimitiveSetter {
+
+  private final Class<?> type;
+  private final MethodHandle handle;
+
+  private PrimitiveSetter(Class<?> type, MethodHandle handle) {
+    this.type = type;
+    this.handle = handle;
+  }
+
+  /**
+   * Returns a setter for the property written by the invoker, or {@code null} when its type is not supported.
+   */
+  public static PrimitiveSetter of(Invoker invoker) {
+    Class<?> type = invoker.getType();
+    if (type != int.class && type != long.class && type != double.class) {
+      return null;
+    }
+    MethodHandle handle;
+    if (invoker instanceof MethodInvoker) {
+      handle = unreflect(((MethodInvoker) invoker).getMethod(), false);
+    } else if (invoker instanceof SetFieldInvoker) {
+      handle = unreflect(((SetFieldInvoker) invoker).getField(), false);
+    } else {
+      return null;
+    }
+    return handle == null ? null
+        : new PrimitiveSetter(type, handle.asType(MethodType.methodType(void.class, Object.class, type)));
+  }
+
+  static MethodHandle unreflect(AccessibleObject member, boolean getter) {
+    if (Modifier.isStatic(((Member) member).getModifiers())) {
+      return null;
+    }
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    for (int attempt = 0; attempt < 2; attempt++) {
+      try {
+        if (member instanceof Method) {
+          return lookup.unreflect((Method) member);
+        }
+        return getter ? lookup.unreflectGetter((Field) member) : lookup.unreflectSetter((Field) member);
+      } catch (IllegalAccessException e) {
+        if (attempt > 0 || !Reflector.canControlMemberAccessible()) {
+          return null;
+        }
+        try {
+          member.setAccessible(true);
+        } catch (RuntimeException ignore) {
+          // a security manager or a module that is not open to us, read the property by reflection
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  public void setInt(Object target, int value) throws Throwable {
+    handle.invokeExact(target, value);
+  }
+
+  public void setLong(Object target, long value) throws Throwable {
+    handle.invokeExact(target, value);
+  }
+
+  public void setDouble(Object target, double value) throws Throwable {
+    handle.invokeExact(target, value);
+  }
+
+}
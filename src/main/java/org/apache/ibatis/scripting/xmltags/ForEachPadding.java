@@ -0,0 +1,77 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specify how a foreach pads its collection, so that collections of different sizes produce the same sql.
+ * Padding repeats the last element, which suits IN lists but not statements where each element has an effect,
+ * such as multi-row inserts.
+ *
+ * @since 3.5.0
+ */
+public enum ForEachPadding {
+
+  /**
+   * Do not pad (Default).
+   */
+  NONE {
+    @Override
+    public int paddedSize(int size) {
+      return size;
+    }
+  },
+
+  /**
+   * Pad to the next power of two: 1, 2, 4, 8...
+   */
+  POWER_OF_TWO {
+    @Override
+    public int paddedSize(int size) {
+      int highestOneBit = Integer.highestOneBit(size);
+      return highestOneBit == size ? size : highestOneBit << 1;
+    }
+  };
+
+  /**
+   * Returns the number of elements a collection of the given size is padded to.
+   */
+  public abstract int paddedSize(int size);
+
+  /**
+   * Returns the elements of the collection followed by copies of the last one up to the padded size.
+   */
+  public Iterable<?> pad(Iterable<?> iterable) {
+    if (this == NONE) {
+      return iterable;
+    }
+    List<Object> values = new ArrayList<>();
+    for (Object o : iterable) {
+      values.add(o);
+    }
+    int size = values.size();
+    if (size > 0) {
+      Object last = values.get(size - 1);
+      for (int i = size, paddedSize = paddedSize(size); i < paddedSize; i++) {
+        values.add(last);
+      }
+    }
+    return values;
+  }
+
+}
@@ -15,16 +15,23 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
+import org.apache.ibatis.builder.BuilderException;
 import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.ArrayTypeHandler;
 
 /**
  * @author Clinton Begin
  */
 public class ForEachSqlNode implements SqlNode {
   public static final String ITEM_PREFIX = "__frch_";
+  private static final Pattern IN_LIST = Pattern.compile("(?is).*\\bIN\\s*\\(\\s*");
 
   private final ExpressionEvaluator evaluator;
   private final String collectionExpression;
@@ -35,8 +42,33 @@ public class ForEachSqlNode implements SqlNode {
   private final String item;
   private final String index;
   private final Configuration configuration;
+  private final Class<?> arrayType;
+  private final String arrayOpen;
+  private final String arrayClose;
+  private final ForEachPadding padding;
 
   public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, String index, String item, String open, String close, String separator) {
+    this(configuration, contents, collectionExpression, index, item, open, close, separator, null, null, null,
+        isInList(null, open) ? null : ForEachPadding.NONE);
+  }
+
+  /**
+   * Creates a foreach that binds the whole collection as a single JDBC array of the given element type.
+   * The contents are applied once with the item bound to the array, between the array open and close.
+   * When arrays are disabled by the configuration, the collection is expanded between open and close as usual,
+   * padded to the next power of two so that the number of distinct statements stays small.
+   * <p>
+   * A <code>null</code> padding uses the padding of the configuration; callers should only pass it for IN lists,
+   * see {@link #isInList(String, String)}. An explicit padding, including {@link ForEachPadding#NONE}, always wins.
+   *
+   * @since 3.5.0
+   */
+  public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, String index, String item, String open, String close, String separator,
+      Class<?> arrayType, String arrayOpen, String arrayClose, ForEachPadding padding) {
+    this.arrayType = arrayType;
+    this.padding = padding;
+    this.arrayOpen = arrayOpen == null ? open : arrayOpen;
+    this.arrayClose = arrayClose == null ? close : arrayClose;
     this.evaluator = new ExpressionEvaluator();
     this.collectionExpression = collectionExpression;
     this.contents = contents;
@@ -52,13 +84,16 @@ public class ForEachSqlNode implements SqlNode {
   public boolean apply(DynamicContext context) {
     Map<String, Object> bindings = context.getBindings();
     final Iterable<?> iterable = evaluator.evaluateIterable(collectionExpression, bindings);
+    if (arrayType != null && configuration.isUseForeachArrays()) {
+      return applyArray(context, iterable);
+    }
     if (!iterable.iterator().hasNext()) {
       return true;
     }
     boolean first = true;
     applyOpen(context);
     int i = 0;
-    for (Object o : iterable) {
+    for (Object o : resolvePadding().pad(iterable)) {
       DynamicContext oldContext = context;
       if (first || separator == null) {
         context = new PrefixedContext(context, "");
@@ -89,6 +124,52 @@ public class ForEachSqlNode implements SqlNode {
     return true;
   }
 
+  private boolean applyArray(DynamicContext context, Iterable<?> iterable) {
+    List<Object> values = new ArrayList<>();
+    for (Object o : iterable) {
+      values.add(o instanceof Map.Entry ? ((Map.Entry<?, ?>) o).getValue() : o);
+    }
+    Object array = Array.newInstance(arrayType, values.size());
+    try {
+      for (int i = 0; i < values.size(); i++) {
+        Array.set(array, i, values.get(i));
+      }
+    } catch (IllegalArgumentException e) {
+      throw new BuilderException("Error binding '" + collectionExpression + "' as an array of " + arrayType.getName() + ". Cause: " + e, e);
+    }
+    if (arrayOpen != null) {
+      context.appendSql(arrayOpen);
+    }
+    int uniqueNumber = context.getUniqueNumber();
+    applyItem(context, array, uniqueNumber);
+    contents.apply(new FilteredDynamicContext(configuration, context, null, item, uniqueNumber, true));
+    if (arrayClose != null) {
+      context.appendSql(arrayClose);
+    }
+    context.getBindings().remove(item);
+    return true;
+  }
+
+  private ForEachPadding resolvePadding() {
+    if (padding != null) {
+      return padding;
+    }
+    if (arrayType != null) {
+      // falling back from an array, keep the number of statements small
+      return ForEachPadding.POWER_OF_TWO;
+    }
+    return configuration.getForeachPadding();
+  }
+
+  /**
+   * Returns whether a foreach expands an IN list, given the sql right before it and its open string.
+   * Only IN lists keep their result when the last element is repeated.
+   */
+  static boolean isInList(String precedingSql, String open) {
+    String sql = (precedingSql == null ? "" : precedingSql) + " " + (open == null ? "" : open);
+    return IN_LIST.matcher(sql).matches();
+  }
+
   private void applyIndex(DynamicContext context, Object o, int i) {
     if (index != null) {
       context.bind(index, o);
@@ -124,13 +205,19 @@ public class ForEachSqlNode implements SqlNode {
     private final int index;
     private final String itemIndex;
     private final String item;
+    private final boolean array;
 
     public FilteredDynamicContext(Configuration configuration,DynamicContext delegate, String itemIndex, String item, int i) {
+      this(configuration, delegate, itemIndex, item, i, false);
+    }
+
+    FilteredDynamicContext(Configuration configuration, DynamicContext delegate, String itemIndex, String item, int i, boolean array) {
       super(configuration, null);
       this.delegate = delegate;
       this.index = i;
       this.itemIndex = itemIndex;
       this.item = item;
+      this.array = array;
     }
 
     @Override
@@ -152,6 +239,9 @@ public class ForEachSqlNode implements SqlNode {
     public void appendSql(String sql) {
       GenericTokenParser parser = new GenericTokenParser("#{", "}", content -> {
         String newContent = content.replaceFirst("^\\s*" + item + "(?![^.,:\\s])", itemizeItem(item, index));
+        if (array && !newContent.equals(content) && !newContent.contains("typeHandler")) {
+          newContent += ",typeHandler=" + ArrayTypeHandler.class.getName();
+        }
         if (itemIndex != null && newContent.equals(content)) {
           newContent = content.replaceFirst("^\\s*" + itemIndex + "(?![^.,:\\s])", itemizeItem(itemIndex, index));
         }
@@ -176,11 +176,35 @@ public class XMLScriptBuilder extends BaseBuilder {
       String open = nodeToHandle.getStringAttribute("open");
       String close = nodeToHandle.getStringAttribute("close");
       String separator = nodeToHandle.getStringAttribute("separator");
-      ForEachSqlNode forEachSqlNode = new ForEachSqlNode(configuration, mixedSqlNode, collection, index, item, open, close, separator);
+      String arrayType = nodeToHandle.getStringAttribute("arrayType");
+      String arrayOpen = nodeToHandle.getStringAttribute("arrayOpen");
+      String arrayClose = nodeToHandle.getStringAttribute("arrayClose");
+      String padding = nodeToHandle.getStringAttribute("padding");
+      Class<?> arrayClass = arrayType == null ? null : resolveClass(arrayType);
+      ForEachPadding foreachPadding;
+      if (padding != null) {
+        foreachPadding = ForEachPadding.valueOf(padding);
+      } else if (arrayClass != null || ForEachSqlNode.isInList(precedingText(nodeToHandle), open)) {
+        // the padding of the configuration only applies to IN lists
+        foreachPadding = null;
+      } else {
+        foreachPadding = ForEachPadding.NONE;
+      }
+      ForEachSqlNode forEachSqlNode = new ForEachSqlNode(configuration, mixedSqlNode, collection, index, item, open, close, separator,
+          arrayClass, arrayOpen, arrayClose, foreachPadding);
       targetContents.add(forEachSqlNode);
     }
   }
 
+  private static String precedingText(XNode node) {
+    Node sibling = node.getNode().getPreviousSibling();
+    if (sibling != null
+        && (sibling.getNodeType() == Node.TEXT_NODE || sibling.getNodeType() == Node.CDATA_SECTION_NODE)) {
+      return sibling.getNodeValue();
+    }
+    return null;
+  }
+
   private class IfHandler implements NodeHandler {
     public IfHandler() {
       // Prevent Synthetic Access
@@ -24,24 +24,35 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.ibatis.binding.MapperRegistry;
 import org.apache.ibatis.builder.CacheRefResolver;
 import org.apache.ibatis.builder.ResultMapResolver;
 import org.apache.ibatis.builder.annotation.MethodResolver;
 import org.apache.ibatis.builder.xml.XMLStatementBuilder;
+import org.apache.ibatis.bulk.BatchBulkLoader;
+import org.apache.ibatis.bulk.BulkLoader;
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.TableDependencyIndex;
 import org.apache.ibatis.cache.decorators.FifoCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.SoftCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
+import org.apache.ibatis.cache.decorators.WeightedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.impl.SnapshotCache;
+import org.apache.ibatis.cache.invalidation.InvalidationTransport;
+import org.apache.ibatis.cache.invalidation.LoopbackTransport;
+import org.apache.ibatis.cache.invalidation.MulticastTransport;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
 import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.CachingExecutor;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.InFlightQueries;
 import org.apache.ibatis.executor.ReuseExecutor;
 import org.apache.ibatis.executor.SimpleExecutor;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
@@ -51,12 +62,16 @@ import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.statement.ExplainHook;
+import org.apache.ibatis.executor.statement.FetchSizeAdvisor;
 import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.SlowStatementTracker;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.io.VFS;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.logging.commons.JakartaCommonsLoggingImpl;
+import org.apache.ibatis.logging.jdbc.BaseJdbcLogger;
 import org.apache.ibatis.logging.jdk14.Jdk14LoggingImpl;
 import org.apache.ibatis.logging.log4j.Log4jImpl;
 import org.apache.ibatis.logging.log4j2.Log4j2Impl;
@@ -82,6 +97,7 @@ import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.scripting.LanguageDriverRegistry;
 import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.ForEachPadding;
 import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.transaction.Transaction;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
@@ -144,6 +160,26 @@ public class Configuration {
    * 允许使用方法签名中的名称作为语句参数名称。 为了使用该特性，你的项目必须采用 Java 8 编译，并且加上 -parameters 选项
    */
   protected boolean useActualParamName = true;
+  /**
+   * 指定了 arrayType 的 foreach 是否将整个集合绑定为一个 JDBC 数组，关闭时按 2 的幂补齐后逐个展开
+   */
+  protected boolean useForeachArrays = true;
+  /**
+   * foreach 展开集合时的补齐方式，补齐后不同长度的集合生成相同的 SQL，NONE 表示不补齐
+   */
+  protected ForEachPadding foreachPadding = ForEachPadding.NONE;
+  /**
+   * 在集群节点间传播二级缓存失效的通道，未配置时缓存只在本节点失效
+   */
+  protected InvalidationTransport cacheInvalidationTransport;
+  /**
+   * 是否合并并发执行的相同查询，开启后声明 coalesce 的语句同时到达的相同查询只访问一次数据库，其余的得到其结果的序列化副本
+   */
+  protected boolean coalesceQueries;
+  /**
+   * resultType为map时是否使用紧凑的行Map，同一结果集的行共享列名，每行只保存一个值数组
+   */
+  protected boolean compactMapResults;
   /**
    * 当返回行的所有列都是空时，MyBatis默认返回 null。 当开启这个设置时，MyBatis会返回一个空实例。
    * 请注意，它也适用于嵌套的结果集 （如集合或关联）。（新增于 3.4.2）
@@ -154,6 +190,18 @@ public class Configuration {
    * 指定 MyBatis 增加到日志名称的前缀。
    */
   protected String logPrefix;
+  /**
+   * 语句日志的采样率，每 N 条语句中记录一条的 JDBC 日志，1 表示全部记录
+   */
+  protected int statementLogSampleRate = 1;
+  /**
+   * 是否在后台线程中格式化并输出 JDBC 日志
+   */
+  protected boolean statementLogAsync;
+  /**
+   * 异步写语句日志的后台线程，仅属于当前配置
+   */
+  protected volatile ExecutorService statementLogExecutor;
   /**
    * 指定 MyBatis 所用日志的具体实现，未指定时将自动查找。
    * SLF4J | LOG4J | LOG4J2 | JDK_LOGGING | COMMONS_LOGGING | STDOUT_LOGGING | NO_LOGGING
@@ -216,6 +264,10 @@ public class Configuration {
      */
   protected ObjectFactory objectFactory = new DefaultObjectFactory();
   protected ObjectWrapperFactory objectWrapperFactory = new DefaultObjectWrapperFactory();
+  /**
+   * 批量导入的实现，默认使用JDBC批处理，可以替换为数据库厂商的批量导入协议（如 COPY）
+   */
+  protected BulkLoader bulkLoader = new BatchBulkLoader();
 
   /**
    * 延迟加载的全局开关。当开启时，所有关联对象都会延迟加载。 特定关联关系中可通过设置 fetchType 属性来覆盖该项的开关状态。
@@ -292,6 +344,19 @@ public class Configuration {
      * key  命名空间  value 缓存配置
      */
   protected final Map<String, Cache> caches = new StrictMap<>("Caches collection");
+    /**
+     * 二级缓存的表依赖索引
+     * key  缓存ID  value 表/主键到缓存key的反向索引
+     */
+  protected final Map<String, TableDependencyIndex> tableDependencyIndexes = new ConcurrentHashMap<>();
+    /**
+     * 后台刷新条目的缓存ID
+     */
+  protected final Set<String> refreshAheadCaches = new HashSet<>();
+    /**
+     * 正在执行的查询，用于合并并发的相同查询
+     */
+  protected final InFlightQueries inFlightQueries = new InFlightQueries();
     /**
      * resultMap
      * 节点<resultMap></resultMap>
@@ -342,6 +407,27 @@ public class Configuration {
    */
   protected final Map<String, String> cacheRefMap = new HashMap<>();
 
+  /**
+   * 慢语句跟踪器，记录执行时间超过阈值的语句及其耗时分布
+   * 阈值可按语句或命名空间配置 {@link SlowStatementTracker#setThreshold(String, Long)}
+   */
+  protected final SlowStatementTracker slowStatementTracker = new SlowStatementTracker(this);
+
+  /**
+   * 按语句学习结果行数与行宽，在内存预算内给出 fetchSize 建议
+   */
+  protected final FetchSizeAdvisor fetchSizeAdvisor = new FetchSizeAdvisor();
+
+  /**
+   * 游标查询时后台预取并映射的行数，为空或 0 时不预取
+   */
+  protected Integer cursorPrefetchSize;
+
+  /**
+   * BATCH 执行器累积多少条语句后自动执行一次批处理并取回生成的主键，为空或 0 时只在 flushStatements 时执行
+   */
+  protected Integer batchFlushSize;
+
   public Configuration(Environment environment) {
     this();
     this.environment = environment;
@@ -359,11 +445,18 @@ public class Configuration {
 
     // 缓存实现  默认实现
     typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
+    // 读多写少的只读缓存，写时复制
+    typeAliasRegistry.registerAlias("SNAPSHOT", SnapshotCache.class);
+    // 缓存失效传播通道
+    typeAliasRegistry.registerAlias("MULTICAST", MulticastTransport.class);
+    typeAliasRegistry.registerAlias("LOOPBACK", LoopbackTransport.class);
     // 缓存策略
     typeAliasRegistry.registerAlias("FIFO", FifoCache.class);
     typeAliasRegistry.registerAlias("LRU", LruCache.class);
     typeAliasRegistry.registerAlias("SOFT", SoftCache.class);
     typeAliasRegistry.registerAlias("WEAK", WeakCache.class);
+    // 按估算字节数淘汰
+    typeAliasRegistry.registerAlias("WEIGHTED", WeightedCache.class);
 
     // DataBaseId
     typeAliasRegistry.registerAlias("DB_VENDOR", VendorDatabaseIdProvider.class);
@@ -405,6 +498,50 @@ public class Configuration {
     }
   }
 
+  /**
+   * @since 3.5.0
+   */
+  public int getStatementLogSampleRate() {
+    return statementLogSampleRate;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setStatementLogSampleRate(int statementLogSampleRate) {
+    this.statementLogSampleRate = statementLogSampleRate;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public boolean isStatementLogAsync() {
+    return statementLogAsync;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public synchronized void setStatementLogAsync(boolean statementLogAsync) {
+    this.statementLogAsync = statementLogAsync;
+    if (statementLogAsync && statementLogExecutor == null) {
+      statementLogExecutor = BaseJdbcLogger.newAsyncLogExecutor();
+    } else if (!statementLogAsync && statementLogExecutor != null) {
+      statementLogExecutor.shutdown();
+      statementLogExecutor = null;
+    }
+  }
+
+  /**
+   * Returns the executor that writes the statement logs of this configuration, {@code null} when they are written on
+   * the executing thread.
+   *
+   * @since 3.5.0
+   */
+  public ExecutorService getStatementLogExecutor() {
+    return statementLogExecutor;
+  }
+
   public Class<? extends VFS> getVfsImpl() {
     return this.vfsImpl;
   }
@@ -432,6 +569,80 @@ public class Configuration {
     this.useActualParamName = useActualParamName;
   }
 
+  /**
+   * @since 3.5.0
+   */
+  public boolean isUseForeachArrays() {
+    return useForeachArrays;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setUseForeachArrays(boolean useForeachArrays) {
+    this.useForeachArrays = useForeachArrays;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public InvalidationTransport getCacheInvalidationTransport() {
+    return cacheInvalidationTransport;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setCacheInvalidationTransport(InvalidationTransport cacheInvalidationTransport) {
+    InvalidationTransport previous = this.cacheInvalidationTransport;
+    this.cacheInvalidationTransport = cacheInvalidationTransport;
+    if (previous != null && previous != cacheInvalidationTransport) {
+      previous.close();
+    }
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public ForEachPadding getForeachPadding() {
+    return foreachPadding;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setForeachPadding(ForEachPadding foreachPadding) {
+    this.foreachPadding = foreachPadding;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public boolean isCoalesceQueries() {
+    return coalesceQueries;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setCoalesceQueries(boolean coalesceQueries) {
+    this.coalesceQueries = coalesceQueries;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public boolean isCompactMapResults() {
+    return compactMapResults;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setCompactMapResults(boolean compactMapResults) {
+    this.compactMapResults = compactMapResults;
+  }
+
   public boolean isReturnInstanceForEmptyRow() {
     return returnInstanceForEmptyRow;
   }
@@ -537,6 +748,23 @@ public class Configuration {
     this.proxyFactory = proxyFactory;
   }
 
+  /**
+   * @since 3.5.0
+   */
+  public BulkLoader getBulkLoader() {
+    return bulkLoader;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setBulkLoader(BulkLoader bulkLoader) {
+    if (bulkLoader == null) {
+      bulkLoader = new BatchBulkLoader();
+    }
+    this.bulkLoader = bulkLoader;
+  }
+
   public boolean isAggressiveLazyLoading() {
     return aggressiveLazyLoading;
   }
@@ -607,6 +835,124 @@ public class Configuration {
     this.defaultFetchSize = defaultFetchSize;
   }
 
+  /**
+   * @since 3.5.0
+   */
+  public SlowStatementTracker getSlowStatementTracker() {
+    return slowStatementTracker;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public Long getSlowStatementThreshold() {
+    return slowStatementTracker.getDefaultThreshold();
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setSlowStatementThreshold(Long slowStatementThreshold) {
+    slowStatementTracker.setDefaultThreshold(slowStatementThreshold);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public Map<String, Long> getSlowStatementThresholds() {
+    return slowStatementTracker.getThresholds();
+  }
+
+  /**
+   * Sets the thresholds in milliseconds of single statements or namespaces, keyed by statement id or namespace.
+   *
+   * @since 3.5.0
+   */
+  public void setSlowStatementThresholds(Map<String, Long> slowStatementThresholds) {
+    if (slowStatementThresholds != null) {
+      for (Map.Entry<String, Long> entry : slowStatementThresholds.entrySet()) {
+        slowStatementTracker.setThreshold(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public int getSlowStatementCapacity() {
+    return slowStatementTracker.getCapacity();
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setSlowStatementCapacity(int slowStatementCapacity) {
+    slowStatementTracker.setCapacity(slowStatementCapacity);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public ExplainHook getSlowStatementExplainHook() {
+    return slowStatementTracker.getExplainHook();
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setSlowStatementExplainHook(ExplainHook explainHook) {
+    slowStatementTracker.setExplainHook(explainHook);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public FetchSizeAdvisor getFetchSizeAdvisor() {
+    return fetchSizeAdvisor;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public Long getAdaptiveFetchSizeBudget() {
+    return fetchSizeAdvisor.getMemoryBudget();
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setAdaptiveFetchSizeBudget(Long adaptiveFetchSizeBudget) {
+    fetchSizeAdvisor.setMemoryBudget(adaptiveFetchSizeBudget);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public Integer getCursorPrefetchSize() {
+    return cursorPrefetchSize;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setCursorPrefetchSize(Integer cursorPrefetchSize) {
+    this.cursorPrefetchSize = cursorPrefetchSize;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public Integer getBatchFlushSize() {
+    return batchFlushSize;
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public void setBatchFlushSize(Integer batchFlushSize) {
+    this.batchFlushSize = batchFlushSize;
+  }
+
   public boolean isUseColumnLabel() {
     return useColumnLabel;
   }
@@ -728,6 +1074,15 @@ public class Configuration {
     return parameterHandler;
   }
 
+  /**
+   * Applies the plugins to a parameter handler that was not created by the scripting language of a statement.
+   *
+   * @since 3.5.0
+   */
+  public ParameterHandler pluginParameterHandler(ParameterHandler parameterHandler) {
+    return (ParameterHandler) interceptorChain.pluginAll(parameterHandler);
+  }
+
   public ResultSetHandler newResultSetHandler(Executor executor, MappedStatement mappedStatement, RowBounds rowBounds, ParameterHandler parameterHandler,
       ResultHandler resultHandler, BoundSql boundSql) {
     ResultSetHandler resultSetHandler = new DefaultResultSetHandler(executor, mappedStatement, parameterHandler, resultHandler, boundSql, rowBounds);
@@ -746,6 +1101,15 @@ public class Configuration {
   }
 
   public Executor newExecutor(Transaction transaction, ExecutorType executorType) {
+    return newExecutor(transaction, executorType, cacheEnabled);
+  }
+
+  /**
+   * Creates an executor with the plugins applied, bypassing the 2nd level cache when <code>cacheEnabled</code> is false.
+   *
+   * @since 3.5.0
+   */
+  public Executor newExecutor(Transaction transaction, ExecutorType executorType, boolean cacheEnabled) {
     executorType = executorType == null ? defaultExecutorType : executorType;
     executorType = executorType == null ? ExecutorType.SIMPLE : executorType;
     Executor executor;
@@ -805,6 +1169,34 @@ public class Configuration {
     return caches.containsKey(id);
   }
 
+  /**
+   * @since 3.5.0
+   */
+  public void addRefreshAheadCache(String id) {
+    refreshAheadCaches.add(id);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public boolean isRefreshAheadCache(String id) {
+    return refreshAheadCaches.contains(id);
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public TableDependencyIndex getTableDependencyIndex(Cache cache) {
+    return tableDependencyIndexes.computeIfAbsent(cache.getId(), id -> new TableDependencyIndex());
+  }
+
+  /**
+   * @since 3.5.0
+   */
+  public InFlightQueries getInFlightQueries() {
+    return inFlightQueries;
+  }
+
   public void addResultMap(ResultMap rm) {
     resultMaps.put(rm.getId(), rm);
     checkLocallyForDiscriminatedNestedResultMaps(rm);
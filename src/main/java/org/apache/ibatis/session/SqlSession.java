@@ -17,11 +17,17 @@ package org.apache.ibatis.session;
 
 import java.io.Closeable;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
+import org.apache.ibatis.columnar.ColumnBatch;
+import org.apache.ibatis.columnar.ColumnBatchHandler;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.result.ColumnarResultHandler;
 
 /**
  * The primary Java interface for working with MyBatis.
@@ -169,6 +175,43 @@ public interface SqlSession extends Closeable {
    */
   void select(String statement, Object parameter, RowBounds rowBounds, ResultHandler handler);
 
+  /**
+   * Retrieve the rows of the first result set of a select as column vectors instead of row objects.
+   * @param statement Unique identifier matching the statement to use.
+   * @return Mapped columns
+   * @since 3.5.0
+   */
+  default ColumnBatch selectColumns(String statement) {
+    return selectColumns(statement, null);
+  }
+
+  /**
+   * Retrieve the rows of the first result set of a select as column vectors instead of row objects.
+   * Columns are read with the type handlers of the result map of the statement, or else of their metadata.
+   * @param statement Unique identifier matching the statement to use.
+   * @param parameter A parameter object to pass to the statement.
+   * @return Mapped columns
+   * @since 3.5.0
+   */
+  default ColumnBatch selectColumns(String statement, Object parameter) {
+    final List<ColumnBatch> batches = new ArrayList<>();
+    selectColumns(statement, parameter, Integer.MAX_VALUE, batches::add);
+    return batches.isEmpty() ? new ColumnBatch(Collections.emptyList()) : batches.get(0);
+  }
+
+  /**
+   * Retrieve the rows of a select as column vectors, handed over in batches of at most {@code batchSize} rows
+   * so that the whole result is never held in memory.
+   * @param statement Unique identifier matching the statement to use.
+   * @param parameter A parameter object to pass to the statement.
+   * @param batchSize Maximum number of rows of a batch
+   * @param handler ColumnBatchHandler that will handle each batch
+   * @since 3.5.0
+   */
+  default void selectColumns(String statement, Object parameter, int batchSize, ColumnBatchHandler handler) {
+    select(statement, parameter, RowBounds.DEFAULT, new ColumnarResultHandler(batchSize, handler));
+  }
+
   /**
    * Execute an insert statement.
    * @param statement Unique identifier matching the statement to execute.
@@ -186,6 +229,55 @@ public interface SqlSession extends Closeable {
    */
   int insert(String statement, Object parameter);
 
+  /**
+   * Execute an insert statement with static SQL once per row of a batch of columns, as a single JDBC batch.
+   * Each parameter of the statement is read from the column of the same name, no parameter object is created.
+   * Generated keys are not retrieved.
+   * Sessions that do not support it insert the rows one at a time, each row passed as a map from column name to value.
+   * @param statement Unique identifier matching the statement to execute.
+   * @param columns The rows to insert.
+   * @return int[] The update counts of the rows.
+   * @since 3.5.0
+   */
+  default int[] insertColumns(String statement, ColumnBatch columns) {
+    int[] counts = new int[columns.getRowCount()];
+    for (int row = 0; row < counts.length; row++) {
+      counts[row] = insert(statement, columns.getRow(row));
+    }
+    return counts;
+  }
+
+  /**
+   * Load many rows with an insert statement with static SQL, through the configured {@code BulkLoader}.
+   * The default loader runs JDBC batches, vendor loaders can stream the rows with a bulk load protocol instead.
+   * Generated keys are not retrieved.
+   * Sessions that do not support it insert the rows one at a time.
+   * @param statement Unique identifier matching the statement to execute.
+   * @param rows The parameter objects of the rows, read once.
+   * @return long The number of rows loaded.
+   * @since 3.5.0
+   */
+  default long bulkLoad(String statement, Iterable<?> rows) {
+    long count = 0;
+    for (Object row : rows) {
+      count += insert(statement, row);
+    }
+    return count;
+  }
+
+  /**
+   * Load many rows with an insert statement with static SQL, through the configured {@code BulkLoader}.
+   * The rows are consumed as they are loaded, the stream is not closed.
+   * @param statement Unique identifier matching the statement to execute.
+   * @param rows The parameter objects of the rows.
+   * @return long The number of rows loaded.
+   * @since 3.5.0
+   */
+  default <T> long bulkLoad(String statement, Stream<T> rows) {
+    Iterable<T> iterable = rows::iterator;
+    return bulkLoad(statement, iterable);
+  }
+
   /**
    * Execute an update statement. The number of rows affected will be returned.
    * @param statement Unique identifier matching the statement to execute.
@@ -25,6 +25,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
+import org.apache.ibatis.columnar.ColumnBatch;
+import org.apache.ibatis.columnar.ColumnBatchHandler;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.reflection.ExceptionUtil;
@@ -226,6 +228,21 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     sqlSessionProxy.select(statement, parameter, rowBounds, handler);
   }
 
+  @Override
+  public ColumnBatch selectColumns(String statement) {
+    return sqlSessionProxy.selectColumns(statement);
+  }
+
+  @Override
+  public ColumnBatch selectColumns(String statement, Object parameter) {
+    return sqlSessionProxy.selectColumns(statement, parameter);
+  }
+
+  @Override
+  public void selectColumns(String statement, Object parameter, int batchSize, ColumnBatchHandler handler) {
+    sqlSessionProxy.selectColumns(statement, parameter, batchSize, handler);
+  }
+
   @Override
   public int insert(String statement) {
     return sqlSessionProxy.insert(statement);
@@ -236,6 +253,16 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     return sqlSessionProxy.insert(statement, parameter);
   }
 
+  @Override
+  public int[] insertColumns(String statement, ColumnBatch columns) {
+    return sqlSessionProxy.insertColumns(statement, columns);
+  }
+
+  @Override
+  public long bulkLoad(String statement, Iterable<?> rows) {
+    return sqlSessionProxy.bulkLoad(statement, rows);
+  }
+
   @Override
   public int update(String statement) {
     return sqlSessionProxy.update(statement);
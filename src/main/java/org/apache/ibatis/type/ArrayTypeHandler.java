@@ -15,24 +15,98 @@
  */
 package org.apache.ibatis.type;
 
+import java.math.BigDecimal;
 import java.sql.Array;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Clinton Begin
  */
 public class ArrayTypeHandler extends BaseTypeHandler<Object> {
 
+  private static final Map<Class<?>, String> STANDARD_MAPPING = new HashMap<>();
+  private static final Map<Class<?>, Class<?>> BOXED_TYPES = new HashMap<>();
+
+  static {
+    BOXED_TYPES.put(boolean.class, Boolean.class);
+    BOXED_TYPES.put(byte.class, Byte.class);
+    BOXED_TYPES.put(short.class, Short.class);
+    BOXED_TYPES.put(int.class, Integer.class);
+    BOXED_TYPES.put(long.class, Long.class);
+    BOXED_TYPES.put(float.class, Float.class);
+    BOXED_TYPES.put(double.class, Double.class);
+    BOXED_TYPES.put(char.class, Character.class);
+    STANDARD_MAPPING.put(Boolean.class, JdbcType.BOOLEAN.name());
+    STANDARD_MAPPING.put(Byte.class, JdbcType.TINYINT.name());
+    STANDARD_MAPPING.put(Short.class, JdbcType.SMALLINT.name());
+    STANDARD_MAPPING.put(Integer.class, JdbcType.INTEGER.name());
+    STANDARD_MAPPING.put(Long.class, JdbcType.BIGINT.name());
+    STANDARD_MAPPING.put(Float.class, JdbcType.REAL.name());
+    STANDARD_MAPPING.put(Double.class, JdbcType.DOUBLE.name());
+    STANDARD_MAPPING.put(BigDecimal.class, JdbcType.NUMERIC.name());
+    STANDARD_MAPPING.put(String.class, JdbcType.VARCHAR.name());
+    STANDARD_MAPPING.put(java.sql.Date.class, JdbcType.DATE.name());
+    STANDARD_MAPPING.put(Time.class, JdbcType.TIME.name());
+    STANDARD_MAPPING.put(Timestamp.class, JdbcType.TIMESTAMP.name());
+    STANDARD_MAPPING.put(java.util.Date.class, JdbcType.TIMESTAMP.name());
+    STANDARD_MAPPING.put(LocalDate.class, JdbcType.DATE.name());
+    STANDARD_MAPPING.put(LocalTime.class, JdbcType.TIME.name());
+    STANDARD_MAPPING.put(LocalDateTime.class, JdbcType.TIMESTAMP.name());
+    STANDARD_MAPPING.put(OffsetDateTime.class, "TIMESTAMP WITH TIME ZONE");
+    STANDARD_MAPPING.put(byte[].class, JdbcType.VARBINARY.name());
+  }
+
   public ArrayTypeHandler() {
     super();
   }
 
+  /**
+   * Sets a {@link Array} as is. A Java array is converted with {@link java.sql.Connection#createArrayOf(String, Object[])},
+   * the sql type name of its elements being resolved from the component type. The created array is not freed here
+   * because drivers may read it when the statement is executed; it is released with the statement.
+   */
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Object parameter, JdbcType jdbcType) throws SQLException {
-    ps.setArray(i, (Array) parameter);
+    if (parameter instanceof Array) {
+      ps.setArray(i, (Array) parameter);
+      return;
+    }
+    if (!parameter.getClass().isArray()) {
+      throw new TypeException("ArrayTypeHandler does not support parameters of type " + parameter.getClass().getName()
+          + ". Use a java.sql.Array or a Java array instead.");
+    }
+    Object[] elements = toObjectArray(parameter);
+    Array array = ps.getConnection().createArrayOf(resolveTypeName(elements.getClass().getComponentType()), elements);
+    ps.setArray(i, array);
+  }
+
+  protected String resolveTypeName(Class<?> type) {
+    String typeName = STANDARD_MAPPING.get(type);
+    return typeName == null ? JdbcType.JAVA_OBJECT.name() : typeName;
+  }
+
+  private static Object[] toObjectArray(Object array) {
+    if (array instanceof Object[]) {
+      return (Object[]) array;
+    }
+    int length = java.lang.reflect.Array.getLength(array);
+    Class<?> boxedType = BOXED_TYPES.get(array.getClass().getComponentType());
+    Object[] elements = (Object[]) java.lang.reflect.Array.newInstance(boxedType, length);
+    for (int i = 0; i < length; i++) {
+      elements[i] = java.lang.reflect.Array.get(array, i);
+    }
+    return elements;
   }
 
   @Override
@@ -54,7 +54,7 @@ public class BlobByteObjectArrayTypeHandler extends BaseTypeHandler<Byte[]> {
   private Byte[] getBytes(Blob blob) throws SQLException {
     Byte[] returnValue = null;
     if (blob != null) {
-      returnValue = ByteArrayUtils.convertToObjectArray(blob.getBytes(1, (int) blob.length()));
+      returnValue = ByteArrayUtils.convertToObjectArray(blob.getBytes(1, LobLengths.ofBlob(blob.length())));
     }
     return returnValue;
   }
@@ -0,0 +1,88 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@link TypeHandler} for {@link Blob}/{@link ReadableByteChannel}.
+ * <p>
+ * Nothing is buffered: a parameter is read by the driver while the statement executes, and a result reads the BLOB
+ * of the current row. As with {@link BlobInputStreamTypeHandler}, a result must be consumed while the row is current,
+ * that is in a {@code ResultHandler} or while iterating a {@code Cursor}, or before the session ends with drivers
+ * that keep LOBs until the end of the transaction.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+public class BlobChannelTypeHandler extends BaseTypeHandler<ReadableByteChannel> {
+
+  /**
+   * Set a {@link ReadableByteChannel} into {@link PreparedStatement}, with its remaining length for a {@link FileChannel}.
+   * @see PreparedStatement#setBlob(int, java.io.InputStream, long)
+   */
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, ReadableByteChannel parameter, JdbcType jdbcType)
+      throws SQLException {
+    if (parameter instanceof FileChannel) {
+      FileChannel channel = (FileChannel) parameter;
+      long length;
+      try {
+        length = channel.size() - channel.position();
+      } catch (IOException e) {
+        throw new TypeException("Could not get the remaining length of a file channel.  Cause: " + e, e);
+      }
+      ps.setBlob(i, Channels.newInputStream(channel), length);
+    } else {
+      ps.setBlob(i, Channels.newInputStream(parameter));
+    }
+  }
+
+  @Override
+  public ReadableByteChannel getNullableResult(ResultSet rs, String columnName)
+      throws SQLException {
+    return toChannel(rs.getBlob(columnName));
+  }
+
+  @Override
+  public ReadableByteChannel getNullableResult(ResultSet rs, int columnIndex)
+      throws SQLException {
+    return toChannel(rs.getBlob(columnIndex));
+  }
+
+  @Override
+  public ReadableByteChannel getNullableResult(CallableStatement cs, int columnIndex)
+      throws SQLException {
+    return toChannel(cs.getBlob(columnIndex));
+  }
+
+  private ReadableByteChannel toChannel(Blob blob) throws SQLException {
+    if (blob == null) {
+      return null;
+    } else {
+      return Channels.newChannel(blob.getBinaryStream());
+    }
+  }
+
+}
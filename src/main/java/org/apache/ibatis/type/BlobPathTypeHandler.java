@@ -0,0 +1,159 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@link TypeHandler} for {@link Blob}/{@link Path}.
+ * <p>
+ * A parameter streams the file into the BLOB: the file is only opened when the driver starts reading it and is closed
+ * once it has been read. A result copies the BLOB into a new temporary file, without holding it in memory, so that
+ * it outlives the row and the session. The caller should delete the file once it is done with it; files left behind
+ * are deleted when the JVM exits.
+ * </p>
+ * <p>
+ * Results must not be cached: a cached {@link Path} would outlive the file it names once the first caller deleted it,
+ * so statements mapping a result with this handler should set {@code useCache="false"}.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+public class BlobPathTypeHandler extends BaseTypeHandler<Path> {
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, Path parameter, JdbcType jdbcType)
+      throws SQLException {
+    long length;
+    try {
+      length = Files.size(parameter);
+    } catch (IOException e) {
+      throw new TypeException("Could not get the size of the file " + parameter + ".  Cause: " + e, e);
+    }
+    ps.setBlob(i, new LazyFileInputStream(parameter), length);
+  }
+
+  @Override
+  public Path getNullableResult(ResultSet rs, String columnName)
+      throws SQLException {
+    return toPath(rs.getBlob(columnName));
+  }
+
+  @Override
+  public Path getNullableResult(ResultSet rs, int columnIndex)
+      throws SQLException {
+    return toPath(rs.getBlob(columnIndex));
+  }
+
+  @Override
+  public Path getNullableResult(CallableStatement cs, int columnIndex)
+      throws SQLException {
+    return toPath(cs.getBlob(columnIndex));
+  }
+
+  private Path toPath(Blob blob) throws SQLException {
+    if (blob == null) {
+      return null;
+    }
+    Path file = null;
+    try (InputStream in = blob.getBinaryStream()) {
+      file = Files.createTempFile("mybatis-blob", ".tmp");
+      file.toFile().deleteOnExit();
+      Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+      return file;
+    } catch (IOException e) {
+      deleteQuietly(file);
+      throw new TypeException("Could not copy a BLOB into a temporary file.  Cause: " + e, e);
+    }
+  }
+
+  private void deleteQuietly(Path file) {
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException ignore) {
+        // nothing more can be done
+      }
+    }
+  }
+
+  /**
+   * Opens the file on the first read and closes it at its end.
+   */
+  private static class LazyFileInputStream extends InputStream {
+
+    private final Path file;
+    private InputStream in;
+    private boolean closed;
+
+    LazyFileInputStream(Path file) {
+      this.file = file;
+    }
+
+    @Override
+    public int read() throws IOException {
+      InputStream current = open();
+      int b = current == null ? -1 : current.read();
+      if (b < 0) {
+        close();
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      InputStream current = open();
+      int count = current == null ? -1 : current.read(buffer, offset, length);
+      if (count < 0) {
+        close();
+      }
+      return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+      InputStream current = open();
+      return current == null ? 0 : current.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      if (in != null) {
+        in.close();
+        in = null;
+      }
+    }
+
+    private InputStream open() throws IOException {
+      if (in == null && !closed) {
+        in = Files.newInputStream(file);
+      }
+      return in;
+    }
+
+  }
+
+}
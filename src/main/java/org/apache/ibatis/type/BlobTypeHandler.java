@@ -40,7 +40,7 @@ public class BlobTypeHandler extends BaseTypeHandler<byte[]> {
     Blob blob = rs.getBlob(columnName);
     byte[] returnValue = null;
     if (null != blob) {
-      returnValue = blob.getBytes(1, (int) blob.length());
+      returnValue = blob.getBytes(1, LobLengths.ofBlob(blob.length()));
     }
     return returnValue;
   }
@@ -51,7 +51,7 @@ public class BlobTypeHandler extends BaseTypeHandler<byte[]> {
     Blob blob = rs.getBlob(columnIndex);
     byte[] returnValue = null;
     if (null != blob) {
-      returnValue = blob.getBytes(1, (int) blob.length());
+      returnValue = blob.getBytes(1, LobLengths.ofBlob(blob.length()));
     }
     return returnValue;
   }
@@ -62,7 +62,7 @@ public class BlobTypeHandler extends BaseTypeHandler<byte[]> {
     Blob blob = cs.getBlob(columnIndex);
     byte[] returnValue = null;
     if (null != blob) {
-      returnValue = blob.getBytes(1, (int) blob.length());
+      returnValue = blob.getBytes(1, LobLengths.ofBlob(blob.length()));
     }
     return returnValue;
   }
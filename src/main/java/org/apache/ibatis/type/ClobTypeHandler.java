@@ -56,7 +56,7 @@ public class ClobTypeHandler extends BaseTypeHandler<String> {
   }
 
   private String toString(Clob clob) throws SQLException {
-    return clob == null ? null : clob.getSubString(1, (int) clob.length());
+    return clob == null ? null : clob.getSubString(1, LobLengths.ofClob(clob.length()));
   }
 
 }
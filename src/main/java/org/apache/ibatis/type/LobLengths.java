@@ -0,0 +1,44 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+/**
+ * Checks that a LOB can be materialized, instead of silently truncating its length to an {@code int}.
+ *
+ * @since 3.5.0
+ */
+final class LobLengths {
+
+  private LobLengths() {
+    // Prevent Instantiation of Static Class
+  }
+
+  static int ofBlob(long length) {
+    if (length > Integer.MAX_VALUE) {
+      throw new TypeException("A BLOB of " + length + " bytes does not fit in an array."
+          + " Map it to an InputStream, a ReadableByteChannel or a Path instead.");
+    }
+    return (int) length;
+  }
+
+  static int ofClob(long length) {
+    if (length > Integer.MAX_VALUE) {
+      throw new TypeException("A CLOB of " + length + " characters does not fit in a String. Map it to a Reader instead.");
+    }
+    return (int) length;
+  }
+
+}
@@ -0,0 +1,75 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A type handler that also reads and writes its values as primitives, so that mapping a column to an {@code int},
+ * {@code long} or {@code double} property does not allocate a wrapper.
+ * <p>
+ * Handlers implement one of {@link OfInt}, {@link OfLong} or {@link OfDouble}. The readers return {@code 0} for SQL
+ * {@code NULL}, callers tell it apart with {@link ResultSet#wasNull()}.
+ * </p>
+ *
+ * @since 3.5.0
+ */
+public interface PrimitiveTypeHandler {
+
+  /**
+   * Returns the primitive type a type handler reads and writes without boxing, or {@code null} when it cannot or when
+   * a subclass changed how the boxed values are read or written.
+   */
+  static Class<?> primitiveTypeOf(TypeHandler<?> typeHandler) {
+    return typeHandler instanceof PrimitiveTypeHandler ? PrimitiveTypeHandlerResolver.resolve(typeHandler) : null;
+  }
+
+  /**
+   * Reads and writes {@code int} values.
+   */
+  interface OfInt extends PrimitiveTypeHandler {
+
+    int getInt(ResultSet rs, String columnName) throws SQLException;
+
+    void setInt(PreparedStatement ps, int i, int parameter) throws SQLException;
+
+  }
+
+  /**
+   * Reads and writes {@code long} values.
+   */
+  interface OfLong extends PrimitiveTypeHandler {
+
+    long getLong(ResultSet rs, String columnName) throws SQLException;
+
+    void setLong(PreparedStatement ps, int i, long parameter) throws SQLException;
+
+  }
+
+  /**
+   * Reads and writes {@code double} values.
+   */
+  interface OfDouble extends PrimitiveTypeHandler {
+
+    double getDouble(ResultSet rs, String columnName) throws SQLException;
+
+    void setDouble(PreparedStatement ps, int i, double parameter) throws SQLException;
+
+  }
+
+}
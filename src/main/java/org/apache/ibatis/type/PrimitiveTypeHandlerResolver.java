@@ -0,0 +1,72 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+
+/**
+ * @since 3.5.0
+ */
+final class PrimitiveTypeHandlerResolver {
+
+  private static final ClassValue<Class<?>> unboxedHandlers = new ClassValue<Class<?>>() {
+    @Override
+    protected Class<?> computeValue(Class<?> type) {
+      Class<?> primitiveType;
+      String reader;
+      if (PrimitiveTypeHandler.OfInt.class.isAssignableFrom(type)) {
+        primitiveType = int.class;
+        reader = "getInt";
+      } else if (PrimitiveTypeHandler.OfLong.class.isAssignableFrom(type)) {
+        primitiveType = long.class;
+        reader = "getLong";
+      } else if (PrimitiveTypeHandler.OfDouble.class.isAssignableFrom(type)) {
+        primitiveType = double.class;
+        reader = "getDouble";
+      } else {
+        return void.class;
+      }
+      Class<?> declaringClass;
+      try {
+        declaringClass = type.getMethod(reader, ResultSet.class, String.class).getDeclaringClass();
+      } catch (NoSuchMethodException e) {
+        return void.class;
+      }
+      // a subclass overriding the boxed reads or writes would be bypassed
+      for (Class<?> current = type; current != declaringClass && current != null; current = current.getSuperclass()) {
+        for (Method method : current.getDeclaredMethods()) {
+          String name = method.getName();
+          if (name.equals("getNullableResult") || name.equals("setNonNullParameter")
+              || name.equals("getResult") || name.equals("setParameter")) {
+            return void.class;
+          }
+        }
+      }
+      return primitiveType;
+    }
+  };
+
+  private PrimitiveTypeHandlerResolver() {
+    // Prevent Instantiation of Static Class
+  }
+
+  static Class<?> resolve(TypeHandler<?> typeHandler) {
+    Class<?> primitiveType = unboxedHandlers.get(typeHandler.getClass());
+    return primitiveType == void.class ? null : primitiveType;
+  }
+
+}
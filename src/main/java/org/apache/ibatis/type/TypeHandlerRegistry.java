@@ -22,6 +22,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.channels.ReadableByteChannel;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -42,6 +43,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.io.ResolverUtil;
@@ -64,6 +66,17 @@ public final class TypeHandlerRegistry {
    * 即从java类型转至jdbc类型,意味着为一对多
    */
   private final Map<Type, Map<JdbcType, TypeHandler<?>>> TYPE_HANDLER_MAP = new ConcurrentHashMap<>();
+  /**
+   * 已解析完成的查找表, key 对应的java类型
+   * 数组按jdbc类型的下标存放最终选定的处理器, 最后一位对应未指定jdbc类型
+   * 注册新的处理器时清空
+   */
+  private final Map<Type, TypeHandler<?>[]> RESOLVED_TYPE_HANDLER_MAP = new ConcurrentHashMap<>();
+  /**
+   * 查找表的版本号, 每次注册新的处理器时递增
+   * 解析期间版本号发生变化, 说明解析结果可能已经过期, 不能留在查找表中
+   */
+  private final AtomicInteger RESOLVED_GENERATION = new AtomicInteger();
   /**
    * 特殊的针对于Object类型
    */
@@ -79,6 +92,11 @@ public final class TypeHandlerRegistry {
    */
   private static final Map<JdbcType, TypeHandler<?>> NULL_TYPE_HANDLER_MAP = Collections.emptyMap();
 
+  /**
+   * 所有jdbc类型, 避免每次调用values()复制数组
+   */
+  private static final JdbcType[] JDBC_TYPES = JdbcType.values();
+
   /**
    * 枚举类型处理器 默认为枚举名称, 也可以使用枚举的下标
    */
@@ -142,6 +160,7 @@ public final class TypeHandlerRegistry {
     register(JdbcType.NUMERIC, new BigDecimalTypeHandler());
 
     register(InputStream.class, new BlobInputStreamTypeHandler());
+    register(ReadableByteChannel.class, new BlobChannelTypeHandler());
     register(Byte[].class, new ByteObjectArrayTypeHandler());
     register(Byte[].class, JdbcType.BLOB, new BlobByteObjectArrayTypeHandler());
     register(Byte[].class, JdbcType.LONGVARBINARY, new BlobByteObjectArrayTypeHandler());
@@ -240,20 +259,36 @@ public final class TypeHandlerRegistry {
     if (ParamMap.class.equals(type)) {
       return null;
     }
+    TypeHandler<?>[] handlers = RESOLVED_TYPE_HANDLER_MAP.get(type);
+    if (handlers == null) {
+      int generation = RESOLVED_GENERATION.get();
+      handlers = resolveTypeHandlers(type);
+      RESOLVED_TYPE_HANDLER_MAP.put(type, handlers);
+      if (generation != RESOLVED_GENERATION.get()) {
+        // a handler was registered meanwhile, the clear may have run before the put
+        RESOLVED_TYPE_HANDLER_MAP.remove(type, handlers);
+      }
+    }
+    // type drives generics here
+    return (TypeHandler<T>) handlers[jdbcType == null ? JDBC_TYPES.length : jdbcType.ordinal()];
+  }
+
+  private TypeHandler<?>[] resolveTypeHandlers(Type type) {
+    TypeHandler<?>[] handlers = new TypeHandler<?>[JDBC_TYPES.length + 1];
     Map<JdbcType, TypeHandler<?>> jdbcHandlerMap = getJdbcHandlerMap(type);
-    TypeHandler<?> handler = null;
     if (jdbcHandlerMap != null) {
-      handler = jdbcHandlerMap.get(jdbcType);
-      if (handler == null) {
-        handler = jdbcHandlerMap.get(null);
-      }
-      if (handler == null) {
+      TypeHandler<?> defaultHandler = jdbcHandlerMap.get(null);
+      if (defaultHandler == null) {
         // #591
-        handler = pickSoleHandler(jdbcHandlerMap);
+        defaultHandler = pickSoleHandler(jdbcHandlerMap);
+      }
+      for (JdbcType jdbcType : JDBC_TYPES) {
+        TypeHandler<?> handler = jdbcHandlerMap.get(jdbcType);
+        handlers[jdbcType.ordinal()] = handler == null ? defaultHandler : handler;
       }
+      handlers[JDBC_TYPES.length] = defaultHandler;
     }
-    // type drives generics here
-    return (TypeHandler<T>) handler;
+    return handlers;
   }
 
   private Map<JdbcType, TypeHandler<?>> getJdbcHandlerMap(Type type) {
@@ -400,6 +435,8 @@ public final class TypeHandlerRegistry {
         TYPE_HANDLER_MAP.put(javaType, map);
       }
       map.put(jdbcType, handler);
+      RESOLVED_GENERATION.incrementAndGet();
+      RESOLVED_TYPE_HANDLER_MAP.clear();
     }
     ALL_TYPE_HANDLERS_MAP.put(handler.getClass(), handler);
   }
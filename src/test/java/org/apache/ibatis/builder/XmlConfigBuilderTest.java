@@ -193,6 +193,9 @@ public class XmlConfigBuilderTest {
         assertThat(config.getLogImpl().getName()).isEqualTo(Slf4jImpl.class.getName());
         assertThat(config.getVfsImpl().getName()).isEqualTo(JBoss6VFS.class.getName());
         assertThat(config.getConfigurationFactory().getName()).isEqualTo(String.class.getName());
+        assertThat(config.getSlowStatementThreshold()).isEqualTo(1000L);
+        assertThat(config.getSlowStatementThresholds()).containsEntry("org.apache.ibatis.domain.blog.mappers.BlogMapper", 200L)
+            .containsEntry("org.apache.ibatis.domain.blog.mappers.BlogMapper.selectAllPosts", 5000L);
 
         assertTrue(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor").equals(Author.class));
         assertTrue(config.getTypeAliasRegistry().getTypeAliases().get("blog").equals(Blog.class));
@@ -22,6 +22,7 @@ import java.io.Reader;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,8 +30,10 @@ import java.util.Map;
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.scripting.xmltags.ChooseSqlNode;
 import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
+import org.apache.ibatis.scripting.xmltags.ForEachPadding;
 import org.apache.ibatis.scripting.xmltags.ForEachSqlNode;
 import org.apache.ibatis.scripting.xmltags.IfSqlNode;
 import org.apache.ibatis.scripting.xmltags.MixedSqlNode;
@@ -41,6 +44,7 @@ import org.apache.ibatis.scripting.xmltags.WhereSqlNode;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.type.ArrayTypeHandler;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -364,6 +368,107 @@ public class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals("__frch_u_0", boundSql.getParameterMappings().get(3).getProperty());
   }
 
+  @Test
+  public void shouldBindForEachCollectionAsArray() throws Exception {
+    final Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("list", Arrays.asList(1, 2, 3));
+    Configuration configuration = new Configuration();
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new TextSqlNode("SELECT * FROM BLOG WHERE"),
+        new ForEachSqlNode(configuration, mixedContents(new TextSqlNode("#{item}")), "list", null, "item",
+            "ID in (", ")", ",", Integer.class, "ID = ANY(", ")", null)));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals("SELECT * FROM BLOG WHERE ID = ANY( ? )", boundSql.getSql());
+    assertEquals(1, boundSql.getParameterMappings().size());
+    ParameterMapping parameterMapping = boundSql.getParameterMappings().get(0);
+    assertEquals(ArrayTypeHandler.class, parameterMapping.getTypeHandler().getClass());
+    Assert.assertArrayEquals(new Integer[] { 1, 2, 3 }, (Integer[]) boundSql.getAdditionalParameter(parameterMapping.getProperty()));
+  }
+
+  @Test
+  public void shouldPadForEachCollectionWhenArraysAreDisabled() throws Exception {
+    final Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("list", Arrays.asList(1, 2, 3));
+    Configuration configuration = new Configuration();
+    configuration.setUseForeachArrays(false);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new TextSqlNode("SELECT * FROM BLOG WHERE"),
+        new ForEachSqlNode(configuration, mixedContents(new TextSqlNode("#{item}")), "list", null, "item",
+            "ID in (", ")", ",", Integer.class, "ID = ANY(", ")", null)));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals("SELECT * FROM BLOG WHERE ID in (  ? , ? , ? , ? )", boundSql.getSql());
+    assertEquals(4, boundSql.getParameterMappings().size());
+    assertEquals(3, boundSql.getAdditionalParameter(boundSql.getParameterMappings().get(3).getProperty()));
+  }
+
+  @Test
+  public void shouldPadForEachCollectionToConfiguredBucket() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPadding(ForEachPadding.POWER_OF_TWO);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new TextSqlNode("SELECT * FROM BLOG WHERE"),
+        new ForEachSqlNode(configuration, mixedContents(new TextSqlNode("#{item}")), "list", null, "item",
+            "ID in (", ")", ",")));
+    final Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("list", Arrays.asList(1, 2, 3, 4, 5));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals(8, boundSql.getParameterMappings().size());
+    assertEquals(5, boundSql.getAdditionalParameter(boundSql.getParameterMappings().get(7).getProperty()));
+    parameterObject.put("list", Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+    assertEquals(boundSql.getSql(), source.getBoundSql(parameterObject).getSql());
+    parameterObject.put("list", Collections.emptyList());
+    assertEquals("SELECT * FROM BLOG WHERE", source.getBoundSql(parameterObject).getSql());
+  }
+
+  @Test
+  public void shouldNotPadForEachCollectionWhenDisabledOnTheElement() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPadding(ForEachPadding.POWER_OF_TWO);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new TextSqlNode("INSERT INTO BLOG (ID) VALUES"),
+        new ForEachSqlNode(configuration, mixedContents(new TextSqlNode("(#{item})")), "list", null, "item",
+            null, null, ",", null, null, null, ForEachPadding.NONE)));
+    final Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("list", Arrays.asList(1, 2, 3));
+    assertEquals(3, source.getBoundSql(parameterObject).getParameterMappings().size());
+  }
+
+  @Test
+  public void shouldOnlyPadInListsWithConfiguredPadding() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPadding(ForEachPadding.POWER_OF_TWO);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new TextSqlNode("INSERT INTO BLOG (ID) VALUES"),
+        new ForEachSqlNode(configuration, mixedContents(new TextSqlNode("(#{item})")), "list", null, "item",
+            null, null, ",")));
+    final Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("list", Arrays.asList(1, 2, 3));
+    assertEquals(3, source.getBoundSql(parameterObject).getParameterMappings().size());
+  }
+
+  @Test
+  public void shouldNotPadArrayFallbackWhenDisabledOnTheElement() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setUseForeachArrays(false);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new TextSqlNode("SELECT * FROM BLOG WHERE"),
+        new ForEachSqlNode(configuration, mixedContents(new TextSqlNode("#{item}")), "list", null, "item",
+            "ID in (", ")", ",", Integer.class, "ID = ANY(", ")", ForEachPadding.NONE)));
+    final Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("list", Arrays.asList(1, 2, 3));
+    assertEquals(3, source.getBoundSql(parameterObject).getParameterMappings().size());
+  }
+
+  @Test
+  public void shouldComputePaddedSizes() {
+    assertEquals(0, ForEachPadding.POWER_OF_TWO.paddedSize(0));
+    assertEquals(1, ForEachPadding.POWER_OF_TWO.paddedSize(1));
+    assertEquals(4, ForEachPadding.POWER_OF_TWO.paddedSize(3));
+    assertEquals(16, ForEachPadding.POWER_OF_TWO.paddedSize(16));
+    assertEquals(32, ForEachPadding.POWER_OF_TWO.paddedSize(17));
+    assertEquals(17, ForEachPadding.NONE.paddedSize(17));
+  }
+
   private DynamicSqlSource createDynamicSqlSource(SqlNode... contents) throws IOException, SQLException {
     createBlogDataSource();
     final String resource = "org/apache/ibatis/builder/MapperConfig.xml";
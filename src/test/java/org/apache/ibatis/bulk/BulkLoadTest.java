@@ -0,0 +1,134 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.bulk;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.junit.Test;
+
+public class BulkLoadTest {
+
+  private final Configuration configuration = new Configuration();
+
+  @Test
+  public void shouldParseInsertTableAndColumns() {
+    BulkLoad load = newLoad("insert into author (id, username , bio) values (?, ?, ?)", "id", "username", "bio");
+    assertEquals("author", load.getTable());
+    assertEquals(Arrays.asList("id", "username", "bio"), load.getColumns());
+
+    load = newLoad("insert into author select * from writer");
+    assertNull(load.getTable());
+    assertNull(load.getColumns());
+  }
+
+  @Test
+  public void shouldConvertRowsToValues() throws Exception {
+    BulkLoad load = newLoad("insert into author (id, username, bio) values (?, ?, ?)", "id", "username", "bio");
+    assertArrayEquals(new Object[] { 1, "jim", null }, load.toValues(row(1, "jim", null)));
+  }
+
+  @Test
+  public void shouldWriteRowsAsCsv() throws Exception {
+    BulkLoad load = newLoad("insert into author (id, username, bio) values (?, ?, ?)", "id", "username", "bio");
+    load = new BulkLoad(null, load.getMappedStatement(), null, null, Arrays.asList(
+        row(1, "jim", null),
+        row(2, "", "says \"hi\", often"),
+        row(3, "sally", new BigDecimal("1E+3")),
+        row(4, "bob", new byte[] { 0x0f, (byte) 0xa0 })).iterator());
+    StringWriter writer = new StringWriter();
+    assertEquals(4, load.writeCsv(writer));
+    assertEquals("1,jim,\n"
+        + "2,\"\",\"says \"\"hi\"\", often\"\n"
+        + "3,sally,1000\n"
+        + "4,bob,\\x0fa0\n", writer.toString());
+  }
+
+  @Test
+  public void shouldPluginTheParameterHandlerOncePerLoad() throws Exception {
+    ParameterHandlerInterceptor interceptor = new ParameterHandlerInterceptor();
+    configuration.addInterceptor(interceptor);
+    BulkLoad load = newLoad("insert into author (id, username, bio) values (?, ?, ?)", "id", "username", "bio");
+    Map<String, Object> first = row(1, "jim", null);
+    Map<String, Object> second = row(2, "sally", "bio");
+    load.toValues(first);
+    assertArrayEquals(new Object[] { 2, "sally", "bio" }, load.toValues(second));
+    assertEquals(1, interceptor.plugged);
+    assertEquals(Arrays.asList(first, second), interceptor.parameterObjects);
+  }
+
+  private BulkLoad newLoad(String sql, String... properties) {
+    ParameterMapping[] mappings = new ParameterMapping[properties.length];
+    for (int i = 0; i < properties.length; i++) {
+      mappings[i] = new ParameterMapping.Builder(configuration, properties[i], Object.class).build();
+    }
+    MappedStatement ms = new MappedStatement.Builder(configuration, "insertAuthors",
+        new StaticSqlSource(configuration, sql, Arrays.asList(mappings)), SqlCommandType.INSERT).build();
+    return new BulkLoad(null, ms, null, null, null);
+  }
+
+  @Intercepts(@Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class))
+  public static class ParameterHandlerInterceptor implements Interceptor {
+
+    private int plugged;
+    private final List<Object> parameterObjects = new ArrayList<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      parameterObjects.add(((ParameterHandler) invocation.getTarget()).getParameterObject());
+      return invocation.proceed();
+    }
+
+    @Override
+    public Object plugin(Object target) {
+      if (target instanceof ParameterHandler) {
+        plugged++;
+      }
+      return Plugin.wrap(target, this);
+    }
+
+  }
+
+  private static Map<String, Object> row(int id, String username, Object bio) {
+    Map<String, Object> row = new HashMap<>();
+    row.put("id", id);
+    row.put("username", username);
+    row.put("bio", bio);
+    return row;
+  }
+
+}
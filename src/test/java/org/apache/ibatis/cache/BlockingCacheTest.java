@@ -0,0 +1,150 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.decorators.BlockingCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.Test;
+
+public class BlockingCacheTest {
+
+  @Test
+  public void shouldWaitForTheValueLoadedByAnotherThread() throws Exception {
+    BlockingCache cache = new BlockingCache(new PerpetualCache("default"));
+    assertNull(cache.getObject("key"));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Object> waiter = executor.submit(() -> cache.getObject("key"));
+      Thread.sleep(50);
+      assertFalse(waiter.isDone());
+      cache.putObject("key", "value");
+      assertEquals("value", waiter.get(1, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(0, cache.getLoadingSize());
+  }
+
+  @Test
+  public void shouldEvictOnlyTheGivenEntries() {
+    PerpetualCache delegate = new PerpetualCache("default");
+    BlockingCache cache = new BlockingCache(delegate);
+    delegate.putObject("a", "1");
+    delegate.putObject("b", "2");
+    cache.removeObjects(Arrays.asList("a"));
+    assertEquals(1, cache.getSize());
+    assertEquals("2", cache.getObject("b"));
+    assertNull(delegate.getObject("a"));
+  }
+
+  @Test
+  public void shouldNotKeepLocksOfLoadedKeys() {
+    BlockingCache cache = new BlockingCache(new PerpetualCache("default"));
+    for (int i = 0; i < 1000; i++) {
+      assertNull(cache.getObject(i));
+      if (i % 2 == 0) {
+        cache.putObject(i, i);
+      } else {
+        cache.removeObject(i);
+      }
+    }
+    assertEquals(0, cache.getLoadingSize());
+  }
+
+  @Test
+  public void shouldLetTheLoadingThreadMissAgain() {
+    BlockingCache cache = new BlockingCache(new PerpetualCache("default"));
+    cache.setTimeout(100);
+    assertNull(cache.getObject("key"));
+    assertNull(cache.getObject("key"));
+    cache.putObject("key", "value");
+    assertEquals(0, cache.getLoadingSize());
+  }
+
+  @Test
+  public void shouldTimeOutWhileAnotherThreadLoads() throws Exception {
+    BlockingCache cache = new BlockingCache(new PerpetualCache("default"));
+    cache.setTimeout(50);
+    CountDownLatch missed = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+    Thread loader = new Thread(() -> {
+      cache.getObject("key");
+      missed.countDown();
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      cache.putObject("key", "value");
+    });
+    loader.start();
+    missed.await();
+    try {
+      cache.getObject("key");
+      fail("Should have timed out");
+    } catch (CacheException e) {
+      assertTrue(e.getMessage().contains("Couldn't get a lock"));
+    } finally {
+      done.countDown();
+      loader.join();
+    }
+    assertEquals("value", cache.getObject("key"));
+  }
+
+  @Test
+  public void shouldTakeOverTheLockOfADeadThread() throws Exception {
+    BlockingCache cache = new BlockingCache(new PerpetualCache("default"));
+    cache.setTimeout(1000);
+    Thread loader = new Thread(() -> cache.getObject("key"));
+    loader.start();
+    loader.join();
+    assertEquals(1, cache.getLoadingSize());
+    assertNull(cache.getObject("key"));
+    cache.putObject("key", "value");
+    assertEquals(0, cache.getLoadingSize());
+  }
+
+  @Test(timeout = 5000)
+  public void shouldTakeOverTheLockOfAThreadDyingWhileWaiting() throws Exception {
+    BlockingCache cache = new BlockingCache(new PerpetualCache("default"));
+    Thread loader = new Thread(() -> {
+      cache.getObject("key");
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    loader.start();
+    while (cache.getLoadingSize() == 0) {
+      Thread.sleep(5);
+    }
+    assertNull(cache.getObject("key"));
+    assertFalse(loader.isAlive());
+    cache.putObject("key", "value");
+    assertEquals(0, cache.getLoadingSize());
+  }
+
+}
@@ -0,0 +1,125 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.apache.ibatis.cache.decorators.BlockingCache;
+import org.apache.ibatis.cache.decorators.BroadcastCache;
+import org.apache.ibatis.cache.decorators.TransactionalCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.invalidation.LoopbackTransport;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.Test;
+
+public class BroadcastCacheTest {
+
+  @Test
+  public void shouldClearOtherNodes() {
+    LoopbackTransport node1 = new LoopbackTransport("clear");
+    LoopbackTransport node2 = new LoopbackTransport("clear");
+    try {
+      Cache cache1 = new CacheBuilder("blog").invalidationTransport(node1).build();
+      Cache cache2 = new CacheBuilder("blog").invalidationTransport(node2).build();
+      Cache otherCache2 = new CacheBuilder("author").invalidationTransport(node2).build();
+      cache1.putObject(1, "one");
+      cache2.putObject(1, "one");
+      otherCache2.putObject(1, "one");
+      cache1.clear();
+      assertNull(cache2.getObject(1));
+      assertEquals("one", otherCache2.getObject(1));
+    } finally {
+      node1.close();
+      node2.close();
+    }
+  }
+
+  @Test
+  public void shouldOnlyRemoveLocallyOnRollback() {
+    LoopbackTransport node1 = new LoopbackTransport("rollback");
+    LoopbackTransport node2 = new LoopbackTransport("rollback");
+    try {
+      Cache cache1 = new BroadcastCache(new PerpetualCache("blog"), node1);
+      Cache cache2 = new BroadcastCache(new PerpetualCache("blog"), node2);
+      cache2.putObject(1, "one");
+      cache1.removeObject(1);
+      assertEquals("one", cache2.getObject(1));
+    } finally {
+      node1.close();
+      node2.close();
+    }
+  }
+
+  @Test
+  public void shouldRemoveCommittedEvictionsFromOtherNodes() {
+    LoopbackTransport node1 = new LoopbackTransport("remove");
+    LoopbackTransport node2 = new LoopbackTransport("remove");
+    try {
+      BroadcastCache cache1 = new BroadcastCache(new PerpetualCache("blog"), node1);
+      BroadcastCache cache2 = new BroadcastCache(new PerpetualCache("blog"), node2);
+      TableDependencyIndex index = new TableDependencyIndex();
+      String[] blog = { "BLOG" };
+      TransactionalCache transactionalCache = new TransactionalCache(cache1);
+      transactionalCache.putObject(1, "one", index, TableDependencies.of(blog, 1));
+      transactionalCache.putObject(2, "two", index, TableDependencies.of(blog, 2));
+      transactionalCache.commit();
+      cache2.putObject(1, "one");
+      cache2.putObject(2, "two");
+
+      transactionalCache.invalidate(index, TableDependencies.of(blog, 1));
+      transactionalCache.commit();
+      assertNull(cache2.getObject(1));
+      assertEquals("two", cache2.getObject(2));
+
+      cache1.removeObjects(Arrays.asList(2));
+      assertNull(cache2.getObject(2));
+    } finally {
+      node1.close();
+      node2.close();
+    }
+  }
+
+  @Test
+  public void shouldRemoveCommittedEvictionsThroughABlockingCache() {
+    LoopbackTransport node1 = new LoopbackTransport("blocking");
+    LoopbackTransport node2 = new LoopbackTransport("blocking");
+    try {
+      BroadcastCache cache1 = new BroadcastCache(new PerpetualCache("blog"), node1);
+      BroadcastCache cache2 = new BroadcastCache(new PerpetualCache("blog"), node2);
+      TableDependencyIndex index = new TableDependencyIndex();
+      String[] blog = { "BLOG" };
+      TransactionalCache transactionalCache = new TransactionalCache(new BlockingCache(cache1));
+      transactionalCache.putObject(1, "one", index, TableDependencies.of(blog, 1));
+      transactionalCache.putObject(2, "two", index, TableDependencies.of(blog, 2));
+      transactionalCache.commit();
+      cache2.putObject(1, "one");
+      cache2.putObject(2, "two");
+
+      transactionalCache.invalidate(index, TableDependencies.of(blog, 1));
+      transactionalCache.commit();
+      assertNull(cache1.getObject(1));
+      assertEquals("two", cache1.getObject(2));
+      assertNull(cache2.getObject(1));
+      assertEquals("two", cache2.getObject(2));
+    } finally {
+      node1.close();
+      node2.close();
+    }
+  }
+
+}
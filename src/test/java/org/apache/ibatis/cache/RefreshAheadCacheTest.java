@@ -0,0 +1,104 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cache.decorators.RefreshAheadCache;
+import org.apache.ibatis.cache.decorators.RefreshAheadCache.Refreshable;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.Test;
+
+public class RefreshAheadCacheTest {
+
+  @Test
+  public void shouldExpireEntries() throws Exception {
+    RefreshAheadCache cache = new RefreshAheadCache(new PerpetualCache("default"));
+    cache.setExpireAfter(50);
+    cache.putObject(0, "zero");
+    assertEquals("zero", cache.getObject(0));
+    Thread.sleep(60);
+    assertNull(cache.getObject(0));
+  }
+
+  @Test
+  public void shouldServeStaleEntriesWhileRefreshingOnce() throws Exception {
+    RefreshAheadCache cache = new RefreshAheadCache(new PerpetualCache("default"));
+    cache.setRefreshAfter(20);
+    cache.setExpireAfter(10000);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    cache.putObject(0, new Refreshable("old", () -> {
+      loads.incrementAndGet();
+      release.await(5, TimeUnit.SECONDS);
+      return "new";
+    }));
+    Thread.sleep(30);
+    for (int i = 0; i < 10; i++) {
+      assertEquals("old", cache.getObject(0));
+    }
+    release.countDown();
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!"new".equals(cache.getObject(0)) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals("new", cache.getObject(0));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void shouldNotPutBackEntriesEvictedWhileRefreshing() throws Exception {
+    RefreshAheadCache cache = new RefreshAheadCache(new PerpetualCache("default"));
+    cache.setRefreshAfter(20);
+    cache.setExpireAfter(10000);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+    cache.putObject(0, new Refreshable("old", () -> {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      done.countDown();
+      return "new";
+    }));
+    Thread.sleep(30);
+    assertEquals("old", cache.getObject(0));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    cache.clear();
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    Thread.sleep(20);
+    assertNull(cache.getObject(0));
+  }
+
+  @Test
+  public void shouldDefaultExpiryToTwiceTheRefreshDelay() throws Exception {
+    Cache cache = new CacheBuilder("default").refreshAfter(20L).build();
+    cache.putObject(0, "zero");
+    Thread.sleep(50);
+    assertNull(cache.getObject(0));
+  }
+
+  @Test(expected = CacheException.class)
+  public void shouldRefreshBeforeExpiring() {
+    new CacheBuilder("default").refreshAfter(100L).expireAfter(100L).build();
+  }
+
+}
@@ -0,0 +1,133 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.cache.decorators.SerializedCache;
+import org.apache.ibatis.cache.decorators.TransactionalCache;
+import org.apache.ibatis.cache.impl.SnapshotCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.Test;
+
+public class SnapshotCacheTest {
+
+  @Test
+  public void shouldEvictOldestObjectsOverSize() {
+    SnapshotCache cache = new SnapshotCache("default");
+    cache.setSize(5);
+    for (int i = 0; i < 10; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(5, cache.getSize());
+    assertNull(cache.getObject(4));
+    assertEquals(5, cache.getObject(5));
+    assertEquals(9, cache.getObject(9));
+    cache.putObject(9, "replaced");
+    assertEquals("replaced", cache.getObject(9));
+    assertEquals(5, cache.getSize());
+  }
+
+  @Test
+  public void shouldPutObjectsAtOnce() throws Exception {
+    SnapshotCache cache = new SnapshotCache("default");
+    cache.setSize(3);
+    cache.putObject(0, 0);
+    Map<Object, Object> entries = new LinkedHashMap<>();
+    entries.put(1, "short");
+    entries.put(2, 2);
+    entries.put(3, 3);
+    cache.putObjects(entries, Collections.singletonMap(1, 10L));
+    assertEquals(3, cache.getSize());
+    assertNull(cache.getObject(0));
+    assertEquals("short", cache.getObject(1));
+    assertEquals(3, cache.getObject(3));
+    Thread.sleep(50);
+    assertNull(cache.getObject(1));
+  }
+
+  @Test
+  public void shouldExpireEntriesPutWithATimeToLive() throws Exception {
+    SnapshotCache cache = new SnapshotCache("default");
+    cache.setSize(2);
+    cache.putObject(0, "short", 10);
+    cache.putObject(1, "long", 60000);
+    Thread.sleep(50);
+    assertNull(cache.getObject(0));
+    assertEquals("long", cache.getObject(1));
+    cache.putObject(2, "forever");
+    assertEquals("forever", cache.getObject(2));
+    assertEquals(2, cache.getSize());
+  }
+
+  @Test
+  public void shouldRemoveItemOnDemand() {
+    Cache cache = new SnapshotCache("default");
+    cache.putObject(0, 0);
+    assertNotNull(cache.getObject(0));
+    assertEquals(0, cache.removeObject(0));
+    assertNull(cache.getObject(0));
+    assertNull(cache.removeObject(0));
+  }
+
+  @Test
+  public void shouldFlushAllItemsOnDemand() {
+    Cache cache = new SnapshotCache("default");
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertNotNull(cache.getObject(0));
+    assertNotNull(cache.getObject(4));
+    cache.clear();
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(4));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void shouldPutTheEntriesOfATransactionAtOnce() {
+    final int[] puts = { 0 };
+    SnapshotCache snapshotCache = new SnapshotCache("default") {
+      @Override
+      public void putObjects(Map<Object, Object> entries, Map<Object, Long> timesToLive) {
+        puts[0]++;
+        super.putObjects(entries, timesToLive);
+      }
+    };
+    TransactionalCache cache = new TransactionalCache(new SerializedCache(snapshotCache));
+    cache.putObject(0, "zero");
+    cache.putObject(1, "one", 60000);
+    cache.commit();
+    assertEquals(1, puts[0]);
+    assertEquals(2, snapshotCache.getSize());
+    assertEquals("one", cache.getObject(1));
+  }
+
+  @Test
+  public void shouldNotSynchronizeSnapshotCaches() {
+    Cache cache = new CacheBuilder("default").implementation(SnapshotCache.class).size(10).build();
+    assertEquals(SnapshotCache.class, cache.getClass());
+    for (int i = 0; i < 20; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(10, cache.getSize());
+  }
+
+}
@@ -0,0 +1,114 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+
+import org.apache.ibatis.cache.decorators.TransactionalCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.Test;
+
+public class TableDependencyIndexTest {
+
+  private static final String[] BLOG = { "blog" };
+  private static final String[] BLOG_AND_AUTHOR = { "BLOG", "AUTHOR" };
+
+  @Test
+  public void shouldInvalidateOnlyTheAffectedRows() {
+    TableDependencyIndex index = new TableDependencyIndex();
+    index.register("blog1", TableDependencies.of(BLOG, 1));
+    index.register("blog2", TableDependencies.of(BLOG, 2L));
+    index.register("allBlogs", TableDependencies.of(BLOG, null));
+    index.register("author1", TableDependencies.of(new String[] { "AUTHOR" }, 1));
+
+    Collection<Object> keys = index.invalidate(TableDependencies.of(BLOG, 2));
+    assertEquals(2, keys.size());
+    assertTrue(keys.contains("blog2"));
+    assertTrue(keys.contains("allBlogs"));
+    assertEquals(2, index.getSize());
+  }
+
+  @Test
+  public void shouldInvalidateTheWholeTableWithoutKey() {
+    TableDependencyIndex index = new TableDependencyIndex();
+    index.register("blog1", TableDependencies.of(BLOG, 1));
+    index.register("blogWithAuthor1", TableDependencies.of(BLOG_AND_AUTHOR, 1));
+    index.register("author1", TableDependencies.of(new String[] { "AUTHOR" }, 1));
+
+    Collection<Object> keys = index.invalidate(TableDependencies.of(BLOG, null));
+    assertEquals(2, keys.size());
+    assertFalse(keys.contains("author1"));
+    assertEquals(1, index.getSize());
+    assertTrue(index.invalidate(TableDependencies.of(new String[] { "AUTHOR" }, 2)).isEmpty());
+  }
+
+  @Test
+  public void shouldClearEverythingWhenDependenciesAreUndeclared() {
+    TableDependencyIndex index = new TableDependencyIndex();
+    index.register("blog1", TableDependencies.of(BLOG, 1));
+    index.register("anything", TableDependencies.UNDECLARED);
+    assertNull(index.invalidate(TableDependencies.of(BLOG, 2)));
+    assertEquals(0, index.getSize());
+    index.register("blog1", TableDependencies.of(BLOG, 1));
+    assertNull(index.invalidate(TableDependencies.UNDECLARED));
+  }
+
+  @Test
+  public void shouldRefuseEntriesWhenFull() {
+    TableDependencyIndex index = new TableDependencyIndex(2);
+    assertTrue(index.register("blog1", TableDependencies.of(BLOG, 1)));
+    assertTrue(index.register("blog2", TableDependencies.of(BLOG, 2)));
+    assertTrue(index.register("blog2", TableDependencies.of(BLOG, 2)));
+    assertFalse(index.register("blog3", TableDependencies.of(BLOG, 3)));
+  }
+
+  @Test
+  public void shouldEvictAffectedEntriesOnCommit() {
+    Cache cache = new PerpetualCache("default");
+    TableDependencyIndex index = new TableDependencyIndex();
+    TransactionalCache reader = new TransactionalCache(cache);
+    reader.putObject("blog1", "one", index, TableDependencies.of(BLOG, 1));
+    reader.putObject("blog2", "two", index, TableDependencies.of(BLOG, 2));
+    reader.commit();
+
+    TransactionalCache writer = new TransactionalCache(cache);
+    writer.invalidate(index, TableDependencies.of(BLOG, 1));
+    assertNull(writer.getObject("blog1"));
+    assertEquals("two", writer.getObject("blog2"));
+    assertEquals("one", cache.getObject("blog1"));
+    writer.commit();
+
+    assertNull(cache.getObject("blog1"));
+    assertEquals("two", cache.getObject("blog2"));
+  }
+
+  @Test
+  public void shouldDiscardAffectedPendingEntries() {
+    Cache cache = new PerpetualCache("default");
+    TableDependencyIndex index = new TableDependencyIndex();
+    TransactionalCache transactionalCache = new TransactionalCache(cache);
+    transactionalCache.putObject("blog1", "one", index, TableDependencies.of(BLOG, 1));
+    transactionalCache.putObject("blog2", "two", index, TableDependencies.of(BLOG, 2));
+    transactionalCache.invalidate(index, TableDependencies.of(BLOG, 1));
+    transactionalCache.commit();
+
+    assertNull(cache.getObject("blog1"));
+    assertEquals("two", cache.getObject("blog2"));
+  }
+
+}
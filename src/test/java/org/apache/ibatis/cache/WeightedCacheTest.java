@@ -0,0 +1,152 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.ibatis.cache.decorators.LoggingCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.decorators.TransactionalCache;
+import org.apache.ibatis.cache.decorators.WeightedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.Test;
+
+public class WeightedCacheTest {
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntriesOverBudget() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.putObject("sample", authors(2));
+    long weight = cache.getTotalBytes();
+    cache.clear();
+    cache.setMaxBytes(3 * weight);
+    cache.putObject(0, authors(2));
+    cache.putObject(1, authors(2));
+    cache.putObject(2, authors(2));
+    cache.getObject(0);
+    cache.putObject(3, authors(2));
+    assertNotNull(cache.getObject(0));
+    assertNull(cache.getObject(1));
+    assertNotNull(cache.getObject(2));
+    assertNotNull(cache.getObject(3));
+    assertEquals(3 * weight, cache.getTotalBytes());
+  }
+
+  @Test
+  public void shouldWeighResultsByTheirNumberOfRows() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.putObject(0, authors(1));
+    long oneRow = cache.getTotalBytes();
+    cache.clear();
+    assertEquals(0, cache.getTotalBytes());
+    cache.putObject(0, authors(10));
+    assertTrue(cache.getTotalBytes() > 9 * oneRow);
+    cache.removeObject(0);
+    assertEquals(0, cache.getTotalBytes());
+  }
+
+  @Test
+  public void shouldNotCacheEntriesLargerThanTheBudget() {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.setMaxBytes(100);
+    cache.putObject(0, Collections.nCopies(1000, "value"));
+    assertNull(cache.getObject(0));
+    assertEquals(0, cache.getTotalBytes());
+  }
+
+  @Test
+  public void shouldExpireEntriesPutWithATimeToLive() throws Exception {
+    Cache cache = new SynchronizedCache(new LoggingCache(new PerpetualCache("default")));
+    cache.putObject(0, "short", 10);
+    cache.putObject(1, "forever");
+    cache.putObject(2, "long", 60000);
+    Thread.sleep(50);
+    assertNull(cache.getObject(0));
+    assertEquals("forever", cache.getObject(1));
+    assertEquals("long", cache.getObject(2));
+    cache.putObject(2, "replaced");
+    assertEquals("replaced", cache.getObject(2));
+  }
+
+  @Test
+  public void shouldStopWeighingExpiredEntries() throws Exception {
+    WeightedCache cache = new WeightedCache(new PerpetualCache("default"));
+    cache.putObject(0, authors(2), 10);
+    assertTrue(cache.getTotalBytes() > 0);
+    Thread.sleep(50);
+    assertNull(cache.getObject(0));
+    assertEquals(0, cache.getTotalBytes());
+  }
+
+  @Test
+  public void shouldPassTheTimeToLiveOnCommit() throws Exception {
+    Cache cache = new CacheBuilder("default").build();
+    TransactionalCache transactionalCache = new TransactionalCache(cache);
+    transactionalCache.putObject(0, "short", 10);
+    transactionalCache.putObject(1, "forever");
+    transactionalCache.commit();
+    Thread.sleep(50);
+    assertNull(cache.getObject(0));
+    assertEquals("forever", cache.getObject(1));
+  }
+
+  @Test
+  public void shouldBuildWeightedCacheWithBudget() {
+    Cache cache = new CacheBuilder("default")
+        .addDecorator(WeightedCache.class)
+        .properties(properties("maxBytes", "2048"))
+        .build();
+    cache.putObject(0, Arrays.asList(1, 2, 3));
+    assertEquals(Arrays.asList(1, 2, 3), cache.getObject(0));
+  }
+
+  @Test
+  public void shouldWeighTheValuesOfReadOnlyRefreshAheadCaches() {
+    Cache cache = new CacheBuilder("default")
+        .addDecorator(WeightedCache.class)
+        .readWrite(false)
+        .refreshAfter(60000L)
+        .properties(properties("maxBytes", "2048"))
+        .build();
+    cache.putObject(0, Arrays.asList(1, 2, 3));
+    cache.putObject(1, Collections.nCopies(1000, "value"));
+    assertEquals(Arrays.asList(1, 2, 3), cache.getObject(0));
+    assertNull(cache.getObject(1));
+  }
+
+  private static Properties properties(String name, String value) {
+    Properties properties = new Properties();
+    properties.setProperty(name, value);
+    return properties;
+  }
+
+  private static List<Author> authors(int count) {
+    List<Author> authors = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      authors.add(new Author(i, "user" + i, "password", "user" + i + "@example.com", "bio", null));
+    }
+    return authors;
+  }
+
+}
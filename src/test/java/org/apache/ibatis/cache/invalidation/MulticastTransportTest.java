@@ -0,0 +1,86 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import static org.junit.Assert.*;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.junit.Test;
+
+public class MulticastTransportTest {
+
+  @Test
+  public void shouldEncodeAndDecodeKeys() throws Exception {
+    CacheKey key = new CacheKey(new Object[] { "selectBlog", 1, new java.sql.Timestamp(0L) });
+    byte[] data = MulticastTransport.encode("node1", Invalidation.remove("blog", Collections.singletonList(key)));
+    Invalidation invalidation = MulticastTransport.decode("node2", data, data.length);
+    assertEquals("blog", invalidation.getCacheId());
+    assertEquals(Collections.singletonList(key), invalidation.getKeys());
+  }
+
+  @Test
+  public void shouldRecomputeHashCodesOfDecodedKeys() throws Exception {
+    CacheKey key = new CacheKey(new Object[] { "selectBlog", Thread.State.NEW });
+    CacheKey sent = new CacheKey(new Object[] { "selectBlog", Thread.State.NEW });
+    // as computed by another JVM, where the enum has another identity hash code
+    Field hashcode = CacheKey.class.getDeclaredField("hashcode");
+    hashcode.setAccessible(true);
+    hashcode.setInt(sent, hashcode.getInt(sent) + 1);
+    byte[] data = MulticastTransport.encode("node1", Invalidation.remove("blog", Collections.singletonList(sent)));
+    Object decoded = MulticastTransport.decode("node2", data, data.length).getKeys().get(0);
+    assertEquals(key.hashCode(), decoded.hashCode());
+    assertEquals(key, decoded);
+  }
+
+  @Test
+  public void shouldEncodeAndDecodeClear() throws Exception {
+    byte[] data = MulticastTransport.encode("node1", Invalidation.clear("blog"));
+    Invalidation invalidation = MulticastTransport.decode("node2", data, data.length);
+    assertTrue(invalidation.isClear());
+    assertEquals("blog", invalidation.getCacheId());
+  }
+
+  @Test
+  public void shouldIgnoreOwnAndForeignDatagrams() throws Exception {
+    byte[] data = MulticastTransport.encode("node1", Invalidation.clear("blog"));
+    assertNull(MulticastTransport.decode("node1", data, data.length));
+    assertNull(MulticastTransport.decode("node1", new byte[] { 1, 2, 3, 4, 5 }, 5));
+  }
+
+  @Test
+  public void shouldClearWhenKeysAreNotAllowed() throws Exception {
+    CacheKey key = new CacheKey(new Object[] { "selectBlog", new Criteria() });
+    byte[] data = MulticastTransport.encode("node1", Invalidation.remove("blog", Arrays.asList(key)));
+    assertTrue(MulticastTransport.decode("node2", data, data.length).isClear());
+  }
+
+  @Test
+  public void shouldClearWhenKeysAreNotSerializable() throws Exception {
+    CacheKey key = new CacheKey(new Object[] { "selectBlog", new Object() });
+    byte[] data = MulticastTransport.encode("node1", Invalidation.remove("blog", Arrays.asList(key)));
+    assertTrue(MulticastTransport.decode("node2", data, data.length).isClear());
+  }
+
+  static class Criteria implements Serializable {
+    private static final long serialVersionUID = 1L;
+  }
+
+}
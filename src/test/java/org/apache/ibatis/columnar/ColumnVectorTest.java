@@ -0,0 +1,103 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.columnar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ColumnVectorTest {
+
+  @Test
+  public void shouldGrowPrimitiveVectors() {
+    LongVector vector = new LongVector("ID", 1);
+    for (long i = 0; i < 100; i++) {
+      vector.add(i);
+    }
+    vector.addNull();
+    assertEquals(101, vector.size());
+    assertEquals(99L, vector.getLong(99));
+    assertEquals(Long.valueOf(42), vector.get(42));
+    assertTrue(vector.isNull(100));
+    assertFalse(vector.isNull(0));
+    assertNull(vector.get(100));
+    assertEquals(101, vector.toArray().length);
+  }
+
+  @Test
+  public void shouldEncodeStringsOnce() {
+    StringVector vector = new StringVector("NAME");
+    vector.add("x");
+    vector.add(null);
+    vector.add("y");
+    vector.add("x");
+    assertEquals(Arrays.asList("x", "y"), vector.getDictionary());
+    assertArrayEquals(new int[] { 0, -1, 1, 0 }, vector.toCodeArray());
+    assertSame(vector.getString(0), vector.getString(3));
+    assertNull(vector.get(1));
+    assertTrue(vector.isNull(1));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void shouldRejectRowsOutOfRange() {
+    new IntVector("ID").getInt(0);
+  }
+
+  @Test
+  public void shouldFindColumnsIgnoringCase() {
+    IntVector id = new IntVector("Id");
+    ObjectVector created = new ObjectVector("CREATED");
+    id.add(1);
+    created.add(null);
+    ColumnBatch batch = new ColumnBatch(Arrays.asList(id, created));
+    assertSame(id, batch.getColumn("ID"));
+    assertSame(created, batch.getColumn(1));
+    assertNull(batch.getColumn("OTHER"));
+    assertEquals(1, batch.getRowCount());
+  }
+
+  @Test
+  public void shouldCopyRowsIntoMaps() {
+    IntVector id = new IntVector("ID");
+    StringVector name = new StringVector("NAME");
+    id.add(1);
+    name.addNull();
+    id.add(2);
+    name.add("two");
+    ColumnBatch batch = new ColumnBatch(Arrays.asList(id, name));
+    Map<String, Object> row = batch.getRow(1);
+    assertEquals(Arrays.asList("ID", "NAME"), new ArrayList<>(row.keySet()));
+    assertEquals(2, row.get("ID"));
+    assertEquals("two", row.get("NAME"));
+    assertTrue(batch.getRow(0).containsKey("NAME"));
+    assertNull(batch.getRow(0).get("NAME"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectColumnOfAnotherType() {
+    new ColumnBatch(Arrays.asList(new IntVector("ID"))).getColumn("ID", StringVector.class);
+  }
+
+}
@@ -20,6 +20,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +31,10 @@ import javassist.util.proxy.Proxy;
 import javax.sql.DataSource;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.columnar.ColumnBatch;
+import org.apache.ibatis.columnar.IntVector;
+import org.apache.ibatis.columnar.ObjectVector;
+import org.apache.ibatis.columnar.StringVector;
 import org.apache.ibatis.domain.blog.Author;
 import org.apache.ibatis.domain.blog.Blog;
 import org.apache.ibatis.domain.blog.Post;
@@ -108,6 +114,90 @@ public class BaseExecutorTest extends BaseDataTest {
     }
   }
 
+  @Test
+  public void shouldInsertAuthorsFromColumns() throws Exception {
+
+    Executor executor = createExecutor(new JdbcTransaction(ds, null, false));
+    try {
+      IntVector ids = new IntVector("id");
+      StringVector usernames = new StringVector("username");
+      StringVector passwords = new StringVector("password");
+      StringVector emails = new StringVector("email");
+      StringVector bios = new StringVector("bio");
+      ObjectVector sections = new ObjectVector("favouriteSection");
+      for (int i = 0; i < 3; i++) {
+        ids.add(90 + i);
+        usernames.add("someone" + i);
+        passwords.add("******");
+        emails.add("someone" + i + "@apache.org");
+        bios.addNull();
+        sections.add(Section.NEWS);
+      }
+      MappedStatement insertStatement = ExecutorTestHelper.prepareInsertAuthorMappedStatement(config);
+      MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      int[] counts = executor.updateColumns(insertStatement, new ColumnBatch(Arrays.asList(ids, usernames, passwords, emails, bios, sections)));
+      List<Author> authors = executor.query(selectStatement, 91, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      assertEquals(3, counts.length);
+      assertEquals(1, authors.size());
+      assertEquals(new Author(91, "someone1", "******", "someone1@apache.org", null, Section.NEWS).toString(), authors.get(0).toString());
+    } finally {
+      executor.rollback(true);
+      executor.close(false);
+    }
+  }
+
+  @Test
+  public void shouldReturnStatementsFlushedAheadOfAColumnarBatchFromTheNextFlush() throws Exception {
+
+    Executor executor = createExecutor(new JdbcTransaction(ds, null, false));
+    try {
+      IntVector ids = new IntVector("id");
+      StringVector usernames = new StringVector("username");
+      StringVector passwords = new StringVector("password");
+      StringVector emails = new StringVector("email");
+      StringVector bios = new StringVector("bio");
+      ObjectVector sections = new ObjectVector("favouriteSection");
+      ids.add(90);
+      usernames.add("someone");
+      passwords.add("******");
+      emails.add("someone@apache.org");
+      bios.addNull();
+      sections.add(Section.NEWS);
+      Author author = new Author(99, "someone", "******", "someone@apache.org", null, Section.NEWS);
+      MappedStatement insertStatement = ExecutorTestHelper.prepareInsertAuthorMappedStatement(config);
+      int rows = executor.update(insertStatement, author);
+      executor.updateColumns(insertStatement, new ColumnBatch(Arrays.asList(ids, usernames, passwords, emails, bios, sections)));
+      List<BatchResult> results = executor.flushStatements();
+      assertEquals(BatchExecutor.BATCH_UPDATE_RETURN_VALUE == rows ? 1 : 0, results.size());
+      assertTrue(executor.flushStatements().isEmpty());
+    } finally {
+      executor.rollback(true);
+      executor.close(false);
+    }
+  }
+
+  @Test
+  public void shouldBulkLoadAuthors() throws Exception {
+
+    Executor executor = createExecutor(new JdbcTransaction(ds, null, false));
+    try {
+      List<Author> rows = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        rows.add(new Author(80 + i, "someone" + i, "******", "someone" + i + "@apache.org", null, Section.NEWS));
+      }
+      MappedStatement insertStatement = ExecutorTestHelper.prepareInsertAuthorMappedStatement(config);
+      MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      long loaded = executor.bulkLoad(insertStatement, rows);
+      List<Author> authors = executor.query(selectStatement, 81, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      assertEquals(3, loaded);
+      assertEquals(1, authors.size());
+      assertEquals(rows.get(1).toString(), authors.get(0).toString());
+    } finally {
+      executor.rollback(true);
+      executor.close(false);
+    }
+  }
+
   @Test
   public void shouldSelectAllAuthorsAutoMapped() throws Exception {
     
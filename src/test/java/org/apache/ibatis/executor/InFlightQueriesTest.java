@@ -0,0 +1,153 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.junit.Test;
+
+public class InFlightQueriesTest {
+
+  @Test
+  public void shouldShareTheResultOfARunningQuery() throws Exception {
+    InFlightQueries queries = new InFlightQueries();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<List<String>> leader = executor.submit(() -> queries.execute(key("a"), () -> {
+        executions.incrementAndGet();
+        started.countDown();
+        await(release);
+        return new ArrayList<>(Arrays.asList("one", "two"));
+      }));
+      started.await();
+      List<Future<List<String>>> followers = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        followers.add(executor.submit(() -> queries.execute(key("a"), () -> {
+          executions.incrementAndGet();
+          return new ArrayList<>();
+        })));
+      }
+      Thread.sleep(50);
+      release.countDown();
+      List<String> result = leader.get(1, TimeUnit.SECONDS);
+      assertEquals(Arrays.asList("one", "two"), result);
+      for (Future<List<String>> follower : followers) {
+        List<String> list = follower.get(1, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("one", "two"), list);
+        // each session gets its own copy
+        list.add("three");
+      }
+      assertEquals(Arrays.asList("one", "two"), result);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, executions.get());
+    assertEquals(0, queries.getSize());
+  }
+
+  @Test
+  public void shouldNotShareQueriesWithDifferentKeys() throws Exception {
+    InFlightQueries queries = new InFlightQueries();
+    List<Object> a = queries.execute(key("a"), () -> queries.execute(key("b"), () -> Arrays.asList((Object) "b")));
+    assertEquals(Arrays.asList("b"), a);
+    assertEquals(0, queries.getSize());
+  }
+
+  @Test
+  public void shouldRunWaitingQueriesWhenTheRunningOneFails() throws Exception {
+    InFlightQueries queries = new InFlightQueries();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<List<String>> leader = executor.submit(() -> queries.execute(key("a"), () -> {
+        started.countDown();
+        await(release);
+        throw new SQLException("failed");
+      }));
+      started.await();
+      Future<List<String>> follower = executor.submit(() -> queries.execute(key("a"), () -> Arrays.asList("own")));
+      Thread.sleep(50);
+      release.countDown();
+      try {
+        leader.get(1, TimeUnit.SECONDS);
+        fail("The failing query should throw");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof SQLException);
+      }
+      assertEquals(Arrays.asList("own"), follower.get(1, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(0, queries.getSize());
+  }
+
+  @Test
+  public void shouldRunWaitingQueriesWhenTheResultIsNotSerializable() throws Exception {
+    InFlightQueries queries = new InFlightQueries();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Object shared = new Object();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<List<Object>> leader = executor.submit(() -> queries.execute(key("a"), () -> {
+        started.countDown();
+        await(release);
+        return Arrays.asList(shared);
+      }));
+      started.await();
+      Object own = new Object();
+      Future<List<Object>> follower = executor.submit(() -> queries.execute(key("a"), () -> Arrays.asList(own)));
+      Thread.sleep(50);
+      release.countDown();
+      assertSame(shared, leader.get(1, TimeUnit.SECONDS).get(0));
+      assertSame(own, follower.get(1, TimeUnit.SECONDS).get(0));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static CacheKey key(String id) {
+    CacheKey key = new CacheKey();
+    key.update(id);
+    return key;
+  }
+
+}
@@ -0,0 +1,83 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.jdbc.ConnectionLogger;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StatementLogSampleRateTest {
+
+  private Configuration configuration;
+  private Connection connection;
+  private Log statementLog;
+  private BaseExecutor executor;
+
+  @Before
+  public void setUp() throws Exception {
+    configuration = new Configuration();
+    connection = mock(Connection.class);
+    Transaction transaction = mock(Transaction.class);
+    when(transaction.getConnection()).thenReturn(connection);
+    statementLog = mock(Log.class);
+    when(statementLog.isDebugEnabled()).thenReturn(true);
+    executor = new SimpleExecutor(configuration, transaction);
+  }
+
+  @Test
+  public void shouldLogEveryStatementWithRateOne() throws Exception {
+    configuration.setStatementLogSampleRate(1);
+    assertEquals(1000, countLoggedConnections(1000));
+  }
+
+  @Test
+  public void shouldAlmostNeverLogWithAVeryLargeRate() throws Exception {
+    configuration.setStatementLogSampleRate(Integer.MAX_VALUE);
+    assertTrue(countLoggedConnections(1000) <= 1);
+  }
+
+  @Test
+  public void shouldNotLogWithoutDebug() throws Exception {
+    configuration.setStatementLogSampleRate(1);
+    when(statementLog.isDebugEnabled()).thenReturn(false);
+    assertSame(connection, executor.getConnection(statementLog));
+  }
+
+  private int countLoggedConnections(int statements) throws Exception {
+    int logged = 0;
+    for (int i = 0; i < statements; i++) {
+      Connection wrapped = executor.getConnection(statementLog);
+      if (wrapped instanceof ConnectionLogger) {
+        logged++;
+      } else {
+        assertSame(connection, wrapped);
+      }
+    }
+    return logged;
+  }
+
+}
@@ -0,0 +1,98 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.keygen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.Test;
+
+public class Jdbc3KeyGeneratorTest {
+
+  private final Configuration configuration = new Configuration();
+
+  @Test
+  public void shouldAssignKeysToBeansAndMaps() throws Exception {
+    Item item1 = new Item();
+    Item item2 = new Item();
+    Map<String, Object> map = new HashMap<>();
+    Item item3 = new Item();
+    List<Object> params = Arrays.asList(item1, item2, map, item3);
+
+    Jdbc3KeyGenerator.INSTANCE.processBatch(newStatement("id"), generatedKeys(11, 12, 13, 14), params);
+
+    assertEquals(Integer.valueOf(11), item1.id);
+    assertEquals(Integer.valueOf(12), item2.id);
+    assertEquals(13, map.get("id"));
+    assertEquals(Integer.valueOf(14), item3.id);
+  }
+
+  @Test
+  public void shouldLeaveParametersWithoutKeysUntouched() throws Exception {
+    Item item1 = new Item();
+    Item item2 = new Item();
+
+    Jdbc3KeyGenerator.INSTANCE.processBatch(newStatement("id"), generatedKeys(21), Arrays.asList(item1, item2));
+
+    assertEquals(Integer.valueOf(21), item1.id);
+    assertNull(item2.id);
+  }
+
+  private MappedStatement newStatement(String keyProperty) {
+    return new MappedStatement.Builder(configuration, "insertItems",
+        new StaticSqlSource(configuration, "insert into item (name) values (?)"), SqlCommandType.INSERT)
+        .keyGenerator(Jdbc3KeyGenerator.INSTANCE).keyProperty(keyProperty).build();
+  }
+
+  private static Statement generatedKeys(final int... keys) throws SQLException {
+    ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+    when(rsmd.getColumnCount()).thenReturn(1);
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    final int[] row = { -1 };
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.next()).thenAnswer(invocation -> ++row[0] < keys.length);
+    when(rs.getInt(1)).thenAnswer(invocation -> keys[row[0]]);
+    Statement stmt = mock(Statement.class);
+    when(stmt.getGeneratedKeys()).thenReturn(rs);
+    return stmt;
+  }
+
+  public static class Item {
+    private Integer id;
+
+    public void setId(Integer id) {
+      this.id = id;
+    }
+  }
+
+}
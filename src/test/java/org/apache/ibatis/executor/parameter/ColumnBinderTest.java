@@ -0,0 +1,90 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.parameter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+import org.apache.ibatis.columnar.ColumnBatch;
+import org.apache.ibatis.columnar.IntVector;
+import org.apache.ibatis.columnar.ObjectVector;
+import org.apache.ibatis.columnar.StringVector;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ColumnBinderTest {
+
+  private Configuration configuration;
+  private PreparedStatement ps;
+
+  @Before
+  public void setUp() {
+    configuration = new Configuration();
+    ps = mock(PreparedStatement.class);
+  }
+
+  @Test
+  public void shouldBindRowsFromColumns() throws Exception {
+    IntVector ids = new IntVector("id");
+    StringVector names = new StringVector("NAME");
+    ObjectVector created = new ObjectVector("created");
+    ids.add(1);
+    ids.addNull();
+    names.add("a");
+    names.add("b");
+    created.add(null);
+    created.add(new java.util.Date(0));
+    ColumnBinder binder = new ColumnBinder(configuration, Arrays.asList(
+        mapping("id", int.class), mapping("name", Object.class), mapping("created", Object.class)),
+        new ColumnBatch(Arrays.asList(ids, names, created)));
+
+    binder.bind(ps, 0);
+    verify(ps).setInt(1, 1);
+    verify(ps).setString(2, "a");
+    verify(ps).setNull(3, JdbcType.OTHER.TYPE_CODE);
+    verifyNoMoreInteractions(ps);
+
+    clearInvocations(ps);
+    binder.bind(ps, 1);
+    verify(ps).setNull(1, JdbcType.OTHER.TYPE_CODE);
+    verify(ps).setString(2, "b");
+    verify(ps).setTimestamp(eq(3), any(Timestamp.class));
+    verifyNoMoreInteractions(ps);
+  }
+
+  @Test(expected = ExecutorException.class)
+  public void shouldRejectMissingColumns() {
+    new ColumnBinder(configuration, Arrays.asList(mapping("id", int.class)),
+        new ColumnBatch(Arrays.asList(new IntVector("other"))));
+  }
+
+  private ParameterMapping mapping(String property, Class<?> javaType) {
+    return new ParameterMapping.Builder(configuration, property, javaType).jdbcType(JdbcType.OTHER).build();
+  }
+
+}
@@ -0,0 +1,189 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.parameter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Blog;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParameterBinderTest {
+
+  private Configuration configuration;
+  private MappedStatement mappedStatement;
+  private PreparedStatement ps;
+  private List<String> setters;
+
+  @Before
+  public void setUp() {
+    configuration = new Configuration();
+    mappedStatement = new MappedStatement.Builder(configuration, "insertBlog",
+        new StaticSqlSource(configuration, "insert"), SqlCommandType.INSERT).build();
+    setters = new ArrayList<>();
+    ps = mock(PreparedStatement.class);
+  }
+
+  @Test
+  public void shouldBindNestedBeanProperties() throws Exception {
+    Blog blog = new Blog(1, "title", new Author(101, "jim", "pwd", "jim@ibatis.apache.org", "bio", null), null);
+    bind(blog, mappings("id", "title", "author.username", "author.email"));
+    verify(ps).setInt(1, 1);
+    verify(ps).setString(2, "title");
+    verify(ps).setString(3, "jim");
+    verify(ps).setString(4, "jim@ibatis.apache.org");
+  }
+
+  @Test
+  public void shouldBindNullWhenIntermediatePropertyIsNull() throws Exception {
+    bind(new Blog(1, "title", null, null), mappings("author.username"));
+    verify(ps).setNull(1, JdbcType.OTHER.TYPE_CODE);
+    verifyNoMoreInteractions(ps);
+  }
+
+  @Test
+  public void shouldBindMapAndIndexedProperties() throws Exception {
+    Map<String, Object> param = new HashMap<>();
+    param.put("author", new Author(101, "jim", "pwd", "jim@ibatis.apache.org", "bio", null));
+    param.put("ids", Arrays.asList(5, 6));
+    bind(param, mappings("author.username", "ids[1]"));
+    verify(ps).setString(1, "jim");
+    verify(ps).setInt(2, 6);
+  }
+
+  @Test
+  public void shouldBindParameterObjectWithTypeHandler() throws Exception {
+    bind("value", mappings("anything"));
+    verify(ps).setString(1, "value");
+  }
+
+  @Test
+  public void shouldPreferAdditionalParameters() throws Exception {
+    List<ParameterMapping> mappings = mappings("title");
+    BoundSql boundSql = new BoundSql(configuration, "insert", mappings, null);
+    boundSql.setAdditionalParameter("title", "additional");
+    ParameterBinder binder = mappedStatement.getParameterBinder(Blog.class, mappings);
+    binder.bind(ps, boundSql, new Blog(1, "title", null, null));
+    verify(ps).setString(1, "additional");
+  }
+
+  @Test
+  public void shouldCacheBinderPerParameterType() {
+    List<ParameterMapping> mappings = mappings("id", "title");
+    ParameterBinder binder = mappedStatement.getParameterBinder(Blog.class, mappings);
+    assertSame(binder, mappedStatement.getParameterBinder(Blog.class, mappings));
+    assertSame(binder, mappedStatement.getParameterBinder(Blog.class, mappings("id", "title")));
+    assertNotSame(binder, mappedStatement.getParameterBinder(Blog.class, mappings("id")));
+    assertNotSame(binder, mappedStatement.getParameterBinder(HashMap.class, mappings));
+  }
+
+  @Test
+  public void shouldCacheBinderPerShapeOfParameterMappings() {
+    ParameterBinder both = mappedStatement.getParameterBinder(Blog.class, mappings("id", "title"));
+    ParameterBinder id = mappedStatement.getParameterBinder(Blog.class, mappings("id"));
+    assertSame(both, mappedStatement.getParameterBinder(Blog.class, mappings("id", "title")));
+    assertSame(id, mappedStatement.getParameterBinder(Blog.class, mappings("id")));
+  }
+
+  @Test
+  public void shouldBindPrimitivePropertiesWithoutBoxing() throws Exception {
+    List<ParameterMapping> mappings = new ArrayList<>();
+    mappings.add(new ParameterMapping.Builder(configuration, "id", new RecordingIntegerTypeHandler()).build());
+    bind(new Blog(1, "title", null, null), mappings);
+    verify(ps).setInt(1, 1);
+    assertEquals(Arrays.asList("setInt"), setters);
+
+    Map<String, Object> param = new HashMap<>();
+    param.put("id", 2);
+    bind(param, mappings);
+    verify(ps).setInt(1, 2);
+    assertEquals(Arrays.asList("setInt", "setNonNullParameter"), setters);
+  }
+
+  private void bind(Object parameterObject, List<ParameterMapping> mappings) {
+    BoundSql boundSql = new BoundSql(configuration, "insert", mappings, parameterObject);
+    mappedStatement.getParameterBinder(parameterObject.getClass(), mappings).bind(ps, boundSql, parameterObject);
+  }
+
+  private List<ParameterMapping> mappings(String... properties) {
+    List<ParameterMapping> mappings = new ArrayList<>();
+    for (String property : properties) {
+      mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+    }
+    return mappings;
+  }
+
+  private class RecordingIntegerTypeHandler extends BaseTypeHandler<Integer> implements PrimitiveTypeHandler.OfInt {
+
+    @Override
+    public int getInt(ResultSet rs, String columnName) throws SQLException {
+      return rs.getInt(columnName);
+    }
+
+    @Override
+    public void setInt(PreparedStatement ps, int i, int parameter) throws SQLException {
+      setters.add("setInt");
+      ps.setInt(i, parameter);
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Integer parameter, JdbcType jdbcType) throws SQLException {
+      setters.add("setNonNullParameter");
+      ps.setInt(i, parameter);
+    }
+
+    @Override
+    public Integer getNullableResult(ResultSet rs, String columnName) {
+      return null;
+    }
+
+    @Override
+    public Integer getNullableResult(ResultSet rs, int columnIndex) {
+      return null;
+    }
+
+    @Override
+    public Integer getNullableResult(CallableStatement cs, int columnIndex) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,134 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.result;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.columnar.ColumnBatch;
+import org.apache.ibatis.columnar.DoubleVector;
+import org.apache.ibatis.columnar.IntVector;
+import org.apache.ibatis.columnar.StringVector;
+import org.apache.ibatis.executor.resultset.ResultSetWrapper;
+import org.apache.ibatis.session.Configuration;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+public class ColumnarResultHandlerTest {
+
+  private static final List<String> NAMES = Arrays.asList("ID", "NAME", "AMOUNT");
+  private static final int[] TYPES = { Types.INTEGER, Types.VARCHAR, Types.DOUBLE };
+  private static final String[] CLASS_NAMES = { Integer.class.getName(), String.class.getName(), Double.class.getName() };
+
+  @Test
+  public void shouldReadColumnsIntoVectors() throws Exception {
+    List<ColumnBatch> batches = new ArrayList<>();
+    ColumnarResultHandler handler = new ColumnarResultHandler(10, batches::add);
+    int rows = handler.handleResultSet(resultSet(
+        new Object[] { 1, "a", 1.5 },
+        new Object[] { 2, "b", null },
+        new Object[] { null, "a", 3.0 }), null, Integer.MAX_VALUE);
+
+    assertEquals(3, rows);
+    assertEquals(1, batches.size());
+    ColumnBatch batch = batches.get(0);
+    assertEquals(NAMES, batch.getColumnNames());
+    assertEquals(3, batch.getRowCount());
+
+    IntVector ids = batch.getColumn("id", IntVector.class);
+    assertArrayEquals(new int[] { 1, 2, 0 }, ids.toArray());
+    assertTrue(ids.isNull(2));
+    assertNull(ids.get(2));
+
+    StringVector names = batch.getColumn("NAME", StringVector.class);
+    assertEquals(Arrays.asList("a", "b"), names.getDictionary());
+    assertArrayEquals(new int[] { 0, 1, 0 }, names.toCodeArray());
+
+    DoubleVector amounts = batch.getColumn("AMOUNT", DoubleVector.class);
+    assertEquals(1.5, amounts.getDouble(0), 0);
+    assertTrue(amounts.isNull(1));
+  }
+
+  @Test
+  public void shouldHandOverBatches() throws Exception {
+    List<ColumnBatch> batches = new ArrayList<>();
+    ColumnarResultHandler handler = new ColumnarResultHandler(2, batches::add);
+    int rows = handler.handleResultSet(resultSet(
+        new Object[] { 1, "a", 1.0 },
+        new Object[] { 2, "b", 2.0 },
+        new Object[] { 3, "c", 3.0 },
+        new Object[] { 4, "d", 4.0 }), null, 3);
+
+    assertEquals(3, rows);
+    assertEquals(2, batches.size());
+    assertEquals(2, batches.get(0).getRowCount());
+    assertEquals(1, batches.get(1).getRowCount());
+    assertEquals(3, batches.get(1).getColumn("ID", IntVector.class).getInt(0));
+  }
+
+  @Test
+  public void shouldHandOverAnEmptyBatchForAnEmptyResultSet() throws Exception {
+    List<ColumnBatch> batches = new ArrayList<>();
+    new ColumnarResultHandler(2, batches::add).handleResultSet(resultSet(), null, Integer.MAX_VALUE);
+    assertEquals(1, batches.size());
+    assertEquals(0, batches.get(0).getRowCount());
+    assertEquals(NAMES, batches.get(0).getColumnNames());
+  }
+
+  private static ResultSetWrapper resultSet(final Object[]... rows) throws SQLException {
+    ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+    when(rsmd.getColumnCount()).thenReturn(NAMES.size());
+    for (int i = 0; i < NAMES.size(); i++) {
+      when(rsmd.getColumnLabel(i + 1)).thenReturn(NAMES.get(i));
+      when(rsmd.getColumnType(i + 1)).thenReturn(TYPES[i]);
+      when(rsmd.getColumnClassName(i + 1)).thenReturn(CLASS_NAMES[i]);
+    }
+    final int[] row = { -1 };
+    final Object[] lastValue = new Object[1];
+    final Answer<Object> value = invocation -> {
+      lastValue[0] = rows[row[0]][NAMES.indexOf(invocation.getArgument(0))];
+      return lastValue[0];
+    };
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    when(rs.next()).thenAnswer(invocation -> ++row[0] < rows.length);
+    when(rs.wasNull()).thenAnswer(invocation -> lastValue[0] == null);
+    when(rs.getString(anyString())).thenAnswer(value);
+    when(rs.getInt(anyString())).thenAnswer(invocation -> {
+      Object v = value.answer(invocation);
+      return v == null ? 0 : v;
+    });
+    when(rs.getDouble(anyString())).thenAnswer(invocation -> {
+      Object v = value.answer(invocation);
+      return v == null ? 0d : v;
+    });
+    return new ResultSetWrapper(rs, new Configuration());
+  }
+
+}
@@ -0,0 +1,79 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.StringTypeHandler;
+import org.apache.ibatis.type.TypeHandler;
+import org.junit.Test;
+
+public class PrimitiveColumnMappingTest {
+
+  private final Configuration configuration = new Configuration();
+  private final ResultSet rs = mock(ResultSet.class);
+
+  @Test
+  public void shouldSetPrimitivePropertyFromColumn() throws Exception {
+    Author author = new Author();
+    PrimitiveColumnMapping mapping = mapping(author, "id", new IntegerTypeHandler());
+    assertNotNull(mapping);
+    assertTrue(mapping.appliesTo(configuration.newMetaObject(new Author())));
+    when(rs.getInt("ID")).thenReturn(5);
+    assertTrue(mapping.apply(rs, author));
+    assertEquals(5, author.getId());
+  }
+
+  @Test
+  public void shouldLeavePropertyUntouchedOnNull() throws Exception {
+    Author author = new Author(7);
+    PrimitiveColumnMapping mapping = mapping(author, "id", new IntegerTypeHandler());
+    when(rs.getInt("ID")).thenReturn(0);
+    when(rs.wasNull()).thenReturn(true);
+    assertFalse(mapping.apply(rs, author));
+    assertEquals(7, author.getId());
+  }
+
+  @Test
+  public void shouldOnlyMapPrimitiveBeanProperties() {
+    assertNull(mapping(new Author(), "username", new StringTypeHandler()));
+    assertNull(mapping(new HashMap<String, Object>(), "id", new IntegerTypeHandler()));
+    assertNull(mapping(new Author(), "id", new IntegerTypeHandler() {
+      @Override
+      public Integer getNullableResult(ResultSet rs, String columnName) {
+        return 42;
+      }
+    }));
+    PrimitiveColumnMapping mapping = mapping(new Author(), "id", new IntegerTypeHandler());
+    assertFalse(mapping.appliesTo(configuration.newMetaObject(new Author() {
+    })));
+  }
+
+  private PrimitiveColumnMapping mapping(Object resultObject, String property, TypeHandler<?> typeHandler) {
+    MetaObject metaObject = configuration.newMetaObject(resultObject);
+    return PrimitiveColumnMapping.of(configuration.getReflectorFactory(), metaObject, property, typeHandler, "ID");
+  }
+
+}
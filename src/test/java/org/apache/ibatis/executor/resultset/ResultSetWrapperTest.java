@@ -0,0 +1,74 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.StringTypeHandler;
+import org.apache.ibatis.type.TypeHandler;
+import org.junit.Test;
+
+public class ResultSetWrapperTest {
+
+  @Test
+  public void shouldResolveUnknownTypeHandlerOncePerColumn() throws Exception {
+    Configuration configuration = new Configuration();
+    ResultSetWrapper rsw = new ResultSetWrapper(resultSet(), configuration);
+    TypeHandler<?> unknown = configuration.getTypeHandlerRegistry().getUnknownTypeHandler();
+
+    TypeHandler<?> id = rsw.resolveTypeHandler(unknown, "id");
+    assertTrue(id instanceof IntegerTypeHandler);
+    assertSame(id, rsw.resolveTypeHandler(unknown, "ID"));
+    assertTrue(rsw.resolveTypeHandler(unknown, "name") instanceof StringTypeHandler);
+  }
+
+  @Test
+  public void shouldKeepOtherTypeHandlersAndMissingColumns() throws Exception {
+    Configuration configuration = new Configuration();
+    ResultSetWrapper rsw = new ResultSetWrapper(resultSet(), configuration);
+    TypeHandler<?> unknown = configuration.getTypeHandlerRegistry().getUnknownTypeHandler();
+    TypeHandler<?> string = new StringTypeHandler();
+
+    assertSame(string, rsw.resolveTypeHandler(string, "id"));
+    assertSame(unknown, rsw.resolveTypeHandler(unknown, "missing"));
+    assertSame(unknown, rsw.resolveTypeHandler(unknown, null));
+  }
+
+  private static ResultSet resultSet() throws SQLException {
+    ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+    when(rsmd.getColumnCount()).thenReturn(2);
+    when(rsmd.getColumnLabel(1)).thenReturn("ID");
+    when(rsmd.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(rsmd.getColumnClassName(1)).thenReturn(Integer.class.getName());
+    when(rsmd.getColumnLabel(2)).thenReturn("NAME");
+    when(rsmd.getColumnType(2)).thenReturn(Types.VARCHAR);
+    when(rsmd.getColumnClassName(2)).thenReturn(String.class.getName());
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getMetaData()).thenReturn(rsmd);
+    return rs;
+  }
+
+}
@@ -0,0 +1,109 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class RowMapTest {
+
+  private final RowMap.Schema schema = new RowMap.Schema(Arrays.asList("ID", "NAME", "ID"));
+
+  @Test
+  public void shouldBehaveLikeAHashMap() {
+    RowMap row = new RowMap(schema);
+    Map<String, Object> expected = new HashMap<>();
+    assertEquals(expected, row);
+
+    row.put("ID", 1);
+    row.put("NAME", null);
+    row.put("EXTRA", "x");
+    expected.put("ID", 1);
+    expected.put("NAME", null);
+    expected.put("EXTRA", "x");
+
+    assertEquals(3, row.size());
+    assertEquals(expected, row);
+    assertEquals(row, expected);
+    assertEquals(expected.hashCode(), row.hashCode());
+    assertTrue(row.containsKey("NAME"));
+    assertNull(row.get("NAME"));
+    assertFalse(row.containsKey("OTHER"));
+    assertEquals(1, row.put("ID", 2));
+    assertEquals(2, row.get("ID"));
+  }
+
+  @Test
+  public void shouldRemoveEntries() {
+    RowMap row = new RowMap(schema);
+    row.put("ID", 1);
+    row.put("NAME", "a");
+    row.put("EXTRA", "x");
+
+    assertEquals(1, row.remove("ID"));
+    assertNull(row.remove("ID"));
+    assertEquals("x", row.remove("EXTRA"));
+    assertEquals(1, row.size());
+
+    Iterator<Map.Entry<String, Object>> iterator = row.entrySet().iterator();
+    assertEquals("NAME", iterator.next().getKey());
+    iterator.remove();
+    assertFalse(iterator.hasNext());
+    assertTrue(row.isEmpty());
+  }
+
+  @Test
+  public void shouldWriteThroughEntries() {
+    RowMap row = new RowMap(schema);
+    row.put("NAME", "a");
+    row.entrySet().iterator().next().setValue("b");
+    assertEquals("b", row.get("NAME"));
+    row.clear();
+    assertTrue(row.isEmpty());
+    assertNull(row.get("NAME"));
+  }
+
+  @Test
+  public void shouldSerialize() throws Exception {
+    RowMap row = new RowMap(schema);
+    row.put("ID", 1);
+    row.put("EXTRA", "x");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(row);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      @SuppressWarnings("unchecked")
+      Map<String, Object> copy = (Map<String, Object>) in.readObject();
+      assertEquals(row, copy);
+      assertFalse(copy.containsKey("NAME"));
+    }
+  }
+
+}
@@ -0,0 +1,109 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.resultset.ResultSetWrapper;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FetchSizeAdvisorTest {
+
+  private Configuration configuration;
+  private FetchSizeAdvisor advisor;
+  private MappedStatement statement;
+
+  @Before
+  public void setUp() {
+    configuration = new Configuration();
+    advisor = configuration.getFetchSizeAdvisor();
+    statement = new MappedStatement.Builder(configuration, "org.mybatis.BlogMapper.selectBlogs",
+        new StaticSqlSource(configuration, "select id, title from blog"), SqlCommandType.SELECT).build();
+  }
+
+  @Test
+  public void shouldBeDisabledWithoutBudget() {
+    assertFalse(advisor.isEnabled());
+    advisor.recordRowCount(statement, 10);
+    assertNull(advisor.getFetchSize(statement));
+  }
+
+  @Test
+  public void shouldAdviseNothingBeforeFirstExecution() throws Exception {
+    configuration.setAdaptiveFetchSizeBudget(1024L * 1024L);
+    assertTrue(advisor.isEnabled());
+    assertNull(advisor.getFetchSize(statement));
+    advisor.learnRowWidth(statement, resultSet());
+    assertNull(advisor.getFetchSize(statement));
+  }
+
+  @Test
+  public void shouldFitExpectedRowCount() throws Exception {
+    configuration.setAdaptiveFetchSizeBudget(1024L * 1024L);
+    advisor.learnRowWidth(statement, resultSet());
+    advisor.recordRowCount(statement, 1);
+    // small results never drop below the minimum fetch size
+    assertEquals(Integer.valueOf(10), advisor.getFetchSize(statement));
+    advisor.recordRowCount(statement, 101);
+    // smoothed to 21 rows
+    assertEquals(Integer.valueOf(28), advisor.getFetchSize(statement));
+  }
+
+  @Test
+  public void shouldBoundFetchSizeByMemoryBudget() throws Exception {
+    // 32 bytes of row overhead, 16 for the INTEGER column and 2 * 40 for the VARCHAR(40) column
+    configuration.setAdaptiveFetchSizeBudget(128L * 50);
+    advisor.learnRowWidth(statement, resultSet());
+    advisor.recordRowCount(statement, 1000000);
+    assertEquals(Integer.valueOf(50), advisor.getFetchSize(statement));
+    configuration.setAdaptiveFetchSizeBudget(Long.MAX_VALUE);
+    assertEquals(Integer.valueOf(10000), advisor.getFetchSize(statement));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNonPositiveBudget() {
+    configuration.setAdaptiveFetchSizeBudget(0L);
+  }
+
+  private ResultSetWrapper resultSet() throws Exception {
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(2);
+    when(metaData.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+    when(metaData.getPrecision(1)).thenReturn(10);
+    when(metaData.getPrecision(2)).thenReturn(40);
+    when(metaData.getColumnLabel(1)).thenReturn("id");
+    when(metaData.getColumnLabel(2)).thenReturn("title");
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    return new ResultSetWrapper(resultSet, configuration);
+  }
+
+}
@@ -0,0 +1,160 @@
+/**
+ *    Copyright 2009-2018 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SlowStatementTrackerTest {
+
+  private Configuration configuration;
+  private SlowStatementTracker tracker;
+
+  @Before
+  public void setUp() {
+    configuration = new Configuration();
+    tracker = configuration.getSlowStatementTracker();
+  }
+
+  @Test
+  public void shouldBeDisabledWithoutThreshold() {
+    assertFalse(tracker.isEnabled());
+    assertNull(tracker.record(statement("org.mybatis.BlogMapper.selectBlog"), boundSql(), 0, millis(1000), 0));
+    assertTrue(tracker.getSlowStatements().isEmpty());
+  }
+
+  @Test
+  public void shouldRecordStatementsAboveDefaultThreshold() {
+    configuration.setSlowStatementThreshold(100L);
+    assertTrue(tracker.isEnabled());
+    MappedStatement ms = statement("org.mybatis.BlogMapper.selectBlog");
+    assertNull(tracker.record(ms, boundSql(), millis(1), millis(50), millis(10)));
+    SlowStatement slowStatement = tracker.record(ms, boundSql(), millis(1), millis(150), millis(20));
+    assertNotNull(slowStatement);
+    assertEquals("org.mybatis.BlogMapper.selectBlog", slowStatement.getStatementId());
+    assertEquals("select * from blog where id = ? and author = ?", slowStatement.getSql());
+    assertEquals(millis(150), slowStatement.getExecutionTime());
+    assertEquals(millis(20), slowStatement.getMappingTime());
+    assertEquals(millis(171), slowStatement.getTotalTime());
+    assertEquals(1, tracker.getSlowStatements().size());
+  }
+
+  @Test
+  public void shouldCaptureBoundParameters() {
+    configuration.setSlowStatementThreshold(0L);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("id", 101);
+    parameter.put("author", "jim");
+    SlowStatement slowStatement = tracker.record(statement("org.mybatis.BlogMapper.selectBlog"), boundSql(parameter), 0, 0, 0);
+    assertEquals(2, slowStatement.getParameters().size());
+    assertEquals(101, slowStatement.getParameters().get(0));
+    assertEquals("jim", slowStatement.getParameters().get(1));
+  }
+
+  @Test
+  public void shouldPreferStatementThresholdThenNamespaceThenDefault() {
+    configuration.setSlowStatementThreshold(1000L);
+    tracker.setThreshold("org.mybatis", 500L);
+    tracker.setThreshold("org.mybatis.BlogMapper.selectBlog", 10L);
+    assertNotNull(tracker.record(statement("org.mybatis.BlogMapper.selectBlog"), boundSql(), 0, millis(20), 0));
+    assertNull(tracker.record(statement("org.mybatis.BlogMapper.selectPost"), boundSql(), 0, millis(20), 0));
+    assertNotNull(tracker.record(statement("org.mybatis.BlogMapper.selectPost"), boundSql(), 0, millis(600), 0));
+    assertNull(tracker.record(statement("org.other.AuthorMapper.selectAuthor"), boundSql(), 0, millis(600), 0));
+    tracker.setThreshold("org.mybatis", null);
+    assertNull(tracker.record(statement("org.mybatis.BlogMapper.selectPost"), boundSql(), 0, millis(600), 0));
+    assertEquals(2, tracker.getSlowStatements("org.mybatis.BlogMapper").size());
+    assertEquals(1, tracker.getSlowStatements("org.mybatis.BlogMapper.selectBlog").size());
+    assertTrue(tracker.getSlowStatements("org.mybatis.Blog").isEmpty());
+  }
+
+  @Test
+  public void shouldKeepMostRecentStatementsWithinCapacity() {
+    configuration.setSlowStatementThreshold(0L);
+    configuration.setSlowStatementCapacity(3);
+    for (int i = 0; i < 5; i++) {
+      tracker.record(statement("org.mybatis.BlogMapper.select" + i), boundSql(), 0, 0, 0);
+    }
+    List<SlowStatement> slowStatements = tracker.getSlowStatements();
+    assertEquals(3, slowStatements.size());
+    assertEquals("org.mybatis.BlogMapper.select4", slowStatements.get(0).getStatementId());
+    assertEquals("org.mybatis.BlogMapper.select2", slowStatements.get(2).getStatementId());
+    tracker.clear();
+    assertTrue(tracker.getSlowStatements().isEmpty());
+  }
+
+  @Test
+  public void shouldRecordFailingStatements() throws Exception {
+    configuration.setSlowStatementThreshold(0L);
+    Statement statement = mock(Statement.class);
+    when(statement.execute("select 1")).thenThrow(new SQLException("timed out"));
+    MappedStatement ms = statement("org.mybatis.BlogMapper.selectBlog");
+    StatementHandler handler = new SimpleStatementHandler(null, ms, null, RowBounds.DEFAULT, null, null);
+    try {
+      handler.query(statement, null);
+      fail();
+    } catch (SQLException e) {
+      assertEquals("timed out", e.getMessage());
+    }
+    assertEquals(1, tracker.getSlowStatements().size());
+    assertEquals("org.mybatis.BlogMapper.selectBlog", tracker.getSlowStatements().get(0).getStatementId());
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  private MappedStatement statement(String id) {
+    return new MappedStatement.Builder(configuration, id,
+        new StaticSqlSource(configuration, "select 1"), SqlCommandType.SELECT).build();
+  }
+
+  private BoundSql boundSql() {
+    return boundSql(Collections.emptyMap());
+  }
+
+  private BoundSql boundSql(Object parameter) {
+    List<ParameterMapping> parameterMappings = new ArrayList<>();
+    parameterMappings.add(new ParameterMapping.Builder(configuration, "id", Object.class).build());
+    parameterMappings.add(new ParameterMapping.Builder(configuration, "author", Object.class).build());
+    return new BoundSql(configuration, "select * from blog where id = ? and author = ?", parameterMappings, parameter);
+  }
+
+}
@@ -91,6 +91,42 @@ public class PooledDataSourceTest extends BaseDataTest {
     c.close();
   }
 
+  @Test
+  public void shouldReusePreparedStatementAcrossCheckouts() throws Exception {
+    PooledDataSource ds = createPooledDataSource(JPETSTORE_PROPERTIES);
+    try {
+      runScript(ds, JPETSTORE_DDL);
+      ds.setPoolMaximumActiveConnections(1);
+      ds.setPoolMaximumIdleConnections(1);
+      ds.setPoolStatementCacheSize(2);
+      Connection c = ds.getConnection();
+      PreparedStatement st = c.prepareStatement("SELECT * FROM PRODUCT WHERE PRODUCTID = ?");
+      PreparedStatement realStatement = st.unwrap(PreparedStatement.class);
+      st.setMaxRows(1);
+      st.setString(1, "FI-SW-01");
+      assertSame(c, st.getConnection());
+      ResultSet rs = st.executeQuery();
+      assertSame(st, rs.getStatement());
+      rs.close();
+      st.close();
+      assertTrue(st.isClosed());
+      c.close();
+
+      c = ds.getConnection();
+      st = c.prepareStatement("SELECT * FROM PRODUCT WHERE PRODUCTID = ?");
+      assertSame(realStatement, st.unwrap(PreparedStatement.class));
+      assertFalse(st.isClosed());
+      assertEquals(0, st.getMaxRows());
+      PreparedStatement other = c.prepareStatement("SELECT * FROM PRODUCT WHERE PRODUCTID = ?");
+      assertNotSame(realStatement, other.unwrap(PreparedStatement.class));
+      other.close();
+      st.close();
+      c.close();
+    } finally {
+      ds.forceCloseAll();
+    }
+  }
+
   @Ignore("See the comments")
   @Test
   public void shouldReconnectWhenServerKilledLeakedConnection() throws Exception {
@@ -22,9 +22,11 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Types;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -38,6 +40,9 @@ public class ConnectionLoggerTest {
   @Mock
   PreparedStatement preparedStatement;
 
+  @Mock
+  CallableStatement callableStatement;
+
   @Mock
   Log log;
 
@@ -61,6 +66,14 @@ public class ConnectionLoggerTest {
     verify(log).debug(contains("Preparing: { call test() }"));
   }
 
+  @Test
+  public void shouldReturnCallableStatementForPrepareCall() throws SQLException {
+    when(connection.prepareCall("{ call test() }")).thenReturn(callableStatement);
+    CallableStatement cs = conn.prepareCall("{ call test() }");
+    cs.registerOutParameter(1, Types.INTEGER);
+    verify(callableStatement).registerOutParameter(1, Types.INTEGER);
+  }
+
   @Test
   public void shouldNotPrintCreateStatement() throws SQLException {
     conn.createStatement();
@@ -25,6 +25,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.sql.*;
+import java.util.concurrent.ExecutorService;
 
 import static org.mockito.Mockito.*;
 
@@ -77,6 +78,22 @@ public class PreparedStatementLoggerTest {
     verify(log, times(0)).debug(anyString());
   }
 
+  @Test
+  public void shouldPrintParametersAsynchronously() throws SQLException {
+    ExecutorService logExecutor = BaseJdbcLogger.newAsyncLogExecutor();
+    try {
+      PreparedStatement ps = PreparedStatementLogger.newInstance(this.preparedStatement, log, 1, logExecutor);
+      ps.setInt(1, 10);
+      ps.setString(2, "jim");
+      ps.executeQuery();
+      ps.setInt(1, 20);
+
+      verify(log, timeout(1000)).debug(contains("Parameters: 10(Integer), jim(String)"));
+    } finally {
+      logExecutor.shutdown();
+    }
+  }
+
   @Test
   public void shouldPrintUpdateCount() throws SQLException {
     when(preparedStatement.getUpdateCount()).thenReturn(1);
@@ -17,9 +17,14 @@ package org.apache.ibatis.plugin;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -39,6 +44,97 @@ public class PluginTest {
     assertFalse("Always".equals(map.toString()));
   }
 
+  @Test
+  public void shouldComposeInterceptorsIntoSingleProxy() {
+    Map map = new HashMap();
+    map = (Map) new SuffixMapPlugin("a").plugin(map);
+    map = (Map) new SuffixMapPlugin("b").plugin(map);
+    map.put("key", "value");
+    assertEquals("value-a-b", map.get("key"));
+    Object target = ((Plugin) Proxy.getInvocationHandler(map)).getTarget(0);
+    assertFalse(Proxy.isProxyClass(target.getClass()));
+  }
+
+  @Test
+  public void shouldExposeInnerLayerAsInvocationTarget() {
+    Map map = new HashMap();
+    map.put("key", "value");
+    map = (Map) new SuffixMapPlugin("a").plugin(map);
+    TargetMapPlugin plugin = new TargetMapPlugin();
+    map = (Map) plugin.plugin(map);
+    assertEquals(1, map.size());
+    assertEquals("value-a", ((Map) plugin.target).get("key"));
+  }
+
+  @Test
+  public void shouldSkipInterceptorsNotMatchingTarget() {
+    List list = new ArrayList();
+    assertSame(list, new AlwaysMapPlugin().plugin(list));
+  }
+
+  @Test
+  public void shouldKeepInterceptorInstancesWhenReusingLayouts() {
+    Map first = (Map) new SuffixMapPlugin("b").plugin(new SuffixMapPlugin("a").plugin(new HashMap()));
+    Map second = (Map) new SuffixMapPlugin("d").plugin(new SuffixMapPlugin("c").plugin(new HashMap()));
+    first.put("key", "value");
+    second.put("key", "value");
+    assertEquals("value-a-b", first.get("key"));
+    assertEquals("value-c-d", second.get("key"));
+    assertSame(first, new AlwaysListPlugin().plugin(first));
+  }
+
+  @Test
+  public void shouldComposeDefaultPluginsInChain() {
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new SuffixMapPlugin("a"));
+    chain.addInterceptor(new SuffixMapPlugin("b"));
+    chain.addInterceptor(new AlwaysListPlugin());
+    Map map = new HashMap();
+    map.put("key", "value");
+    Map first = (Map) chain.pluginAll(map);
+    Map second = (Map) chain.pluginAll(new HashMap(map));
+    assertEquals("value-a-b", first.get("key"));
+    assertEquals("value-a-b", second.get("key"));
+    assertSame(first.getClass(), second.getClass());
+    assertTrue(Proxy.isProxyClass(first.getClass()));
+  }
+
+  @Intercepts({
+      @Signature(type = Map.class, method = "get", args = {Object.class})})
+  public static class SuffixMapPlugin implements Interceptor {
+    private final String suffix;
+
+    SuffixMapPlugin(String suffix) {
+      this.suffix = suffix;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      return invocation.proceed() + "-" + suffix;
+    }
+  }
+
+  @Intercepts({
+      @Signature(type = Map.class, method = "size", args = {})})
+  public static class TargetMapPlugin implements Interceptor {
+    private Object target;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      target = invocation.getTarget();
+      return invocation.proceed();
+    }
+  }
+
+  @Intercepts({
+      @Signature(type = List.class, method = "size", args = {})})
+  public static class AlwaysListPlugin implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      return 0;
+    }
+  }
+
   @Intercepts({
       @Signature(type = Map.class, method = "get", args = {Object.class})})
   public static class AlwaysMapPlugin implements Interceptor {
@@ -210,4 +210,41 @@ public class ReflectorTest {
     Reflector reflector = reflectorFactory.findForClass(Bean.class);
     assertTrue((Boolean)reflector.getGetInvoker("bool").invoke(new Bean(), new Byte[0]));
   }
+
+  @Test
+  public void shouldAccessPrimitivePropertiesWithoutBoxing() throws Throwable {
+    @SuppressWarnings("unused")
+    class Bean {
+      private int count;
+      private long total;
+      private Integer boxed;
+      public long getTotal() {return total;}
+      public void setTotal(long total) {this.total = total * 2;}
+      public double getAverage() {return (double) total / count;}
+    }
+    ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    Reflector reflector = reflectorFactory.findForClass(Bean.class);
+    Bean bean = new Bean();
+    reflector.getPrimitiveSetter("count").setInt(bean, 4);
+    reflector.getPrimitiveSetter("total").setLong(bean, 5);
+    assertEquals(4, reflector.getPrimitiveGetter("count").getInt(bean));
+    assertEquals(10L, reflector.getPrimitiveGetter("total").getLong(bean));
+    assertEquals(2.5, reflector.getPrimitiveGetter("average").getDouble(bean), 0);
+    assertEquals(double.class, reflector.getPrimitiveGetter("average").getType());
+    assertNull(reflector.getPrimitiveSetter("average"));
+    assertNull(reflector.getPrimitiveSetter("boxed"));
+    assertNull(reflector.getPrimitiveGetter("boxed"));
+  }
+
+  @Test
+  public void shouldNotAccessStaticPropertiesWithoutBoxing() {
+    Reflector reflector = new DefaultReflectorFactory().findForClass(StaticBean.class);
+    assertNull(reflector.getPrimitiveGetter("count"));
+    assertNull(reflector.getPrimitiveSetter("count"));
+  }
+
+  static class StaticBean {
+    private static int count;
+    public static int getCount() {return count;}
+  }
 }
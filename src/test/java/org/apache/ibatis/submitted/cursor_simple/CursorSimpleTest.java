@@ -387,4 +387,31 @@ public class CursorSimpleTest {
 
   }
 
+  @Test
+  public void shouldPrefetchRowsInBackground() {
+    sqlSessionFactory.getConfiguration().setCursorPrefetchSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> usersCursor = sqlSession.selectCursor("getAllUsers", null, new RowBounds(1, 3));
+      List<String> names = new ArrayList<>();
+      for (User user : usersCursor) {
+        names.add(user.getName());
+        Assert.assertTrue(usersCursor.isOpen());
+      }
+      Assert.assertEquals(3, names.size());
+      Assert.assertEquals("User2", names.get(0));
+      Assert.assertEquals("User4", names.get(2));
+      Assert.assertEquals(3, usersCursor.getCurrentIndex());
+      Assert.assertTrue(usersCursor.isConsumed());
+
+      usersCursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+      Iterator<User> iterator = usersCursor.iterator();
+      Assert.assertEquals("User1", iterator.next().getName());
+      usersCursor.close();
+      Assert.assertFalse(usersCursor.isOpen());
+      Assert.assertFalse(iterator.hasNext());
+    } finally {
+      sqlSessionFactory.getConfiguration().setCursorPrefetchSize(null);
+    }
+  }
+
 }
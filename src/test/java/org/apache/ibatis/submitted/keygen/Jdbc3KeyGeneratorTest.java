@@ -30,7 +30,10 @@ import java.util.Set;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
@@ -70,6 +73,34 @@ public class Jdbc3KeyGeneratorTest {
     }
   }
 
+  @Test
+  public void shouldAssignKeysToBatchedBeansAChunkAtATime() throws Exception {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setBatchFlushSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      try {
+        CountryMapper mapper = sqlSession.getMapper(CountryMapper.class);
+        List<Country> countries = new ArrayList<Country>();
+        for (int i = 0; i < 5; i++) {
+          Country country = new Country("Country " + i, "C" + i);
+          countries.add(country);
+          mapper.insertBean(country);
+        }
+        assertNotNull(countries.get(3).getId());
+        assertNull(countries.get(4).getId());
+        List<BatchResult> results = sqlSession.flushStatements();
+        assertEquals(3, results.size());
+        for (Country country : countries) {
+          assertNotNull(country.getId());
+        }
+      } finally {
+        sqlSession.rollback();
+      }
+    } finally {
+      configuration.setBatchFlushSize(null);
+    }
+  }
+
   @Test
   public void shouldAssignKeyToNamedBean() throws Exception {
     try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
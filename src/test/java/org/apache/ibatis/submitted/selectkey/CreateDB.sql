@@ -15,6 +15,8 @@
 --
 
 drop sequence if exists TestSequence;
+drop sequence if exists HiloSequence;
+drop sequence if exists SeriesSequence;
 drop table if exists table1;
 drop table if exists table2;
 drop table if exists table3;
@@ -31,6 +33,8 @@ name_fred varchar(25) generated always as (name || '_fred')
 );
 
 create sequence TestSequence as integer start with 33;
+create sequence HiloSequence as integer start with 4;
+create sequence SeriesSequence as integer start with 50;
 
 create table table3 (
 id int not null,
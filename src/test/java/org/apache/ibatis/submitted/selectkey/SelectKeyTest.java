@@ -319,6 +319,33 @@ public class SelectKeyTest {
       }
   }
 
+  @Test
+  public void testAnnotatedInsertTable3WithHiloKey() {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+        AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+        for (int i = 0; i < 12; i++) {
+          Name name = new Name();
+          name.setName("barney" + i);
+          assertEquals(1, mapper.insertTable3WithHiloKey(name));
+          // the high value 4 gives the keys 40 to 49, then 5 gives 50 to 59
+          assertEquals(40 + i, name.getNameId());
+        }
+      }
+  }
+
+  @Test
+  public void testAnnotatedInsertTable3WithSeriesKeyXml() {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+        AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+        for (int i = 0; i < 5; i++) {
+          Name name = new Name();
+          name.setName("barney" + i);
+          assertEquals(1, mapper.insertTable3WithSeriesKeyXml(name));
+          assertEquals(50 + i, name.getNameId());
+        }
+      }
+  }
+
   @Test
   public void testAnnotatedInsertTable3_2() {
       try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -19,9 +19,13 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.sql.Array;
+import java.sql.Connection;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +36,9 @@ public class ArrayTypeHandlerTest extends BaseTypeHandlerTest {
   @Mock
   Array mockArray;
 
+  @Mock
+  Connection connection;
+
   @Override
   @Test
   public void shouldSetParameter() throws Exception {
@@ -39,6 +46,15 @@ public class ArrayTypeHandlerTest extends BaseTypeHandlerTest {
     verify(ps).setArray(1, mockArray);
   }
 
+  @Test
+  public void shouldSetEmptyPrimitiveArrayWithElementTypeName() throws Exception {
+    when(ps.getConnection()).thenReturn(connection);
+    when(connection.createArrayOf(eq("INTEGER"), any(Integer[].class))).thenReturn(mockArray);
+    TYPE_HANDLER.setParameter(ps, 1, new int[0], null);
+    verify(ps).setArray(1, mockArray);
+    verify(mockArray, never()).free();
+  }
+
   @Override
   @Test
   public void shouldGetResultFromResultSetByName() throws Exception {
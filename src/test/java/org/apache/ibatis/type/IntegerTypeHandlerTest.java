@@ -20,6 +20,8 @@ import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.ResultSet;
+
 import org.junit.Test;
 
 public class IntegerTypeHandlerTest extends BaseTypeHandlerTest {
@@ -87,4 +89,24 @@ public class IntegerTypeHandlerTest extends BaseTypeHandlerTest {
     assertNull(TYPE_HANDLER.getResult(cs, 1));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldReadAndWritePrimitives() throws Exception {
+    PrimitiveTypeHandler.OfInt handler = (PrimitiveTypeHandler.OfInt) TYPE_HANDLER;
+    assertEquals(int.class, PrimitiveTypeHandler.primitiveTypeOf(TYPE_HANDLER));
+    handler.setInt(ps, 1, 100);
+    verify(ps).setInt(1, 100);
+    when(rs.getInt("column")).thenReturn(100);
+    assertEquals(100, handler.getInt(rs, "column"));
+  }
+
+  @Test
+  public void shouldNotBypassOverriddenReads() {
+    TypeHandler<Integer> overriding = new IntegerTypeHandler() {
+      @Override
+      public Integer getNullableResult(ResultSet rs, String columnName) {
+        return 42;
+      }
+    };
+    assertNull(PrimitiveTypeHandler.primitiveTypeOf(overriding));
+  }
+}
@@ -18,6 +18,9 @@ package org.apache.ibatis.type;
 import static org.junit.Assert.*;
 
 import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -214,4 +217,20 @@ public class TypeHandlerRegistryTest {
     typeHandlerRegistry.register(Address.class, StringTypeHandler.class);
     assertTrue(typeHandlerRegistry.hasTypeHandler(Address.class));
   }
+
+  @Test
+  public void shouldReflectRegistrationsMadeAfterLookup() {
+    TypeHandler<String> clobHandler = new ClobTypeHandler();
+    assertSame(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(String.class, JdbcType.VARCHAR).getClass());
+    typeHandlerRegistry.register(String.class, JdbcType.VARCHAR, clobHandler);
+    assertSame(clobHandler, typeHandlerRegistry.getTypeHandler(String.class, JdbcType.VARCHAR));
+    assertSame(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(String.class).getClass());
+  }
+
+  @Test
+  public void shouldNotRegisterBlobHandlersForPathsOrFileChannelsByDefault() {
+    assertTrue(typeHandlerRegistry.hasTypeHandler(ReadableByteChannel.class));
+    assertFalse(typeHandlerRegistry.hasTypeHandler(FileChannel.class));
+    assertFalse(typeHandlerRegistry.hasTypeHandler(Path.class));
+  }
 }